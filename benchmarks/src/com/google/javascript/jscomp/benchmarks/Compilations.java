@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.javascript.jscomp.BlackHoleErrorManager;
+import com.google.javascript.jscomp.CompilationLevel;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.jscomp.WarningLevel;
+import java.io.IOException;
+import java.util.List;
+
+/** Helpers for benchmarks that drive the compiler through its stages. */
+final class Compilations {
+  private Compilations() {}
+
+  /** Options for a type-checked compile at {@code level}, with a source map. */
+  static CompilerOptions options(CompilationLevel level) {
+    CompilerOptions options = new CompilerOptions();
+    level.setOptionsForCompilationLevel(options);
+    WarningLevel.DEFAULT.setOptionsForWarningLevel(options);
+    options.setCheckTypes(true);
+    options.setEnvironment(CompilerOptions.Environment.BROWSER);
+    options.setSourceMapOutputPath("benchmark.js.map");
+    return options;
+  }
+
+  /** Returns a compiler that has parsed {@code inputs} and is ready for stage 1. */
+  static Compiler parsed(List<SourceFile> inputs, CompilerOptions options) throws IOException {
+    // Diagnostics are expected and not interesting; keep them out of the benchmark output.
+    Compiler compiler = new Compiler(new BlackHoleErrorManager());
+    compiler.init(Corpus.externs(), inputs, options);
+    compiler.parseForCompilation();
+    checkState(!compiler.hasErrors(), "Corpus does not parse: %s", compiler.getErrors());
+    return compiler;
+  }
+
+  /** Returns a compiler that has run all checks over {@code inputs}. */
+  static Compiler checked(List<SourceFile> inputs, CompilerOptions options) throws IOException {
+    Compiler compiler = parsed(inputs, options);
+    compiler.stage1Passes();
+    checkState(!compiler.hasErrors(), "Corpus has errors: %s", compiler.getErrors());
+    return compiler;
+  }
+
+  /** Returns a compiler that has run all checks and optimizations over {@code inputs}. */
+  static Compiler optimized(List<SourceFile> inputs, CompilerOptions options) throws IOException {
+    Compiler compiler = checked(inputs, options);
+    compiler.stage2Passes();
+    return compiler;
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.AbstractCommandLineRunner;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The inputs benchmarks run over.
+ *
+ * <p>A corpus is named by a string so that it can be a JMH {@code @Param}:
+ *
+ * <ul>
+ *   <li>{@code synthetic}: generated, type-annotated code with cross-file references. Stable
+ *       across releases, so results are comparable between them.
+ *   <li>{@code builtin_externs}: the externs bundled with the compiler. Real-world code, but only
+ *       declarations, so it is only meaningful for parsing.
+ *   <li>any other value is a directory, all of whose {@code .js} files are used in path order.
+ * </ul>
+ */
+final class Corpus {
+  static final String SYNTHETIC = "synthetic";
+  static final String BUILTIN_EXTERNS = "builtin_externs";
+
+  private static final int SYNTHETIC_FILES = 100;
+  private static final int SYNTHETIC_CLASSES_PER_FILE = 10;
+
+  private Corpus() {}
+
+  static ImmutableList<SourceFile> load(String name) {
+    try {
+      switch (name) {
+        case SYNTHETIC:
+          return synthetic();
+        case BUILTIN_EXTERNS:
+          return ImmutableList.copyOf(externs());
+        default:
+          return directory(Paths.get(name));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** The externs every compiling benchmark uses. */
+  static List<SourceFile> externs() throws IOException {
+    return AbstractCommandLineRunner.getBuiltinExterns(CompilerOptions.Environment.BROWSER);
+  }
+
+  private static ImmutableList<SourceFile> directory(Path root) throws IOException {
+    try (Stream<Path> paths = Files.walk(root)) {
+      List<Path> files =
+          paths
+              .filter(p -> p.toString().endsWith(".js") && Files.isRegularFile(p))
+              .sorted()
+              .collect(Collectors.toList());
+      ImmutableList.Builder<SourceFile> sources = ImmutableList.builder();
+      for (Path file : files) {
+        // Read eagerly so that benchmarks do not measure disk access.
+        sources.add(
+            SourceFile.fromCode(file.toString(), new String(Files.readAllBytes(file), UTF_8)));
+      }
+      return sources.build();
+    }
+  }
+
+  private static ImmutableList<SourceFile> synthetic() {
+    ImmutableList.Builder<SourceFile> sources = ImmutableList.builder();
+    for (int file = 0; file < SYNTHETIC_FILES; file++) {
+      sources.add(SourceFile.fromCode("synthetic/file" + file + ".js", syntheticFile(file)));
+    }
+    return sources.build();
+  }
+
+  private static String syntheticFile(int file) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < SYNTHETIC_CLASSES_PER_FILE; i++) {
+      String name = "C" + file + "_" + i;
+      // Each class extends one from an earlier file, so checks and optimizations see
+      // cross-file type and call relationships.
+      String superclass = file == 0 ? null : "C" + (file - 1) + "_" + i;
+      sb.append("/** @unrestricted */\n");
+      sb.append("class ").append(name);
+      if (superclass != null) {
+        sb.append(" extends ").append(superclass);
+      }
+      sb.append(" {\n");
+      sb.append("  /** @param {number} x @param {string} label */\n");
+      sb.append("  constructor(x, label) {\n");
+      if (superclass != null) {
+        sb.append("    super(x + 1, label);\n");
+      }
+      sb.append("    /** @type {number} */ this.value").append(i).append(" = x;\n");
+      sb.append("    /** @const {string} */ this.label").append(i).append(" = label;\n");
+      sb.append("    /** @private {!Array<number>} */ this.items_ = [];\n");
+      sb.append("  }\n\n");
+      sb.append("  /** @param {number} n @return {number} */\n");
+      sb.append("  compute").append(i).append("(n) {\n");
+      sb.append("    let total = 0;\n");
+      sb.append("    for (let k = 0; k < n; k++) {\n");
+      sb.append("      if (k % 3 === 0) {\n");
+      sb.append("        total += this.value").append(i).append(" * k;\n");
+      sb.append("      } else {\n");
+      sb.append("        total -= this.helper_(k);\n");
+      sb.append("      }\n");
+      sb.append("    }\n");
+      sb.append("    this.items_.push(total);\n");
+      sb.append("    return total;\n");
+      sb.append("  }\n\n");
+      sb.append("  /** @private @param {number} k @return {number} */\n");
+      sb.append("  helper_(k) {\n");
+      sb.append("    const f = (a) => a * 2 + k;\n");
+      sb.append("    return this.items_.map(f).reduce((a, b) => a + b, 0);\n");
+      sb.append("  }\n\n");
+      sb.append("  /** @return {string} */\n");
+      sb.append("  describe() {\n");
+      sb.append("    return `${this.label").append(i).append("}: ${this.value");
+      sb.append(i).append("}`;\n");
+      sb.append("  }\n");
+      sb.append("}\n\n");
+      sb.append("/** @param {!").append(name).append("} obj @return {number} */\n");
+      sb.append("function use").append(name).append("(obj) {\n");
+      sb.append("  const unused = obj.describe();\n");
+      sb.append("  return obj.compute").append(i).append("(").append(i + 1).append(");\n");
+      sb.append("}\n");
+      sb.append("window['r").append(file).append("_").append(i).append("'] = use");
+      sb.append(name).append("(new ").append(name).append("(").append(i);
+      sb.append(", 'x'));\n\n");
+    }
+    return sb.toString();
+  }
+}
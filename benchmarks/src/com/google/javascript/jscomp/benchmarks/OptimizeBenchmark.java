@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CompilationLevel;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the optimization phase (the PhaseOptimizer loop run by {@link Compiler#stage2Passes})
+ * over a corpus that has already been parsed and checked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OptimizeBenchmark {
+
+  @Param({Corpus.SYNTHETIC})
+  public String corpus;
+
+  @Param({"SIMPLE_OPTIMIZATIONS", "ADVANCED_OPTIMIZATIONS"})
+  public CompilationLevel level;
+
+  private ImmutableList<SourceFile> files;
+  private Compiler compiler;
+
+  @Setup(Level.Trial)
+  public void loadCorpus() {
+    files = Corpus.load(corpus);
+  }
+
+  /** Optimizations rewrite the AST, so every invocation needs a freshly checked one. */
+  @Setup(Level.Invocation)
+  public void check() throws IOException {
+    compiler = Compilations.checked(files, Compilations.options(level));
+  }
+
+  @Benchmark
+  public Compiler optimize() {
+    compiler.stage2Passes();
+    return compiler;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CompilationLevel;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures code printing and source map generation for an optimized corpus.
+ *
+ * <p>Printing does not change the AST, so one compile is shared by all invocations. Every
+ * invocation resets the source map, since printing appends mappings to it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PrintBenchmark {
+
+  @Param({Corpus.SYNTHETIC})
+  public String corpus;
+
+  @Param({"SIMPLE_OPTIMIZATIONS", "ADVANCED_OPTIMIZATIONS"})
+  public CompilationLevel level;
+
+  private Compiler compiler;
+
+  @Setup
+  public void compile() throws IOException {
+    ImmutableList<SourceFile> files = Corpus.load(corpus);
+    compiler = Compilations.optimized(files, Compilations.options(level));
+  }
+
+  /** Prints the code, recording mappings in the CodePrinter's source map. */
+  @Benchmark
+  public String print() {
+    compiler.resetAndIntitializeSourceMap();
+    return compiler.toSource();
+  }
+
+  /** Prints the code and serializes the resulting SourceMapGeneratorV3. */
+  @Benchmark
+  public String printWithSourceMap() throws IOException {
+    compiler.resetAndIntitializeSourceMap();
+    String code = compiler.toSource();
+    StringBuilder sourceMap = new StringBuilder(code.length());
+    compiler.getSourceMap().appendTo(sourceMap, "benchmark.js");
+    return sourceMap.toString();
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.BlackHoleErrorManager;
+import com.google.javascript.jscomp.CompilationLevel;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Compiler#saveState} and {@link Compiler#restoreState} on the state between the
+ * checks and optimizations stages, which is what multi-stage builds move between machines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SaveStateBenchmark {
+
+  @Param({Corpus.SYNTHETIC})
+  public String corpus;
+
+  private ImmutableList<SourceFile> files;
+  private CompilerOptions options;
+  private Compiler compiler;
+  private byte[] state;
+
+  @Setup
+  public void check() throws IOException {
+    options = Compilations.options(CompilationLevel.ADVANCED_OPTIMIZATIONS);
+    files = Corpus.load(corpus);
+    compiler = Compilations.checked(files, options);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    compiler.saveState(out);
+    state = out.toByteArray();
+  }
+
+  /** Reports the size in bytes of the saved state alongside the timings. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class StateSize {
+    public long stateBytes;
+  }
+
+  @Benchmark
+  public byte[] save(StateSize size) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(state.length);
+    compiler.saveState(out);
+    size.stateBytes = out.size();
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public Compiler restore() throws IOException, ClassNotFoundException {
+    Compiler restored = new Compiler(new BlackHoleErrorManager());
+    restored.init(Corpus.externs(), files, options);
+    restored.restoreState(new ByteArrayInputStream(state));
+    return restored;
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CompilationLevel;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.jscomp.TypeCheck;
+import com.google.javascript.jscomp.type.SemanticReverseAbstractInterpreter;
+import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.jstype.JSTypeRegistry;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures typed scope creation, type inference and type checking of a freshly parsed corpus,
+ * the work {@link TypeCheck#processForTesting} does through TypedScopeCreator and
+ * TypeInferencePass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TypeCheckBenchmark {
+
+  @Param({Corpus.SYNTHETIC})
+  public String corpus;
+
+  private ImmutableList<SourceFile> files;
+  private Compiler compiler;
+
+  @Setup(Level.Trial)
+  public void loadCorpus() {
+    files = Corpus.load(corpus);
+  }
+
+  /** Type checking annotates the AST, so every invocation needs a fresh parse. */
+  @Setup(Level.Invocation)
+  public void parse() throws IOException {
+    compiler =
+        Compilations.parsed(files, Compilations.options(CompilationLevel.SIMPLE_OPTIMIZATIONS));
+  }
+
+  @Benchmark
+  public Object typeCheck() {
+    JSTypeRegistry registry = compiler.getTypeRegistry();
+    Node root = compiler.getRoot();
+    return new TypeCheck(compiler, new SemanticReverseAbstractInterpreter(registry), registry)
+        .processForTesting(root.getFirstChild(), root.getLastChild());
+  }
+}
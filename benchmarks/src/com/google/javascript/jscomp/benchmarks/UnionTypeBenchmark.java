@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmarks;
+
+import com.google.javascript.rhino.ErrorReporter;
+import com.google.javascript.rhino.jstype.FunctionType;
+import com.google.javascript.rhino.jstype.JSType;
+import com.google.javascript.rhino.jstype.JSTypeNative;
+import com.google.javascript.rhino.jstype.JSTypeRegistry;
+import com.google.javascript.rhino.jstype.JSTypeResolver;
+import com.google.javascript.rhino.jstype.ObjectType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link JSTypeRegistry#getGreatestSubtypeWithProperty} for a property that many sibling
+ * classes define, which builds a union of all of their instances with {@code UnionType.Builder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class UnionTypeBenchmark {
+
+  private static final String PROPERTY = "prop";
+
+  /** How many subclasses of one base class define the property. */
+  @Param({"1000", "2000", "3000"})
+  public int classCount;
+
+  private JSTypeRegistry registry;
+  private ObjectType firstInstance;
+  private JSType allType;
+
+  @Setup
+  public void createClasses() {
+    registry = new JSTypeRegistry(ErrorReporter.NULL_INSTANCE);
+    try (JSTypeResolver.Closer closer = registry.getResolver().openForDefinition()) {
+      ObjectType base =
+          FunctionType.builder(registry)
+              .forConstructor()
+              .withName("Base")
+              .build()
+              .getInstanceType();
+      for (int i = 0; i < classCount; i++) {
+        ObjectType instance =
+            FunctionType.builder(registry)
+                .forConstructor()
+                .withName("Class" + i)
+                .withPrototypeBasedOn(base)
+                .build()
+                .getInstanceType();
+        registry.registerPropertyOnType(PROPERTY, instance);
+        if (firstInstance == null) {
+          firstInstance = instance;
+        }
+      }
+    }
+    allType = registry.getNativeType(JSTypeNative.ALL_TYPE);
+  }
+
+  @Benchmark
+  public JSType greatestSubtypeWithProperty() {
+    // The registry caches the union for each property until a type is registered for it.
+    registry.registerPropertyOnType(PROPERTY, firstInstance);
+    return registry.getGreatestSubtypeWithProperty(allType, PROPERTY);
+  }
+}
@@ -19,7 +19,6 @@ package com.google.debugging.sourcemap;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Iterables;
 import com.google.debugging.sourcemap.Base64VLQ.CharIterator;
 import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
 import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping.Builder;
@@ -30,23 +29,50 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * Class for parsing version 3 of the SourceMap format, as produced by the
  * Closure Compiler, etc.
  * http://code.google.com/p/closure-compiler/wiki/SourceMaps
+ *
+ * <p>Mappings are kept as one int array per generated line. By default every line is decoded by
+ * {@link #parse}. For very large maps, {@link #setDecodeLinesLazily} makes {@link #parse} only
+ * validate the mappings and index where each line starts, and lines are decoded on first use.
  */
 public final class SourceMapConsumerV3 implements SourceMapConsumer,
     SourceMappingReversable {
   static final int UNMAPPED = -1;
 
+  // A decoded line holds SEGMENT_SIZE ints per segment, at these offsets. Values that a segment
+  // does not have are UNMAPPED.
+  private static final int SEGMENT_SIZE = 5;
+  private static final int GENERATED_COLUMN = 0;
+  private static final int SOURCE_FILE_ID = 1;
+  private static final int SOURCE_LINE = 2;
+  private static final int SOURCE_COLUMN = 3;
+  private static final int NAME_ID = 4;
+
+  // The decoder state carried from one line to the next: the source file id, source line, source
+  // column and name id of the last segment. The generated column restarts at 0 on every line.
+  private static final int STATE_SIZE = 4;
+
+  private static final int[] EMPTY_LINE = new int[0];
+
+  private boolean decodeLinesLazily = false;
   private String[] sources;
   private String[] sourcesContent;
   private String[] names;
   private int lineCount;
-  // Slots in the lines list will be null if the line does not have any entries.
-  private ArrayList<ArrayList<Entry>> lines = null;
+  /** Decoded segments by generated line. Slots of lines that are not decoded yet are null. */
+  private int[][] lines = null;
+  // Only kept when decoding lazily: the mappings, where each line starts in them, and the decoder
+  // state at the start of each line.
+  private String mappings;
+  private int[] lineStarts;
+  private int[] lineStartStates;
   /** originalFile path ==> original line ==> target mappings */
   private Map<String, Map<Integer, Collection<OriginalMapping>>>
       reverseSourceMapping;
@@ -60,6 +86,16 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     }
   }
 
+  /**
+   * Sets whether {@link #parse} leaves lines to be decoded when they are first looked up, and
+   * {@link #getReverseMapping} only reverses the mappings of the requested file. This keeps
+   * little more than the mappings string in memory for maps of which only a few positions are
+   * looked up. Must be called before {@link #parse}.
+   */
+  public void setDecodeLinesLazily(boolean decodeLinesLazily) {
+    this.decodeLinesLazily = decodeLinesLazily;
+  }
+
   /**
    * Parses the given contents containing a source map.
    */
@@ -93,12 +129,6 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     sourcesContent = sourceMapObject.getSourcesContent();
     names = sourceMapObject.getNames();
 
-    if (lineCount >= 0) {
-      lines = new ArrayList<>(lineCount);
-    } else {
-      lines = new ArrayList<>();
-    }
-
     // The value type of each extension is the native JSON type (e.g. JsonObject, or JSONObject
     // when compiled with GWT).
     extensions.putAll(sourceMapObject.getExtensions());
@@ -153,28 +183,22 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     lineNumber--;
     column--;
 
-    if (lineNumber < 0 || lineNumber >= lines.size()) {
+    if (lineNumber < 0 || lineNumber >= lines.length) {
       return null;
     }
 
     checkState(lineNumber >= 0);
     checkState(column >= 0);
 
+    int[] line = getLine(lineNumber);
     // If the line is empty return the previous mapping.
-    if (lines.get(lineNumber) == null) {
+    if (line.length == 0 || line[GENERATED_COLUMN] > column) {
       return getPreviousMapping(lineNumber);
     }
 
-    ArrayList<Entry> entries = lines.get(lineNumber);
-    // No empty lists.
-    checkState(!entries.isEmpty());
-    if (entries.get(0).getGeneratedColumn() > column) {
-      return getPreviousMapping(lineNumber);
-    }
-
-    int index = search(entries, column, 0, entries.size() - 1);
+    int index = search(line, column, 0, line.length / SEGMENT_SIZE - 1);
     Preconditions.checkState(index >= 0, "unexpected:%s", index);
-    return getOriginalMappingForEntry(entries.get(index));
+    return getOriginalMappingForSegment(line, index * SEGMENT_SIZE);
   }
 
   @Override
@@ -194,7 +218,13 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
 
     // Synchronization needs to be handled by callers.
     if (reverseSourceMapping == null) {
-      createReverseMapping();
+      reverseSourceMapping = new HashMap<>();
+      if (!decodeLinesLazily) {
+        createReverseMapping(null);
+      }
+    }
+    if (decodeLinesLazily && !reverseSourceMapping.containsKey(originalFile)) {
+      createReverseMapping(originalFile);
     }
 
     Map<Integer, Collection<OriginalMapping>> sourceLineToCollectionMap =
@@ -229,173 +259,166 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
   }
 
 
+  /**
+   * Decodes the mappings in a single pass, which validates all of them. Keeps every decoded line,
+   * or when decoding lazily, only where each line starts and the decoder state there.
+   */
   private class MappingBuilder {
-    private static final int MAX_ENTRY_VALUES = 5;
-    private final StringCharIterator content;
-    private int line = 0;
-    private int previousCol = 0;
-    private int previousSrcId = 0;
-    private int previousSrcLine = 0;
-    private int previousSrcColumn = 0;
-    private int previousNameId = 0;
+    private final String content;
 
     MappingBuilder(String lineMap) {
-      this.content = new StringCharIterator(lineMap);
+      this.content = lineMap;
     }
 
     void build() throws SourceMapParseException {
-      int [] temp = new int[MAX_ENTRY_VALUES];
-      ArrayList<Entry> entries = new ArrayList<>();
-      while (content.hasNext()) {
-        // ';' denotes a new line.
-        if (tryConsumeToken(';')) {
-          // The line is complete, store the result
-          completeLine(entries);
-          if (!entries.isEmpty()) {
-            // A new array list for the next line.
-            entries = new ArrayList<>();
-          }
-        } else {
-          // grab the next entry for the current line.
-          int entryValues = 0;
-          while (!entryComplete()) {
-            temp[entryValues] = nextValue();
-            entryValues++;
+      StringCharIterator iterator = new StringCharIterator(content, 0);
+      int[] state = new int[STATE_SIZE];
+      SegmentBuffer segments = new SegmentBuffer();
+      List<int[]> decodedLines = new ArrayList<>(Math.max(lineCount, 0));
+      int[] starts = new int[16];
+      int[] startStates = new int[16 * STATE_SIZE];
+      int line = 0;
+      while (iterator.hasNext()) {
+        if (decodeLinesLazily) {
+          if (line == starts.length) {
+            starts = Arrays.copyOf(starts, line * 2);
+            startStates = Arrays.copyOf(startStates, line * 2 * STATE_SIZE);
           }
-          Entry entry = decodeEntry(temp, entryValues);
-
-          validateEntry(entry);
-          entries.add(entry);
-
-          // Consume the separating token, if there is one.
-          tryConsumeToken(',');
+          starts[line] = iterator.position();
+          System.arraycopy(state, 0, startStates, line * STATE_SIZE, STATE_SIZE);
+        }
+        // The line is complete at the next ';', or at the end of the mappings, as some source map
+        // generators (e.g. UglifyJS) generate lines without a trailing line separator.
+        decodeLine(iterator, line, state, decodeLinesLazily ? null : segments);
+        if (iterator.hasNext()) {
+          iterator.next();
         }
+        if (!decodeLinesLazily) {
+          decodedLines.add(segments.toArray());
+          segments.clear();
+        }
+        line++;
       }
 
-      // Some source map generator (e.g.UglifyJS) generates lines without
-      // a trailing line separator. So add the rest of the content.
-      if (!entries.isEmpty()) {
-        completeLine(entries);
-      }
+      lines = decodeLinesLazily ? new int[line][] : decodedLines.toArray(new int[0][]);
+      mappings = decodeLinesLazily ? content : null;
+      lineStarts = decodeLinesLazily ? Arrays.copyOf(starts, line) : null;
+      lineStartStates = decodeLinesLazily ? Arrays.copyOf(startStates, line * STATE_SIZE) : null;
     }
+  }
 
-    private void completeLine(ArrayList<Entry> entries) {
-      // The line is complete, store the result for the line,
-      // null if the line is empty.
-      if (!entries.isEmpty()) {
-        lines.add(entries);
-      } else {
-        lines.add(null);
+  /**
+   * Decodes the segments of a line, up to the next ';' or the end of the mappings.
+   *
+   * @param content The mappings, positioned at the start of the line.
+   * @param line The index of the line, for validation.
+   * @param state The decoder state at the start of the line, which is updated to the state at its
+   *     end.
+   * @param out Receives the decoded segments, if not null.
+   */
+  private void decodeLine(
+      StringCharIterator content, int line, int[] state, @Nullable SegmentBuffer out)
+      throws SourceMapParseException {
+    int[] values = new int[SEGMENT_SIZE];
+    int column = 0;
+    while (content.hasNext() && content.peek() != ';') {
+      int valueCount = 0;
+      while (content.hasNext() && content.peek() != ';' && content.peek() != ',') {
+        if (valueCount == SEGMENT_SIZE) {
+          throw new SourceMapParseException(
+              "Unexpected number of values for entry:" + (valueCount + 1));
+        }
+        values[valueCount++] = Base64VLQ.decode(content);
       }
-      line++;
-      previousCol = 0;
-    }
-
-    private void validateEntry(Entry entry) {
-      Preconditions.checkState((lineCount < 0) || (line < lineCount),
-          "line=%s, lineCount=%s", line, lineCount);
-      checkState(entry.getSourceFileId() == UNMAPPED || entry.getSourceFileId() < sources.length);
-      checkState(entry.getNameId() == UNMAPPED || entry.getNameId() < names.length);
-    }
-
-    /**
-     * Decodes the next entry, using the previous encountered values to
-     * decode the relative values.
-     *
-     * @param vals An array of integers that represent values in the entry.
-     * @param entryValues The number of entries in the array.
-     * @return The entry object.
-     */
-    private Entry decodeEntry(int[] vals, int entryValues) throws SourceMapParseException {
-      Entry entry;
-      switch (entryValues) {
-        // The first values, if present are in the following order:
-        //   0: the starting column in the current line of the generated file
-        //   1: the id of the original source file
-        //   2: the starting line in the original source
-        //   3: the starting column in the original source
-        //   4: the id of the original symbol name
-        // The values are relative to the last encountered value for that field.
-        // Note: the previously column value for the generated file is reset
-        // to '0' when a new line is encountered.  This is done in the 'build'
-        // method.
-
-        case 1:
-          // An unmapped section of the generated file.
-          entry = new UnmappedEntry(
-              vals[0] + previousCol);
-          // Set the values see for the next entry.
-          previousCol = entry.getGeneratedColumn();
-          return entry;
 
+      // The values, if present are in the following order:
+      //   0: the starting column in the current line of the generated file
+      //   1: the id of the original source file
+      //   2: the starting line in the original source
+      //   3: the starting column in the original source
+      //   4: the id of the original symbol name
+      // The values are relative to the last encountered value for that field.
+      int sourceFileId = UNMAPPED;
+      int sourceLine = UNMAPPED;
+      int sourceColumn = UNMAPPED;
+      int nameId = UNMAPPED;
+      switch (valueCount) {
+        case 5:
+          // A mapped section of the generated file, that has an associated name.
+          state[3] += values[4];
+          nameId = state[3];
+          // fall through
         case 4:
           // A mapped section of the generated file.
-          entry = new UnnamedEntry(
-              vals[0] + previousCol,
-              vals[1] + previousSrcId,
-              vals[2] + previousSrcLine,
-              vals[3] + previousSrcColumn);
-          // Set the values see for the next entry.
-          previousCol = entry.getGeneratedColumn();
-          previousSrcId = entry.getSourceFileId();
-          previousSrcLine = entry.getSourceLine();
-          previousSrcColumn = entry.getSourceColumn();
-          return entry;
-
-        case 5:
-          // A mapped section of the generated file, that has an associated
-          // name.
-          entry = new NamedEntry(
-              vals[0] + previousCol,
-              vals[1] + previousSrcId,
-              vals[2] + previousSrcLine,
-              vals[3] + previousSrcColumn,
-              vals[4] + previousNameId);
-          // Set the values see for the next entry.
-          previousCol = entry.getGeneratedColumn();
-          previousSrcId = entry.getSourceFileId();
-          previousSrcLine = entry.getSourceLine();
-          previousSrcColumn = entry.getSourceColumn();
-          previousNameId = entry.getNameId();
-          return entry;
-
+          state[0] += values[1];
+          state[1] += values[2];
+          state[2] += values[3];
+          sourceFileId = state[0];
+          sourceLine = state[1];
+          sourceColumn = state[2];
+          // fall through
+        case 1:
+          // An unmapped section of the generated file, unless one of the cases above applied.
+          column += values[0];
+          break;
         default:
           throw new SourceMapParseException(
-              "Unexpected number of values for entry:" + entryValues);
+              "Unexpected number of values for entry:" + valueCount);
       }
-    }
 
-    private boolean tryConsumeToken(char token) {
-      if (content.hasNext() && content.peek() == token) {
-        // consume the comma
-        content.next();
-        return true;
+      Preconditions.checkState((lineCount < 0) || (line < lineCount),
+          "line=%s, lineCount=%s", line, lineCount);
+      checkState(sourceFileId == UNMAPPED || sourceFileId < sources.length);
+      checkState(nameId == UNMAPPED || nameId < names.length);
+      if (out != null) {
+        out.add(column, sourceFileId, sourceLine, sourceColumn, nameId);
       }
-      return false;
-    }
 
-    private boolean entryComplete() {
-      if (!content.hasNext()) {
-        return true;
+      // Consume the separating token, if there is one.
+      if (content.hasNext() && content.peek() == ',') {
+        content.next();
       }
+    }
+  }
 
-      char c = content.peek();
-      return (c == ';' || c == ',');
+  /** Returns the decoded segments of a line, decoding and keeping them if needed. */
+  private int[] getLine(int lineNumber) {
+    int[] line = lines[lineNumber];
+    if (line == null) {
+      line = decodeLineAt(lineNumber);
+      lines[lineNumber] = line;
     }
+    return line;
+  }
 
-    private int nextValue() {
-      return Base64VLQ.decode(content);
+  /** Returns the decoded segments of a line, without keeping them if they were not decoded yet. */
+  private int[] peekLine(int lineNumber) {
+    int[] line = lines[lineNumber];
+    return line != null ? line : decodeLineAt(lineNumber);
+  }
+
+  private int[] decodeLineAt(int lineNumber) {
+    StringCharIterator content = new StringCharIterator(mappings, lineStarts[lineNumber]);
+    int stateStart = lineNumber * STATE_SIZE;
+    int[] state = Arrays.copyOfRange(lineStartStates, stateStart, stateStart + STATE_SIZE);
+    SegmentBuffer segments = new SegmentBuffer();
+    try {
+      decodeLine(content, lineNumber, state, segments);
+    } catch (SourceMapParseException e) {
+      // parse() already decoded every line once.
+      throw new IllegalStateException(e);
     }
+    return segments.toArray();
   }
 
   /**
    * Perform a binary search on the array to find a section that covers
    * the target column.
    */
-  private static int search(ArrayList<Entry> entries, int target, int start, int end) {
+  private static int search(int[] line, int target, int start, int end) {
     while (true) {
       int mid = ((end - start) / 2) + start;
-      int compare = compareEntry(entries, mid, target);
+      int compare = compareEntry(line, mid, target);
       if (compare == 0) {
         return mid;
       } else if (compare < 0) {
@@ -417,8 +440,8 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
   /**
    * Compare an array entry's column value to the target column value.
    */
-  private static int compareEntry(ArrayList<Entry> entries, int entry, int target) {
-    return entries.get(entry).getGeneratedColumn() - target;
+  private static int compareEntry(int[] line, int entry, int target) {
+    return line[entry * SEGMENT_SIZE + GENERATED_COLUMN] - target;
   }
 
   /**
@@ -426,30 +449,34 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
    * such entry exists.
    */
   private OriginalMapping getPreviousMapping(int lineNumber) {
+    int[] line;
     do {
       if (lineNumber == 0) {
         return null;
       }
       lineNumber--;
-    } while (lines.get(lineNumber) == null);
-    ArrayList<Entry> entries = lines.get(lineNumber);
-    return getOriginalMappingForEntry(Iterables.getLast(entries));
+      line = getLine(lineNumber);
+    } while (line.length == 0);
+    return getOriginalMappingForSegment(line, line.length - SEGMENT_SIZE);
   }
 
   /**
-   * Creates an "OriginalMapping" object for the given entry object.
+   * Creates an "OriginalMapping" object for the segment at the given offset
+   * of a line.
    */
-  private OriginalMapping getOriginalMappingForEntry(Entry entry) {
-    if (entry.getSourceFileId() == UNMAPPED) {
+  private OriginalMapping getOriginalMappingForSegment(int[] line, int segment) {
+    int sourceFileId = line[segment + SOURCE_FILE_ID];
+    if (sourceFileId == UNMAPPED) {
       return null;
     } else {
       // Adjust the line/column here to be start at 1.
       Builder x = OriginalMapping.newBuilder()
-        .setOriginalFile(sources[entry.getSourceFileId()])
-        .setLineNumber(entry.getSourceLine() + 1)
-        .setColumnPosition(entry.getSourceColumn() + 1);
-      if (entry.getNameId() != UNMAPPED) {
-        x.setIdentifier(names[entry.getNameId()]);
+        .setOriginalFile(sources[sourceFileId])
+        .setLineNumber(line[segment + SOURCE_LINE] + 1)
+        .setColumnPosition(line[segment + SOURCE_COLUMN] + 1);
+      int nameId = line[segment + NAME_ID];
+      if (nameId != UNMAPPED) {
+        x.setIdentifier(names[nameId]);
       }
       return x.build();
     }
@@ -459,45 +486,38 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
    * Reverse the source map; the created mapping will allow us to quickly go
    * from a source file and line number to a collection of target
    * OriginalMappings.
+   *
+   * @param onlyFile If not null, only the mappings into this file are
+   *     reversed, and it gets an entry even if it has none.
    */
-  private void createReverseMapping() {
-    reverseSourceMapping = new HashMap<>();
-
-    for (int targetLine = 0; targetLine < lines.size(); targetLine++) {
-      ArrayList<Entry> entries = lines.get(targetLine);
-
-      if (entries != null) {
-        for (Entry entry : entries) {
-          if (entry.getSourceFileId() != UNMAPPED
-              && entry.getSourceLine() != UNMAPPED) {
-            String originalFile = sources[entry.getSourceFileId()];
-
-            if (!reverseSourceMapping.containsKey(originalFile)) {
-              reverseSourceMapping.put(originalFile,
-                  new HashMap<Integer, Collection<OriginalMapping>>());
-            }
-
-            Map<Integer, Collection<OriginalMapping>> lineToCollectionMap =
-                reverseSourceMapping.get(originalFile);
-
-            int sourceLine = entry.getSourceLine();
-
-            if (!lineToCollectionMap.containsKey(sourceLine)) {
-              lineToCollectionMap.put(sourceLine,
-                  new ArrayList<OriginalMapping>(1));
-            }
+  private void createReverseMapping(@Nullable String onlyFile) {
+    for (int targetLine = 0; targetLine < lines.length; targetLine++) {
+      int[] line = peekLine(targetLine);
+
+      for (int segment = 0; segment < line.length; segment += SEGMENT_SIZE) {
+        int sourceFileId = line[segment + SOURCE_FILE_ID];
+        int sourceLine = line[segment + SOURCE_LINE];
+        if (sourceFileId != UNMAPPED && sourceLine != UNMAPPED) {
+          String originalFile = sources[sourceFileId];
+          if (onlyFile != null && !onlyFile.equals(originalFile)) {
+            continue;
+          }
 
-            Collection<OriginalMapping> mappings =
-                lineToCollectionMap.get(sourceLine);
+          Map<Integer, Collection<OriginalMapping>> lineToCollectionMap =
+              reverseSourceMapping.computeIfAbsent(originalFile, k -> new HashMap<>());
+          Collection<OriginalMapping> mappings =
+              lineToCollectionMap.computeIfAbsent(sourceLine, k -> new ArrayList<>(1));
 
-            Builder builder = OriginalMapping.newBuilder().setLineNumber(
-                targetLine).setColumnPosition(entry.getGeneratedColumn());
+          Builder builder = OriginalMapping.newBuilder().setLineNumber(
+              targetLine).setColumnPosition(line[segment + GENERATED_COLUMN]);
 
-            mappings.add(builder.build());
-          }
+          mappings.add(builder.build());
         }
       }
     }
+    if (onlyFile != null) {
+      reverseSourceMapping.computeIfAbsent(onlyFile, k -> new HashMap<>());
+    }
   }
 
   /**
@@ -507,11 +527,12 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
   private static class StringCharIterator implements CharIterator {
     final String content;
     final int length;
-    int current = 0;
+    int current;
 
-    StringCharIterator(String content) {
+    StringCharIterator(String content, int start) {
       this.content = content;
       this.length = content.length();
+      this.current = start;
     }
 
     @Override
@@ -523,112 +544,39 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
       return content.charAt(current);
     }
 
-    @Override
-    public boolean hasNext() {
-      return current < length;
-    }
-  }
-
-  /**
-   * Represents a mapping entry in the source map.
-   */
-  private interface Entry {
-    int getGeneratedColumn();
-    int getSourceFileId();
-    int getSourceLine();
-    int getSourceColumn();
-    int getNameId();
-  }
-
-  /**
-   * This class represents a portion of the generated file, that is not mapped
-   * to a section in the original source.
-   */
-  private static class UnmappedEntry implements Entry {
-    private final int column;
-
-    UnmappedEntry(int column) {
-      this.column = column;
-    }
-
-    @Override
-    public int getGeneratedColumn() {
-      return column;
-    }
-
-    @Override
-    public int getSourceFileId() {
-      return UNMAPPED;
-    }
-
-    @Override
-    public int getSourceLine() {
-      return UNMAPPED;
-    }
-
-    @Override
-    public int getSourceColumn() {
-      return UNMAPPED;
+    int position() {
+      return current;
     }
 
     @Override
-    public int getNameId() {
-      return UNMAPPED;
+    public boolean hasNext() {
+      return current < length;
     }
   }
 
-  /**
-   * This class represents a portion of the generated file, that is mapped
-   * to a section in the original source.
-   */
-  private static class UnnamedEntry extends UnmappedEntry {
-    private final int srcFile;
-    private final int srcLine;
-    private final int srcColumn;
-
-    UnnamedEntry(int column, int srcFile, int srcLine, int srcColumn) {
-      super(column);
-      this.srcFile = srcFile;
-      this.srcLine = srcLine;
-      this.srcColumn = srcColumn;
-    }
+  /** A growable array of the segments of one line. */
+  private static final class SegmentBuffer {
+    private int[] values = new int[SEGMENT_SIZE * 8];
+    private int size = 0;
 
-    @Override
-    public int getSourceFileId() {
-      return srcFile;
-    }
-
-    @Override
-    public int getSourceLine() {
-      return srcLine;
-    }
-
-    @Override
-    public int getSourceColumn() {
-      return srcColumn;
-    }
-
-    @Override
-    public int getNameId() {
-      return UNMAPPED;
+    void add(int column, int sourceFileId, int sourceLine, int sourceColumn, int nameId) {
+      if (size + SEGMENT_SIZE > values.length) {
+        values = Arrays.copyOf(values, values.length * 2);
+      }
+      values[size + GENERATED_COLUMN] = column;
+      values[size + SOURCE_FILE_ID] = sourceFileId;
+      values[size + SOURCE_LINE] = sourceLine;
+      values[size + SOURCE_COLUMN] = sourceColumn;
+      values[size + NAME_ID] = nameId;
+      size += SEGMENT_SIZE;
     }
-  }
 
-  /**
-   * This class represents a portion of the generated file, that is mapped
-   * to a section in the original source, and is associated with a name.
-   */
-  private static class NamedEntry extends UnnamedEntry {
-    private final int name;
-
-    NamedEntry(int column, int srcFile, int srcLine, int srcColumn, int name) {
-      super(column, srcFile, srcLine, srcColumn);
-      this.name = name;
+    int[] toArray() {
+      return size == 0 ? EMPTY_LINE : Arrays.copyOf(values, size);
     }
 
-    @Override
-    public int getNameId() {
-      return name;
+    void clear() {
+      size = 0;
     }
   }
 
@@ -647,35 +595,32 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     FilePosition sourceStartPosition = null;
     FilePosition startPosition = null;
 
-    final int lineCount = lines.size();
+    final int lineCount = lines.length;
     for (int i = 0; i < lineCount; i++) {
-      ArrayList<Entry> line = lines.get(i);
-      if (line != null) {
-        final int entryCount = line.size();
-        for (int j = 0; j < entryCount; j++) {
-          Entry entry = line.get(j);
-          if (pending) {
-            FilePosition endPosition = new FilePosition(
-                i, entry.getGeneratedColumn());
-            visitor.visit(
-                sourceName,
-                symbolName,
-                sourceStartPosition,
-                startPosition,
-                endPosition);
-            pending = false;
-          }
+      int[] line = peekLine(i);
+      for (int segment = 0; segment < line.length; segment += SEGMENT_SIZE) {
+        if (pending) {
+          FilePosition endPosition = new FilePosition(
+              i, line[segment + GENERATED_COLUMN]);
+          visitor.visit(
+              sourceName,
+              symbolName,
+              sourceStartPosition,
+              startPosition,
+              endPosition);
+          pending = false;
+        }
 
-          if (entry.getSourceFileId() != UNMAPPED) {
-            pending = true;
-            sourceName = sources[entry.getSourceFileId()];
-            symbolName = (entry.getNameId() != UNMAPPED)
-                ? names[entry.getNameId()] : null;
-            sourceStartPosition = new FilePosition(
-                entry.getSourceLine(), entry.getSourceColumn());
-            startPosition = new FilePosition(
-                i, entry.getGeneratedColumn());
-          }
+        int sourceFileId = line[segment + SOURCE_FILE_ID];
+        if (sourceFileId != UNMAPPED) {
+          pending = true;
+          sourceName = sources[sourceFileId];
+          int nameId = line[segment + NAME_ID];
+          symbolName = (nameId != UNMAPPED) ? names[nameId] : null;
+          sourceStartPosition = new FilePosition(
+              line[segment + SOURCE_LINE], line[segment + SOURCE_COLUMN]);
+          startPosition = new FilePosition(
+              i, line[segment + GENERATED_COLUMN]);
         }
       }
     }
@@ -129,12 +129,31 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
    */
   private String sourceRootPath;
 
+  /**
+   * When streaming, where the source map is being written. Mappings are then
+   * encoded as they are added instead of being kept in {@link #mappings}.
+   */
+  @Nullable private Appendable streamingOut;
+
+  /** When streaming, encodes the mappings to {@link #streamingOut}. */
+  @Nullable private LineMapper streamingMapper;
+
+  /** When streaming, the mappings that enclose the next one. */
+  @Nullable private MappingTraversal streamingTraversal;
+
+  /** The first failure to write to {@link #streamingOut}, if any. */
+  @Nullable private IOException streamingError;
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void reset() {
     mappings.clear();
+    streamingOut = null;
+    streamingMapper = null;
+    streamingTraversal = null;
+    streamingError = null;
     lastMapping = null;
     sourceFileMap.clear();
     sourceFileContentMap.clear();
@@ -264,7 +283,26 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
     }
 
     lastMapping = mapping;
-    mappings.add(mapping);
+    if (streamingTraversal != null) {
+      streamMapping(mapping);
+    } else {
+      mappings.add(mapping);
+    }
+  }
+
+  /**
+   * Writes out the segments that precede {@code mapping}. The addMapping
+   * interface can't throw IOException, so a failure is kept to be rethrown by
+   * {@link #finishStreaming}.
+   */
+  private void streamMapping(Mapping mapping) {
+    if (streamingError == null) {
+      try {
+        streamingTraversal.add(streamingMapper, mapping);
+      } catch (IOException e) {
+        streamingError = e;
+      }
+    }
   }
 
   @Override public void addSourcesContent(String source, String content) {
@@ -366,6 +404,7 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
    */
   @Override
   public void appendTo(Appendable out, @Nullable String name) throws IOException {
+    checkState(streamingOut == null, "The source map is being streamed");
     int maxLine = prepMappings() + 1;
 
     // Add the header fields.
@@ -389,6 +428,74 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
     // out.append("]");
     appendFieldEnd(out);
 
+    appendSourcesNamesAndExtensions(out);
+  }
+
+  /**
+   * Starts writing the source map to {@code out}. Until {@link
+   * #finishStreaming} is called, each mapping is encoded and written out as
+   * soon as the next one is added, instead of all mappings being kept until
+   * {@link #appendTo}. The output is the same as that of {@link #appendTo},
+   * except that the "lineCount" field follows the "mappings" field.
+   *
+   * <p>The source root and wrapper prefix must be set before calling this,
+   * and no mappings may have been added yet.
+   */
+  public void startStreaming(Appendable out, @Nullable String name) throws IOException {
+    checkState(streamingOut == null, "The source map is already being streamed");
+    checkState(lastMapping == null, "Mappings were added before streaming started");
+    streamingOut = out;
+    streamingMapper = new LineMapper(out, Integer.MAX_VALUE);
+    streamingTraversal = new MappingTraversal();
+
+    out.append("{\n");
+    appendFirstField(out, "version", "3");
+    if (name != null) {
+      appendField(out, "file", escapeString(name));
+    }
+    if (this.sourceRootPath != null && !this.sourceRootPath.isEmpty()) {
+      appendField(out, "sourceRoot", escapeString(this.sourceRootPath));
+    }
+    appendFieldStart(out, "mappings");
+    streamingMapper.openLine(true);
+  }
+
+  /**
+   * Writes out the remaining mappings and the rest of the source map started
+   * by {@link #startStreaming}. Sources content and extensions may be added
+   * until this is called.
+   *
+   * @throws IOException if writing this or any earlier part of the source map
+   *     failed.
+   */
+  public void finishStreaming() throws IOException {
+    checkState(streamingOut != null, "The source map is not being streamed");
+    Appendable out = streamingOut;
+    LineMapper mapper = streamingMapper;
+    MappingTraversal traversal = streamingTraversal;
+    IOException error = streamingError;
+    streamingOut = null;
+    streamingMapper = null;
+    streamingTraversal = null;
+    streamingError = null;
+    if (error != null) {
+      throw error;
+    }
+
+    traversal.finish(mapper);
+    mapper.closeLine(true);
+    appendFieldEnd(out);
+    int maxLine = Math.max(mapper.maxVisitedLine, prefixPosition.getLine()) + 1;
+    appendField(out, "lineCount", String.valueOf(maxLine));
+
+    appendSourcesNamesAndExtensions(out);
+  }
+
+  /**
+   * Writes the fields that follow the mappings, which are only complete once
+   * every mapping has been written, and closes the source map.
+   */
+  private void appendSourcesNamesAndExtensions(Appendable out) throws IOException {
     // Files names
     appendFieldStart(out, "sources");
     out.append("[");
@@ -690,33 +797,48 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
     private int line;
     private int col;
 
+    // The mappings that enclose the current position, innermost first.
+    private final Deque<Mapping> stack = new ArrayDeque<>();
+
     MappingTraversal() {
     }
 
     // Append the line mapping entries.
     void traverse(MappingVisitor v) throws IOException {
+      for (Mapping m : mappings) {
+        add(v, m);
+      }
+      finish(v);
+    }
+
+    /**
+     * Visits the segments that precede {@code m}. Everything before the start
+     * of a mapping is final once it is added, as mappings are added in order.
+     */
+    void add(MappingVisitor v, Mapping m) throws IOException {
       // The mapping list is ordered as a pre-order traversal.  The mapping
       // positions give us enough information to rebuild the stack and this
       // allows the building of the source map in O(n) time.
-      Deque<Mapping> stack = new ArrayDeque<>();
-      for (Mapping m : mappings) {
-        // Find the closest ancestor of the current mapping:
-        // An overlapping mapping is an ancestor of the current mapping, any
-        // non-overlapping mappings are siblings (or cousins) and must be
-        // closed in the reverse order of when they encountered.
-        while (!stack.isEmpty() && !isOverlapped(stack.peek(), m)) {
-          Mapping previous = stack.pop();
-          maybeVisit(v, previous);
-        }
 
-        // Any gaps between the current line position and the start of the
-        // current mapping belong to the parent.
-        Mapping parent = stack.peek();
-        maybeVisitParent(v, parent, m);
-
-        stack.push(m);
+      // Find the closest ancestor of the current mapping:
+      // An overlapping mapping is an ancestor of the current mapping, any
+      // non-overlapping mappings are siblings (or cousins) and must be
+      // closed in the reverse order of when they encountered.
+      while (!stack.isEmpty() && !isOverlapped(stack.peek(), m)) {
+        Mapping previous = stack.pop();
+        maybeVisit(v, previous);
       }
 
+      // Any gaps between the current line position and the start of the
+      // current mapping belong to the parent.
+      Mapping parent = stack.peek();
+      maybeVisitParent(v, parent, m);
+
+      stack.push(m);
+    }
+
+    /** Visits the segments that follow the last mapping added. */
+    void finish(MappingVisitor v) throws IOException {
       // There are no more children to be had, simply close the remaining
       // mappings in the reverse order of when they encountered.
       while (!stack.isEmpty()) {
@@ -894,6 +1016,9 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
     private int previousLine = -1;
     private int previousColumn = 0;
 
+    // The last line any segment reaches.
+    private int maxVisitedLine = 0;
+
     // Previous values used for storing relative ids.
     private int previousSourceFileId;
     private int previousSourceLine;
@@ -914,6 +1039,7 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
       if (previousLine != line) {
         previousColumn = 0;
       }
+      maxVisitedLine = Math.max(maxVisitedLine, nextLine);
 
       if (line != nextLine || col != nextCol) {
         // TODO(johnlenz): For some reason, we have mappings beyond the max line.
@@ -35,6 +35,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
 import com.google.gson.Gson;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
@@ -65,6 +66,7 @@ import java.io.PrintStream;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -73,6 +75,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -491,10 +494,42 @@ public abstract class AbstractCommandLineRunner<A extends Compiler,
   @GwtIncompatible("Unnecessary")
   public static List<SourceFile> getBuiltinExterns(CompilerOptions.Environment env)
       throws IOException {
+    ImmutableMap<String, String> externsCode = builtinExternsCode.get(env);
+    if (externsCode == null) {
+      externsCode = readBuiltinExternsCode(env);
+      builtinExternsCode.putIfAbsent(env, externsCode);
+    }
+    Map<String, SourceFile> mapFromExternsZip = new HashMap<>();
+    for (Map.Entry<String, String> entry : externsCode.entrySet()) {
+      String filename = entry.getKey();
+      mapFromExternsZip.put(
+          filename,
+          SourceFile.fromCode(
+              // Give the files an odd prefix, so that they do not conflict
+              // with the user's files.
+              "externs.zip//" + filename, entry.getValue()));
+    }
+    return DefaultExterns.prepareExterns(env, mapFromExternsZip);
+  }
+
+  /**
+   * The decoded contents of the builtin externs, by environment and then by file name.
+   *
+   * <p>Unzipping and decoding externs.zip is repeated work for processes that compile many times,
+   * such as {@code CommandLineRunner --server_mode}. Only the code is shared; every call to {@link
+   * #getBuiltinExterns} still hands out fresh {@link SourceFile}s.
+   */
+  @GwtIncompatible("Unnecessary")
+  private static final ConcurrentHashMap<CompilerOptions.Environment, ImmutableMap<String, String>>
+      builtinExternsCode = new ConcurrentHashMap<>();
+
+  @GwtIncompatible("Unnecessary")
+  private static ImmutableMap<String, String> readBuiltinExternsCode(
+      CompilerOptions.Environment env) throws IOException {
     try (InputStream input = getExternsInput()) {
       ZipInputStream zip = new ZipInputStream(input);
       String envPrefix = Ascii.toLowerCase(env.toString()) + "/";
-      Map<String, SourceFile> mapFromExternsZip = new HashMap<>();
+      Map<String, String> codeByFilename = new LinkedHashMap<>();
       for (ZipEntry entry = null; (entry = zip.getNextEntry()) != null; ) {
         String filename = entry.getName();
 
@@ -510,14 +545,10 @@ public abstract class AbstractCommandLineRunner<A extends Compiler,
 
         BufferedInputStream entryStream =
             new BufferedInputStream(ByteStreams.limit(zip, entry.getSize()));
-        mapFromExternsZip.put(
-            filename,
-            SourceFile.fromInputStream(
-                // Give the files an odd prefix, so that they do not conflict
-                // with the user's files.
-                "externs.zip//" + filename, entryStream, UTF_8));
+        codeByFilename.put(
+            filename, CharStreams.toString(new InputStreamReader(entryStream, UTF_8)));
       }
-      return DefaultExterns.prepareExterns(env, mapFromExternsZip);
+      return ImmutableMap.copyOf(codeByFilename);
     }
   }
 
@@ -658,7 +689,10 @@ public abstract class AbstractCommandLineRunner<A extends Compiler,
         }
       } else if (!"-".equals(filename)) {
         SourceKind kind = file.flag == JsSourceType.WEAKDEP ? SourceKind.WEAK : SourceKind.STRONG;
-        SourceFile newFile = SourceFile.fromFile(filename, inputCharset, kind);
+        SourceFile newFile =
+            config.memoryMapInputs
+                ? SourceFile.fromMappedPath(Paths.get(filename), inputCharset, kind)
+                : SourceFile.fromFile(filename, inputCharset, kind);
         inputs.add(newFile);
       } else {
         if (!allowStdIn) {
@@ -2398,6 +2432,17 @@ public abstract class AbstractCommandLineRunner<A extends Compiler,
       return this;
     }
 
+    private boolean memoryMapInputs = false;
+
+    /**
+     * Whether to memory-map JS inputs rather than read them onto the heap, decoding each one only
+     * while it is needed.
+     */
+    public CommandLineConfig setMemoryMapInputs(boolean memoryMapInputs) {
+      this.memoryMapInputs = memoryMapInputs;
+      return this;
+    }
+
     private String variableMapInputFile = "";
 
     /**
@@ -72,6 +72,19 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
   @OverridingMethodsMustInvokeSuper
   void afterPass(String passName) {}
 
+  /**
+   * Records that a {@link DataFlowAnalysis} in the current pass flowed through {@code steps}
+   * nodes, for the performance tracker.
+   */
+  void recordDataFlowSteps(int steps) {}
+
+  /**
+   * Records a task that ran on a worker thread, for the trace events of the performance tracker.
+   * Safe to call from any thread.
+   */
+  void recordWorkerTask(
+      long threadId, String threadName, String taskName, long startNanos, long endNanos) {}
+
   private LifeCycleStage stage = LifeCycleStage.RAW;
 
   // TODO(nicksantos): Decide if all of these are really necessary.
@@ -359,6 +372,13 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
   /** A monotonically increasing value to identify a change */
   abstract int getChangeStamp();
 
+  /**
+   * Returns the traversal that passes use to traverse change scopes in parallel, or null if {@link
+   * CompilerOptions#numParallelThreads} does not allow more than one thread.
+   */
+  @Nullable
+  abstract ParallelScopeTraversal getParallelScopeTraversal();
+
   /**
    * An accumulation of changed scope nodes since the last time the given pass was run. A returned
    * empty list means no scope nodes have changed since the last run and a returned null means this
@@ -527,6 +547,9 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
    */
   abstract GlobalVarReferenceMap getGlobalVarReferences();
 
+  /** Returns the global namespaces that passes share instead of each building their own. */
+  abstract GlobalNamespaceIndex getGlobalNamespaceIndex();
+
   /**
    * @return a CompilerInput that can be modified to add additional extern
    * definitions to the beginning of the externs AST
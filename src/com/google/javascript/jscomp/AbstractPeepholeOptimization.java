@@ -39,6 +39,10 @@ abstract class AbstractPeepholeOptimization {
    * Given a node to optimize and a traversal, optimize the node. Subclasses
    * should override to provide their own peephole optimization.
    *
+   * <p>With more than one {@link CompilerOptions#numParallelThreads}, one instance optimizes
+   * several change scopes at once, each on its own thread. So implementations must not keep state
+   * between calls, other than what {@link #beginTraversal} sets up before the traversal starts.
+   *
    * @param subtree The subtree that will be optimized.
    * @return The new version of the subtree (or null if the subtree or one of
    * its parents was removed from the AST). If the subtree has not changed,
@@ -79,7 +79,7 @@ class AggressiveInlineAliases implements CompilerPass {
 
     // Building the `GlobalNamespace` dominates the cost of this pass, so it is built once and
     // updated as changes are made so it can be reused for the next iteration.
-    this.namespace = new GlobalNamespace(compiler, root);
+    this.namespace = compiler.getGlobalNamespaceIndex().get(null, root);
     while (codeChanged) {
       codeChanged = false;
       inlineAliases(namespace);
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.base.Throwables;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+
+/**
+ * Builds the control flow graphs of functions on worker threads, ahead of the {@link
+ * TypeInferencePass} that consumes them.
+ *
+ * <p>Building a CFG only reads the AST, and inference itself still runs serially and in the
+ * usual order, so the results do not depend on the number of threads. Only a bounded number of
+ * graphs are built ahead of inference, to bound the memory they hold.
+ */
+final class CfgPrefetcher {
+  private static final int LOOKAHEAD_PER_THREAD = 16;
+
+  private final AbstractCompiler compiler;
+  private final ExecutorService executor;
+  private final int lookahead;
+  // Functions in the order inference will reach them.
+  private final ArrayDeque<Node> unscheduled = new ArrayDeque<>();
+  private final Map<Node, Future<ControlFlowGraph<Node>>> scheduled = new IdentityHashMap<>();
+
+  CfgPrefetcher(AbstractCompiler compiler, Node inferenceRoot, int numThreads) {
+    this.compiler = compiler;
+    this.executor =
+        Executors.newFixedThreadPool(
+            numThreads,
+            r -> {
+              Thread t =
+                  new Thread(
+                      null,
+                      r,
+                      "jscompiler-TypeInferencePass",
+                      CompilerExecutor.COMPILER_STACK_SIZE);
+              t.setDaemon(true); // Do not prevent the JVM from exiting.
+              return t;
+            });
+    this.lookahead = numThreads * LOOKAHEAD_PER_THREAD;
+    NodeUtil.visitPreOrder(
+        inferenceRoot,
+        n -> {
+          if (n.isFunction()) {
+            unscheduled.add(n);
+          }
+        });
+    scheduleMore();
+  }
+
+  /**
+   * Returns the CFG for {@code n}, waiting for it if necessary, or null if it was not scheduled.
+   */
+  @Nullable
+  ControlFlowGraph<Node> take(Node n) {
+    Future<ControlFlowGraph<Node>> cfg = scheduled.remove(n);
+    scheduleMore();
+    if (cfg == null) {
+      return null;
+    }
+    try {
+      return cfg.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private void scheduleMore() {
+    while (scheduled.size() < lookahead && !unscheduled.isEmpty()) {
+      Node function = unscheduled.poll();
+      scheduled.put(
+          function, executor.submit(() -> TypeInferencePass.computeCfg(compiler, function)));
+    }
+  }
+
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -81,7 +81,7 @@ class CheckGlobalNames implements CompilerPass {
   @Override
   public void process(Node externs, Node root) {
     if (namespace == null) {
-      namespace = new GlobalNamespace(compiler, externs, root);
+      namespace = compiler.getGlobalNamespaceIndex().get(externs, root);
     }
 
     // Find prototype properties that will affect our analysis.
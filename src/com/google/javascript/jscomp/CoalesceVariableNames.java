@@ -148,6 +148,7 @@ class CoalesceVariableNames extends AbstractPostOrderCallback implements
     }
 
     liveness.analyze();
+    compiler.recordDataFlowSteps(liveness.getStepCount());
     liveAnalyses.push(liveness);
 
     // The interference graph has the function's variables as its nodes and any interference
@@ -108,7 +108,7 @@ class CollapseProperties implements CompilerPass {
       gatherDynamicallyImportedModules();
     }
 
-    GlobalNamespace namespace = new GlobalNamespace(compiler, root);
+    GlobalNamespace namespace = compiler.getGlobalNamespaceIndex().get(null, root);
     nameMap = namespace.getNameIndex();
     List<Name> globalNames = namespace.getNameForest();
     Set<Name> escaped = checkNamespaces();
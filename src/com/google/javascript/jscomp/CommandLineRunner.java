@@ -29,13 +29,18 @@ import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.io.Files;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.javascript.jscomp.AbstractCommandLineRunner.CommandLineConfig.ErrorFormatOption;
 import com.google.javascript.jscomp.CompilerOptions.InstrumentOption;
 import com.google.javascript.jscomp.CompilerOptions.IsolationMode;
+import com.google.javascript.jscomp.CompilerOptions.JsonStreamMode;
 import com.google.javascript.jscomp.CompilerOptions.LanguageMode;
 import com.google.javascript.jscomp.DependencyOptions.DependencyMode;
 import com.google.javascript.jscomp.SourceMap.LocationMapping;
 import com.google.javascript.jscomp.deps.ClosureBundler;
+import com.google.javascript.jscomp.deps.DiskDependencyInfoCache;
 import com.google.javascript.jscomp.deps.ModuleLoader;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet.Feature;
@@ -45,10 +50,12 @@ import com.google.javascript.jscomp.transpile.Transpiler;
 import com.google.javascript.rhino.TokenStream;
 import com.google.protobuf.TextFormat;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.io.StringWriter;
@@ -735,6 +742,14 @@ public class CommandLineRunner extends
     private CompilerOptions.TracerMode tracerMode =
         CompilerOptions.TracerMode.OFF;
 
+    @Option(
+        name = "--trace_events_output",
+        hidden = true,
+        usage =
+            "With --tracer_mode, writes a timeline of the compiler passes to this file in the "
+                + "Chrome trace event format, for chrome://tracing and other profilers.")
+    private String traceEventsOutput = null;
+
     @Option(name = "--rename_variable_prefix",
         usage = "Specifies a prefix that will be prepended to all variables.")
     private String renamePrefix = null;
@@ -766,6 +781,46 @@ public class CommandLineRunner extends
     )
     private CompilerOptions.JsonStreamMode jsonStreamMode = CompilerOptions.JsonStreamMode.NONE;
 
+    @Option(
+        name = "--server_mode",
+        hidden = true,
+        handler = BooleanOptionHandler.class,
+        usage =
+            "Keeps the compiler running and performs one compilation for each JSON array of "
+                + "sources read from standard input, writing each result as a JSON array of "
+                + "outputs on its own line of standard output. Implies --json_streams=BOTH. "
+                + "Intended for build systems that invoke the compiler many times with the same "
+                + "flags.")
+    private boolean serverMode = false;
+
+    @Option(
+        name = "--parsed_ast_cache_dir",
+        hidden = true,
+        usage =
+            "A directory in which to cache parsed ASTs, keyed by file contents and parser "
+                + "options. Unchanged files are loaded from the cache instead of being reparsed. "
+                + "The directory may be shared by concurrent compiler processes.")
+    private String parsedAstCacheDir = "";
+
+    @Option(
+        name = "--memory_map_inputs",
+        hidden = true,
+        handler = BooleanOptionHandler.class,
+        usage =
+            "Memory-map JS input files instead of reading them onto the heap. Each file's text is "
+                + "decoded while it is parsed and dropped afterwards, unless "
+                + "--source_map_include_content needs it.")
+    private boolean memoryMapInputs = false;
+
+    @Option(
+        name = "--dependency_info_cache_dir",
+        hidden = true,
+        usage =
+            "A directory in which to cache the provides and requires of each input, keyed by file "
+                + "contents. Unchanged files are not rescanned for dependency pruning. "
+                + "The directory may be shared by concurrent compiler processes.")
+    private String dependencyInfoCacheDir = "";
+
     @Option(name = "--preserve_type_annotations",
         hidden = true,
         handler = BooleanOptionHandler.class,
@@ -1739,6 +1794,7 @@ public class CommandLineRunner extends
           .setSourceMapLocationMappings(mappings)
           .setSourceMapInputFiles(sourceMapInputs)
           .setParseInlineSourceMaps(parseInlineSourceMaps)
+          .setMemoryMapInputs(flags.memoryMapInputs)
           .setApplyInputSourceMaps(applyInputSourceMaps)
           .setWarningGuards(Flags.guardLevels)
           .setDefine(flags.define)
@@ -1755,7 +1811,7 @@ public class CommandLineRunner extends
           .setWarningsAllowlistFile(flags.warningsAllowlistFile)
           .setHideWarningsFor(flags.hideWarningsFor)
           .setAngularPass(flags.angularPass)
-          .setJsonStreamMode(flags.jsonStreamMode)
+          .setJsonStreamMode(flags.serverMode ? JsonStreamMode.BOTH : flags.jsonStreamMode)
           .setErrorFormat(flags.errorFormat);
     }
 
@@ -1824,6 +1880,14 @@ public class CommandLineRunner extends
 
     options.setEnvironment(flags.environment);
 
+    if (!flags.parsedAstCacheDir.isEmpty()) {
+      options.setParsedAstCache(new DiskParsedAstCache(Paths.get(flags.parsedAstCacheDir)));
+    }
+    if (!flags.dependencyInfoCacheDir.isEmpty()) {
+      options.setDependencyInfoCache(
+          new DiskDependencyInfoCache(Paths.get(flags.dependencyInfoCacheDir)));
+    }
+
     options.setChecksOnly(flags.checksOnly);
     if (flags.checksOnly) {
       options.setOutputJs(CompilerOptions.OutputJs.NONE);
@@ -1929,6 +1993,9 @@ public class CommandLineRunner extends
 
     options.setPrintSourceAfterEachPass(flags.printSourceAfterEachPass);
     options.setTracerMode(flags.tracerMode);
+    if (flags.traceEventsOutput != null) {
+      options.setTraceEventsOutput(Paths.get(flags.traceEventsOutput));
+    }
     options.setStrictModeInput(flags.strictModeInput);
     if (!flags.emitUseStrict) {
       options.setEmitUseStrict(false);
@@ -2181,6 +2248,58 @@ public class CommandLineRunner extends
     return this.errors;
   }
 
+  /** @return Whether the compiler should keep running and serve compilations from stdin. */
+  public boolean isServerMode() {
+    return flags.serverMode;
+  }
+
+  /**
+   * Serves compilations until the end of {@code in} is reached.
+   *
+   * <p>Each request is a JSON array of sources in the --json_streams format. Every request is
+   * compiled by a new runner, and therefore a new Compiler, configured from {@code args}, so no
+   * compilation state leaks between requests. What is kept is the warmed-up JVM and the decoded
+   * builtin externs. Each response is the JSON array of outputs followed by a newline; errors and
+   * warnings are reported on {@code err} as usual.
+   */
+  static void runServer(String[] args, InputStream in, PrintStream out, PrintStream err)
+      throws IOException {
+    Gson gson = new Gson();
+    JsonReader reader = new JsonReader(new InputStreamReader(in, UTF_8));
+    // Lenient parsing accepts a stream of several top-level arrays.
+    reader.setLenient(true);
+    while (reader.peek() != JsonToken.END_DOCUMENT) {
+      List<JsonFileSpec> request = new ArrayList<>();
+      reader.beginArray();
+      while (reader.hasNext()) {
+        request.add(gson.fromJson(reader, JsonFileSpec.class));
+      }
+      reader.endArray();
+
+      ByteArrayOutputStream response = new ByteArrayOutputStream();
+      CommandLineRunner runner =
+          new CommandLineRunner(args, in, new PrintStream(response, true, "UTF-8"), err) {
+            @Override
+            public List<JsonFileSpec> parseJsonFilesFromInputStream() {
+              return request;
+            }
+          };
+      // The server outlives failed compilations.
+      runner.setExitCodeReceiver(exitCode -> null);
+      if (runner.shouldRunCompiler()) {
+        runner.run();
+      }
+
+      if (response.size() == 0) {
+        out.print("[]");
+      } else {
+        response.writeTo(out);
+      }
+      out.println();
+      out.flush();
+    }
+  }
+
   private static final Logger phaseLogger = Logger.getLogger(PhaseOptimizer.class.getName());
 
   /**
@@ -2192,7 +2311,14 @@ public class CommandLineRunner extends
       phaseLogger.setLevel(Level.OFF);
     }
     CommandLineRunner runner = new CommandLineRunner(args);
-    if (runner.shouldRunCompiler()) {
+    if (runner.shouldRunCompiler() && runner.isServerMode()) {
+      try {
+        runServer(args, System.in, System.out, System.err);
+      } catch (IOException e) {
+        e.printStackTrace();
+        System.exit(-2);
+      }
+    } else if (runner.shouldRunCompiler()) {
       runner.run();
     }
     if (runner.hasErrors()) {
@@ -49,6 +49,7 @@ import com.google.javascript.jscomp.diagnostic.LogFile;
 import com.google.javascript.jscomp.instrumentation.CoverageInstrumentationPass;
 import com.google.javascript.jscomp.instrumentation.CoverageInstrumentationPass.CoverageReach;
 import com.google.javascript.jscomp.modules.ModuleMap;
+import com.google.javascript.jscomp.modules.ModuleMapCreator;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap;
 import com.google.javascript.jscomp.parsing.Config;
 import com.google.javascript.jscomp.parsing.ParserRunner;
@@ -73,6 +74,8 @@ import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.AbstractSet;
 import java.util.ArrayList;
@@ -174,6 +177,12 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   private final Map<String, Node> scriptNodeByFilename = new ConcurrentHashMap<>();
 
+  /**
+   * The text of every input as it was parsed, by file name. Only recorded when {@link
+   * CompilerOptions#setIncrementalRecompilation} is on.
+   */
+  private final Map<String, String> parsedSourceByFilename = new HashMap<>();
+
   private transient IncrementalScopeCreator scopeCreator = null;
 
   private ImmutableMap<String, String> inputPathByWebpackId;
@@ -265,6 +274,14 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   private GlobalVarReferenceMap globalRefMap = null;
 
+  private GlobalNamespaceIndex globalNamespaceIndex = null;
+
+  // Created on first use, so that its threads are shared by every call to toSource.
+  private ParallelScriptPrinter scriptPrinter = null;
+
+  // Created on first use, so that its threads are shared by every pass that traverses in parallel.
+  private ParallelScopeTraversal parallelScopeTraversal = null;
+
   private volatile double progress = 0.0;
   private String lastPassName;
 
@@ -882,6 +899,14 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           throw new RuntimeException(e);
         }
       }
+      if (options.getTraceEventsOutput() != null) {
+        try (Writer out =
+            Files.newBufferedWriter(options.getTraceEventsOutput(), StandardCharsets.UTF_8)) {
+          tracker.outputTraceEvents(out);
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
     }
   }
 
@@ -1192,6 +1217,23 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return new Tracer("Compiler", comment);
   }
 
+  @Override
+  void recordDataFlowSteps(int steps) {
+    if (options.getTracerMode().isOn() && tracker != null) {
+      tracker.recordDataFlowSteps(steps);
+    }
+  }
+
+  @Override
+  void recordWorkerTask(
+      long threadId, String threadName, String taskName, long startNanos, long endNanos) {
+    // The tracker is created before any worker starts, so reading it here is safe.
+    PerformanceTracker tracker = this.tracker;
+    if (tracker != null) {
+      tracker.recordWorkerTask(threadId, threadName, taskName, startNanos, endNanos);
+    }
+  }
+
   void stopTracer(Tracer t, String passName) {
     long result = t.stop();
     if (options.getTracerMode().isOn() && tracker != null) {
@@ -1458,6 +1500,10 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   public JSTypeRegistry getTypeRegistry() {
     if (typeRegistry == null) {
       typeRegistry = new JSTypeRegistry(oldErrorReporter, forwardDeclaredTypes);
+      if (options != null) {
+        typeRegistry.setCacheTypeRelations(options.getCacheTypeRelations());
+        typeRegistry.setCachePropertyLookups(options.getCachePropertyLookups());
+      }
     }
     return typeRegistry;
   }
@@ -1622,6 +1668,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     externsRoot.detachChildren();
     jsRoot.detachChildren();
     scriptNodeByFilename.clear();
+    recordParsedSources();
 
     Tracer tracer = newTracer(PassNames.PARSE_INPUTS);
     beforePass(PassNames.PARSE_INPUTS);
@@ -1779,6 +1826,25 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     }
   }
 
+  /**
+   * Remembers the text of every input about to be parsed, so that {@link
+   * #restoreStateAndRecompileEdits} can later tell which of them were edited.
+   */
+  private void recordParsedSources() {
+    parsedSourceByFilename.clear();
+    if (!options.getIncrementalRecompilation()) {
+      return;
+    }
+    for (CompilerInput input : inputsById.values()) {
+      SourceFile file = input.getSourceFile();
+      try {
+        parsedSourceByFilename.put(file.getName(), file.getCode());
+      } catch (IOException e) {
+        // The parse reports the file. Leaving it out means the state is never reused.
+      }
+    }
+  }
+
   void orderInputsWithLargeStack() {
     runInCompilerThread(
         () -> {
@@ -2164,18 +2230,18 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           try {
             CodeBuilder cb = new CodeBuilder();
             if (jsRoot != null) {
-              int i = 0;
+              List<Node> scripts = new ArrayList<>();
               if (options.shouldPrintExterns()) {
-                for (Node scriptNode = externsRoot.getFirstChild();
-                    scriptNode != null;
-                    scriptNode = scriptNode.getNext()) {
-                  toSource(cb, i++, scriptNode);
+                for (Node scriptNode : externsRoot.children()) {
+                  scripts.add(scriptNode);
                 }
               }
-              for (Node scriptNode = jsRoot.getFirstChild();
-                  scriptNode != null;
-                  scriptNode = scriptNode.getNext()) {
-                toSource(cb, i++, scriptNode);
+              for (Node scriptNode : jsRoot.children()) {
+                scripts.add(scriptNode);
+              }
+              List<ParallelScriptPrinter.PrintedScript> printed = maybePrintInParallel(scripts);
+              for (int i = 0; i < scripts.size(); i++) {
+                toSource(cb, i, scripts.get(i), printed == null ? null : printed.get(i));
               }
             }
             return cb.toString();
@@ -2196,13 +2262,18 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           if (numInputs == 0) {
             return "";
           }
-          CodeBuilder cb = new CodeBuilder();
-          for (int i = 0; i < numInputs; i++) {
-            Node scriptNode = inputs.get(i).getAstRoot(Compiler.this);
+          List<Node> scripts = new ArrayList<>(numInputs);
+          for (CompilerInput input : inputs) {
+            Node scriptNode = input.getAstRoot(Compiler.this);
             if (scriptNode == null) {
               throw new IllegalArgumentException("Bad module: " + module.getName());
             }
-            toSource(cb, i, scriptNode);
+            scripts.add(scriptNode);
+          }
+          List<ParallelScriptPrinter.PrintedScript> printed = maybePrintInParallel(scripts);
+          CodeBuilder cb = new CodeBuilder();
+          for (int i = 0; i < numInputs; i++) {
+            toSource(cb, i, scripts.get(i), printed == null ? null : printed.get(i));
           }
           return cb.toString();
         });
@@ -2218,6 +2289,19 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   public void toSource(final CodeBuilder cb,
                        final int inputSeqNum,
                        final Node root) {
+    toSource(cb, inputSeqNum, root, null);
+  }
+
+  /**
+   * Writes out JS code from a root node, like {@link #toSource(CodeBuilder, int, Node)}, using
+   * {@code printed} as the code of the root if it was already printed by {@link
+   * #maybePrintInParallel}.
+   */
+  private void toSource(
+      final CodeBuilder cb,
+      final int inputSeqNum,
+      final Node root,
+      @Nullable final ParallelScriptPrinter.PrintedScript printed) {
     runInCompilerThread(
         () -> {
           if (options.printInputDelimiter) {
@@ -2254,9 +2338,17 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
             sourceMap.setStartingPosition(cb.getLineIndex(), cb.getColumnIndex());
           }
 
-          // if LanguageMode is strict, only print 'use strict'
-          // for the first input file
-          String code = toSource(root, sourceMap, inputSeqNum == 0);
+          String code;
+          if (printed != null) {
+            code = printed.getCode();
+            if (printed.getSourceMap() != null) {
+              printed.getSourceMap().addRecordedMappingsTo(sourceMap);
+            }
+          } else {
+            // if LanguageMode is strict, only print 'use strict'
+            // for the first input file
+            code = toSource(root, sourceMap, inputSeqNum == 0);
+          }
           if (!code.isEmpty()) {
             cb.append(code);
 
@@ -2298,6 +2390,27 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return builder.build();
   }
 
+  /**
+   * Prints {@code scripts} concurrently if {@link CompilerOptions#numParallelThreads} allows it,
+   * for the caller to concatenate in order. Returns null if the scripts should be printed one at a
+   * time instead.
+   */
+  @Nullable
+  private List<ParallelScriptPrinter.PrintedScript> maybePrintInParallel(List<Node> scripts) {
+    if (options.numParallelThreads <= 1 || scripts.size() <= 1) {
+      return null;
+    }
+    // Create the registry up front rather than racing to create it on the printing threads.
+    getTypeRegistry();
+    if (scriptPrinter == null) {
+      scriptPrinter = new ParallelScriptPrinter(options.numParallelThreads);
+    }
+    return scriptPrinter.print(
+        scripts,
+        sourceMap != null,
+        (index, script, recorder) -> toSource(script, recorder, index == 0));
+  }
+
   /**
    * Converts the parse tree for each input back to JS code.
    */
@@ -2308,14 +2421,16 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           try {
             int numInputs = moduleGraph.getInputCount();
             String[] sources = new String[numInputs];
-            CodeBuilder cb = new CodeBuilder();
-            int i = 0;
+            List<Node> scripts = new ArrayList<>(numInputs);
             for (CompilerInput input : moduleGraph.getAllInputs()) {
-              Node scriptNode = input.getAstRoot(Compiler.this);
+              scripts.add(input.getAstRoot(Compiler.this));
+            }
+            List<ParallelScriptPrinter.PrintedScript> printed = maybePrintInParallel(scripts);
+            CodeBuilder cb = new CodeBuilder();
+            for (int i = 0; i < numInputs; i++) {
               cb.reset();
-              toSource(cb, i, scriptNode);
+              toSource(cb, i, scripts.get(i), printed == null ? null : printed.get(i));
               sources[i] = cb.toString();
-              i++;
             }
             return sources;
           } finally {
@@ -2337,15 +2452,19 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           }
 
           String[] sources = new String[numInputs];
-          CodeBuilder cb = new CodeBuilder();
-          for (int i = 0; i < numInputs; i++) {
-            Node scriptNode = inputs.get(i).getAstRoot(Compiler.this);
+          List<Node> scripts = new ArrayList<>(numInputs);
+          for (CompilerInput input : inputs) {
+            Node scriptNode = input.getAstRoot(Compiler.this);
             if (scriptNode == null) {
-              throw new IllegalArgumentException("Bad module input: " + inputs.get(i).getName());
+              throw new IllegalArgumentException("Bad module input: " + input.getName());
             }
-
+            scripts.add(scriptNode);
+          }
+          List<ParallelScriptPrinter.PrintedScript> printed = maybePrintInParallel(scripts);
+          CodeBuilder cb = new CodeBuilder();
+          for (int i = 0; i < numInputs; i++) {
             cb.reset();
-            toSource(cb, i, scriptNode);
+            toSource(cb, i, scripts.get(i), printed == null ? null : printed.get(i));
             sources[i] = cb.toString();
           }
           return sources;
@@ -2544,6 +2663,18 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return changeStamp;
   }
 
+  @Override
+  @Nullable
+  ParallelScopeTraversal getParallelScopeTraversal() {
+    if (options.numParallelThreads <= 1) {
+      return null;
+    }
+    if (parallelScopeTraversal == null) {
+      parallelScopeTraversal = new ParallelScopeTraversal(this, options.numParallelThreads);
+    }
+    return parallelScopeTraversal;
+  }
+
   @Override
   List<Node> getChangedScopeNodesForPass(String passName) {
     List<Node> changedScopeNodes = changeTimeline.getSince(passName);
@@ -2610,6 +2741,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   @Override
   public void reportChangeToChangeScope(Node changeScopeRoot) {
     checkState(changeScopeRoot.isScript() || changeScopeRoot.isFunction());
+    if (ParallelScopeTraversal.deferChange(changeScopeRoot)) {
+      return;
+    }
     recordChange(changeScopeRoot);
     notifyChangeHandlers();
   }
@@ -2617,6 +2751,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   @Override
   public void reportFunctionDeleted(Node n) {
     checkState(n.isFunction());
+    if (ParallelScopeTraversal.deferFunctionDeleted(n)) {
+      return;
+    }
     n.setDeleted(true);
     changeTimeline.remove(n);
     deleteTimeline.add(n);
@@ -2624,7 +2761,11 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   @Override
   public void reportChangeToEnclosingScope(Node n) {
-    recordChange(getChangeScopeForNode(n));
+    Node changeScope = getChangeScopeForNode(n);
+    if (ParallelScopeTraversal.deferChange(changeScope)) {
+      return;
+    }
+    recordChange(changeScope);
     notifyChangeHandlers();
   }
 
@@ -2700,15 +2841,20 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   }
 
   protected Config createConfig(Config.LanguageMode mode, Config.StrictMode strictMode) {
-    return ParserRunner.createConfig(
-        mode,
-        options.isParseJsDocDocumentation(),
-        options.canContinueAfterErrors()
-            ? Config.RunMode.KEEP_GOING
-            : Config.RunMode.STOP_AFTER_ERROR,
-        options.extraAnnotationNames,
-        options.parseInlineSourceMaps,
-        strictMode);
+    Config config =
+        ParserRunner.createConfig(
+            mode,
+            options.isParseJsDocDocumentation(),
+            options.canContinueAfterErrors()
+                ? Config.RunMode.KEEP_GOING
+                : Config.RunMode.STOP_AFTER_ERROR,
+            options.extraAnnotationNames,
+            options.parseInlineSourceMaps,
+            strictMode);
+    if (options.getParseJsDocLazily()) {
+      config = config.toBuilder().setParseJsDocLazily(true).build();
+    }
+    return config;
   }
 
   // ------------------------------------------------------------------------
@@ -2725,6 +2871,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   @Override
   public void report(JSError error) {
+    if (ParallelScopeTraversal.deferError(error)) {
+      return;
+    }
     CheckLevel level = error.getDefaultLevel();
     if (warningsGuard != null) {
       CheckLevel newLevel = warningsGuard.level(error);
@@ -3182,6 +3331,15 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return globalRefMap;
   }
 
+  @Override
+  GlobalNamespaceIndex getGlobalNamespaceIndex() {
+    if (globalNamespaceIndex == null) {
+      globalNamespaceIndex = new GlobalNamespaceIndex(this);
+      addChangeHandler(globalNamespaceIndex);
+    }
+    return globalNamespaceIndex;
+  }
+
   @Override
   CompilerInput getSynthesizedExternsInput() {
     if (synthesizedExternsInput == null) {
@@ -3566,6 +3724,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     private final Map<String, Object> annotationMap;
     private final ConcurrentHashMap<String, SourceMapInput> inputSourceMaps;
     private final int changeStamp;
+    private final ImmutableMap<String, String> parsedSourceByFilename;
 
     CompilerState(Compiler compiler) {
       this.externsRoot = checkNotNull(compiler.externsRoot);
@@ -3602,6 +3761,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       this.annotationMap = checkNotNull(compiler.annotationMap);
       this.inputSourceMaps = compiler.inputSourceMaps;
       this.changeStamp = compiler.changeStamp;
+      this.parsedSourceByFilename = ImmutableMap.copyOf(compiler.parsedSourceByFilename);
     }
   }
 
@@ -3616,6 +3776,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           if (typeRegistry != null) {
             typeRegistry.saveContents(objectOutputStream);
           }
+          objectOutputStream.flush();
           stopTracer(tracer, "serializeCompilerState");
           return null;
         });
@@ -3633,6 +3794,75 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       newModules = ImmutableList.copyOf(getModules());
     }
 
+    applyState(readState(inputStream), newModules, ImmutableSet.of(), ImmutableSet.of());
+  }
+
+  /**
+   * Restores a state saved by {@link #saveState} after {@link #stage1Passes}, as {@link
+   * #restoreState} does, and brings it up to date with the current inputs so that {@link
+   * #stage2Passes} can follow.
+   *
+   * <p>Only the scripts whose text changed since the state was saved are reparsed and checked
+   * again, by the same hot-swap passes as {@link #replaceScript}. The few checks that summarize
+   * the whole program are then rerun over all of it. This is only sound for edits that other
+   * scripts cannot observe, so the saved state is not used when
+   *
+   * <ul>
+   *   <li>it was not parsed with {@link CompilerOptions#setIncrementalRecompilation}, or this
+   *       compiler was initialized with different inputs;
+   *   <li>an edit reaches outside of function bodies, JSDoc and imports included;
+   *   <li>an edited script uses language features it did not use before, or is an extern;
+   *   <li>an edited script is a module, or provides or requires a namespace;
+   *   <li>the checks include type inference, or a pass that can neither be run over a single
+   *       script nor be skipped for one, such as conformance checking with requirements.
+   * </ul>
+   *
+   * <p>The few checks that only report diagnostics but read the whole program, such as the strict
+   * mode check, are rerun over all of it, replacing every saved diagnostic they report.
+   *
+   * @return whether the state was restored. If not, the caller should parse and compile from
+   *     scratch with this compiler.
+   */
+  @GwtIncompatible("ObjectInputStream")
+  public boolean restoreStateAndRecompileEdits(InputStream inputStream)
+      throws IOException, ClassNotFoundException {
+    initWarningsGuard(options.getWarningsGuard());
+    maybeSetTracker();
+
+    List<JSModule> newModules = null;
+    if (getModules() != null) {
+      newModules = ImmutableList.copyOf(getModules());
+    }
+    Map<String, SourceFile> currentSources = new HashMap<>();
+    for (CompilerInput input : inputsById.values()) {
+      currentSources.put(input.getSourceFile().getName(), input.getSourceFile());
+    }
+
+    CompilerState compilerState = readState(inputStream);
+    List<SourceFile> editedSources = findIncrementalEdits(compilerState, currentSources);
+    if (editedSources == null) {
+      return false;
+    }
+
+    Set<String> editedNames = new HashSet<>();
+    for (SourceFile file : editedSources) {
+      editedNames.add(file.getName());
+    }
+    applyState(compilerState, newModules, editedNames, DIAGNOSTICS_OF_CHECKS_RERUN_AFTER_EDITS);
+    for (SourceFile file : editedSources) {
+      parsedSourceByFilename.put(file.getName(), file.getCode());
+    }
+    runInCompilerThread(
+        () -> {
+          recompileEditedScripts(editedSources);
+          return null;
+        });
+    return true;
+  }
+
+  @GwtIncompatible("ObjectInputStream")
+  private CompilerState readState(InputStream inputStream)
+      throws IOException, ClassNotFoundException {
     class CompilerObjectInputStream extends ObjectInputStream implements HasCompiler {
       public CompilerObjectInputStream(InputStream in) throws IOException {
         super(in);
@@ -3646,32 +3876,50 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
     // Do not close the input stream, caller is responsible for closing it.
     final ObjectInputStream objectInputStream = new CompilerObjectInputStream(inputStream);
-    CompilerState compilerState =
-        runInCompilerThread(
-            new Callable<CompilerState>() {
-              @Override
-              public CompilerState call() throws Exception {
-                Tracer tracer = newTracer(PassNames.DESERIALIZE_COMPILER_STATE);
-                logger.fine("Deserializing the CompilerState");
-                CompilerState compilerState = (CompilerState) objectInputStream.readObject();
-                logger.fine("Finished deserializing CompilerState");
-                if (compilerState.typeRegistry != null) {
-                  logger.fine("Deserializing the TypeRegistry");
-                  compilerState.typeRegistry.restoreContents(objectInputStream);
-                  logger.fine("Finished deserializing TypeRegistry");
-                }
-                stopTracer(tracer, PassNames.DESERIALIZE_COMPILER_STATE);
-                return compilerState;
-              }
-            });
+    return runInCompilerThread(
+        new Callable<CompilerState>() {
+          @Override
+          public CompilerState call() throws Exception {
+            Tracer tracer = newTracer(PassNames.DESERIALIZE_COMPILER_STATE);
+            logger.fine("Deserializing the CompilerState");
+            CompilerState compilerState = (CompilerState) objectInputStream.readObject();
+            logger.fine("Finished deserializing CompilerState");
+            if (compilerState.typeRegistry != null) {
+              logger.fine("Deserializing the TypeRegistry");
+              compilerState.typeRegistry.restoreContents(objectInputStream);
+              logger.fine("Finished deserializing TypeRegistry");
+            }
+            stopTracer(tracer, PassNames.DESERIALIZE_COMPILER_STATE);
+            return compilerState;
+          }
+        });
+  }
 
+  /**
+   * Replaces the state of this compiler with {@code compilerState}, dropping the saved
+   * diagnostics of the files in {@code staleFiles} and those of the types in {@code staleTypes}.
+   */
+  private void applyState(
+      CompilerState compilerState,
+      @Nullable List<JSModule> newModules,
+      Set<String> staleFiles,
+      Set<DiagnosticType> staleTypes) {
     featureSet = compilerState.featureSet;
     externs = compilerState.externs;
     scriptNodeByFilename.clear();
     scriptNodeByFilename.putAll(compilerState.scriptNodeByFilename);
     inputsById.clear();
     inputsById.putAll(compilerState.inputsById);
+    for (CompilerInput input : inputsById.values()) {
+      // The compiler is not saved with the inputs.
+      input.setCompiler(this);
+    }
     typeRegistry = compilerState.typeRegistry;
+    if (typeRegistry != null) {
+      // The memo is not saved with the registry.
+      typeRegistry.setCacheTypeRelations(options.getCacheTypeRelations());
+      typeRegistry.setCachePropertyLookups(options.getCachePropertyLookups());
+    }
     externAndJsRoot = compilerState.externAndJsRoot;
     externsRoot = compilerState.externsRoot;
     jsRoot = compilerState.jsRoot;
@@ -3701,6 +3949,8 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     annotationMap = checkNotNull(compilerState.annotationMap);
     inputSourceMaps = compilerState.inputSourceMaps;
     changeStamp = compilerState.changeStamp;
+    parsedSourceByFilename.clear();
+    parsedSourceByFilename.putAll(compilerState.parsedSourceByFilename);
 
     // Reapply module names to deserialized modules
     renameModules(newModules, ImmutableList.copyOf(getModules()));
@@ -3708,12 +3958,17 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     // restore errors.
     if (compilerState.errors != null) {
       for (JSError error : compilerState.errors) {
-        report(CheckLevel.ERROR, error);
+        if (!staleFiles.contains(error.getSourceName()) && !staleTypes.contains(error.getType())) {
+          report(CheckLevel.ERROR, error);
+        }
       }
     }
     if (compilerState.warnings != null) {
       for (JSError warning : compilerState.warnings) {
-        report(CheckLevel.WARNING, warning);
+        if (!staleFiles.contains(warning.getSourceName())
+            && !staleTypes.contains(warning.getType())) {
+          report(CheckLevel.WARNING, warning);
+        }
       }
     }
     if (tracker != null) {
@@ -3721,6 +3976,255 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     }
   }
 
+  /**
+   * Checks that cannot be run over a single script, but that an edited script can skip as long as
+   * its outline and language features are unchanged, since they only act on whole-program state
+   * that such an edit leaves as it was.
+   */
+  private static final ImmutableSet<String> CHECKS_SKIPPED_FOR_EDITED_SCRIPTS =
+      ImmutableSet.of(
+          PassNames.SYNC_COMPILER_FEATURES,
+          PassNames.MARK_UNTRANSPILABLE_FEATURES_AS_REMOVED,
+          PassNames.INJECT_RUNTIME_LIBRARIES,
+          PassNames.ADD_SYNTHETIC_SCRIPT,
+          PassNames.MERGE_SYNTHETIC_SCRIPT,
+          PassNames.REMOVE_SYNTHETIC_SCRIPT,
+          PassNames.DECLARED_GLOBAL_EXTERNS_ON_WINDOW,
+          PassNames.BEFORE_STANDARD_CHECKS,
+          PassNames.BEFORE_PRE_TYPECHECK_TRANSPILATION,
+          PassNames.BEFORE_TYPE_CHECKING,
+          PassNames.AFTER_STANDARD_CHECKS,
+          PassNames.BEFORE_SERIALIZATION);
+
+  /** The J2CL checks, which only act on scripts generated by J2CL. */
+  private static final ImmutableSet<String> J2CL_CHECKS =
+      ImmutableSet.of("j2clSourceFileChecker", "j2clChecksPass", "j2clPass");
+
+  /**
+   * Checks that summarize the whole program, or that only report diagnostics but read all of it,
+   * which are rerun over all of it once edited scripts have been replaced.
+   */
+  private static final ImmutableSet<String> CHECKS_RERUN_AFTER_EDITS =
+      ImmutableSet.of(
+          PassNames.GATHER_GETTERS_AND_SETTERS,
+          PassNames.CHECK_TYPE_IMPORT_CODE_REFERENCES,
+          PassNames.CHECK_STRICT_MODE,
+          PassNames.CHECK_CONSTS,
+          PassNames.CHECK_REG_EXP,
+          PassNames.INFER_CONSTS,
+          PassNames.CLOSURE_REPLACE_GET_CSS_NAME,
+          PassNames.CLEAR_TYPED_SCOPE_CREATOR,
+          PassNames.CLEAR_TOP_TYPED_SCOPE);
+
+  /**
+   * The diagnostics reported for unedited scripts by the checks in {@link
+   * #CHECKS_RERUN_AFTER_EDITS}. An edit to one script can change what they report for another, so
+   * the saved ones are all dropped.
+   */
+  private static final ImmutableSet<DiagnosticType> DIAGNOSTICS_OF_CHECKS_RERUN_AFTER_EDITS =
+      ImmutableSet.of(
+          CheckTypeImportCodeReferences.TYPE_IMPORT_CODE_REFERENCE,
+          StrictModeCheck.USE_OF_WITH,
+          StrictModeCheck.EVAL_DECLARATION,
+          StrictModeCheck.EVAL_ASSIGNMENT,
+          StrictModeCheck.ARGUMENTS_DECLARATION,
+          StrictModeCheck.ARGUMENTS_ASSIGNMENT,
+          StrictModeCheck.ARGUMENTS_CALLEE_FORBIDDEN,
+          StrictModeCheck.ARGUMENTS_CALLER_FORBIDDEN,
+          StrictModeCheck.FUNCTION_CALLER_FORBIDDEN,
+          StrictModeCheck.FUNCTION_ARGUMENTS_PROP_FORBIDDEN,
+          StrictModeCheck.DELETE_VARIABLE,
+          StrictModeCheck.DUPLICATE_MEMBER,
+          ConstCheck.CONST_REASSIGNED_VALUE_ERROR,
+          CheckRegExp.REGEXP_REFERENCE,
+          CheckRegExp.MALFORMED_REGEXP);
+
+  /**
+   * Returns the current sources of the scripts edited since {@code compilerState} was saved, or
+   * null if the state cannot be brought up to date by rechecking just those scripts.
+   */
+  @Nullable
+  private List<SourceFile> findIncrementalEdits(
+      CompilerState compilerState, Map<String, SourceFile> currentSources) throws IOException {
+    Map<String, String> parsedSources = compilerState.parsedSourceByFilename;
+    if (parsedSources.isEmpty() || !parsedSources.keySet().equals(currentSources.keySet())) {
+      return null;
+    }
+    boolean hasJ2clSources =
+        currentSources.keySet().stream().anyMatch(J2clSourceFileChecker::isJ2clSourceFile);
+    for (PassFactory check : ensureDefaultPassConfig().getChecks()) {
+      if (!canRecheckEditsWith(check, hasJ2clSources)) {
+        return null;
+      }
+    }
+
+    List<SourceFile> editedSources = new ArrayList<>();
+    for (Map.Entry<String, String> entry : parsedSources.entrySet()) {
+      SourceFile file = currentSources.get(entry.getKey());
+      String code = file.getCode();
+      if (code.equals(entry.getValue())) {
+        continue;
+      }
+      CompilerInput savedInput = compilerState.inputsById.get(new InputId(file.getName()));
+      if (savedInput == null
+          || savedInput.isExtern()
+          || savedInput.getJsModuleType() != CompilerInput.ModuleType.NONE
+          || !isPlainScript(getInput(savedInput.getInputId()))
+          || !isFunctionBodyEdit(file, entry.getValue(), code)) {
+        return null;
+      }
+      editedSources.add(file);
+    }
+    return editedSources;
+  }
+
+  private boolean canRecheckEditsWith(PassFactory check, boolean hasJ2clSources) {
+    String name = check.getName();
+    if (name.equals(PassNames.INFER_TYPES)) {
+      // Type inference over a single script needs the top scope, which is not saved.
+      return false;
+    } else if (name.equals(PassNames.CLOSURE_REPLACE_GET_CSS_NAME) && options.gatherCssNames) {
+      // Rerunning it would only gather the names used by the edited scripts.
+      return false;
+    } else if (name.equals(PassNames.CHECK_CONFORMANCE)) {
+      // The default configs have no requirements, so conformance checking reports nothing.
+      return options.getConformanceConfigs().stream()
+          .allMatch(config -> config.getRequirementCount() == 0);
+    } else if (J2CL_CHECKS.contains(name)) {
+      // These do nothing unless some script was generated by J2CL.
+      return !hasJ2clSources;
+    }
+    return check.isHotSwapable()
+        || CHECKS_SKIPPED_FOR_EDITED_SCRIPTS.contains(name)
+        || CHECKS_RERUN_AFTER_EDITS.contains(name);
+  }
+
+  /**
+   * Whether the input neither provides nor requires a namespace, so that no other script depends
+   * on the module metadata gathered for it.
+   */
+  private static boolean isPlainScript(CompilerInput input) {
+    // Every script implicitly provides the module name of its path.
+    String pathName = input.getPath().toModuleName();
+    return input.getProvides().stream().allMatch(pathName::equals)
+        && input.getRequires().isEmpty();
+  }
+
+  /**
+   * Whether {@code after} differs from {@code before} only inside of function bodies, and uses no
+   * language feature that {@code before} does not.
+   */
+  private boolean isFunctionBodyEdit(SourceFile file, String before, String after) {
+    Config config = getParserConfig(ConfigContext.DEFAULT);
+    ParserRunner.ParseResult parsedBefore = parseWithoutErrors(file, before, config);
+    ParserRunner.ParseResult parsedAfter = parseWithoutErrors(file, after, config);
+    return parsedBefore != null
+        && parsedAfter != null
+        && parsedBefore.features.contains(parsedAfter.features)
+        && outlineOf(parsedBefore.ast)
+            .isEquivalentTo(
+                outlineOf(parsedAfter.ast),
+                /* compareType= */ false,
+                /* recurse= */ true,
+                /* jsDoc= */ true,
+                /* sideEffect= */ false);
+  }
+
+  /** Parses {@code code}, returning null if it has errors. Nothing is reported. */
+  @Nullable
+  private static ParserRunner.ParseResult parseWithoutErrors(
+      SourceFile file, String code, Config config) {
+    boolean[] sawError = {false};
+    ErrorReporter reporter =
+        new ErrorReporter() {
+          @Override
+          public void warning(String message, String sourceName, int line, int lineOffset) {}
+
+          @Override
+          public void error(String message, String sourceName, int line, int lineOffset) {
+            sawError[0] = true;
+          }
+        };
+    ParserRunner.ParseResult result = ParserRunner.parse(file, code, config, reporter);
+    return sawError[0] || result.ast == null ? null : result;
+  }
+
+  /**
+   * Empties the bodies of the functions in {@code script}, so that the outlines of two versions of
+   * a script are equivalent exactly when they differ only inside of function bodies. Functions
+   * passed as call arguments keep their bodies, since callbacks like those of goog.scope and
+   * goog.loadModule hold top-level declarations.
+   */
+  private static Node outlineOf(Node script) {
+    List<Node> bodies = new ArrayList<>();
+    NodeUtil.visitPreOrder(
+        script,
+        (Node n) -> {
+          if (n.isFunction() && !(n.getParent().isCall() && !n.isFirstChildOf(n.getParent()))) {
+            bodies.add(n.getLastChild());
+          }
+        });
+    for (Node body : bodies) {
+      if (body.isBlock()) {
+        body.detachChildren();
+      } else {
+        body.replaceWith(IR.block());
+      }
+    }
+    return script;
+  }
+
+  /**
+   * Replaces the given scripts, found by {@link #findIncrementalEdits}, and reruns the checks over
+   * them.
+   */
+  private void recompileEditedScripts(List<SourceFile> editedSources) {
+    if (editedSources.isEmpty()) {
+      return;
+    }
+    // The module metadata and map are not saved, so they are built again from the restored
+    // program. The checks have rewritten its modules and namespaces by now, which is why only
+    // edits to plain scripts are accepted.
+    new GatherModuleMetadata(this, options.processCommonJSModules, options.moduleResolutionMode)
+        .process(externsRoot, jsRoot);
+    new ModuleMapCreator(this, getModuleMetadataMap()).process(externsRoot, jsRoot);
+    // The hot-swap passes transpile each new script from the input language.
+    FeatureSet restoredFeatureSet = getFeatureSet();
+    setFeatureSet(options.getLanguageIn().toFeatureSet());
+    for (SourceFile file : editedSources) {
+      JsAst ast = new JsAst(file);
+      CompilerInput originalInput = getInput(ast.getInputId());
+      Node originalRoot = checkNotNull(originalInput.getAstRoot(this));
+      replaceIncrementalSourceAst(ast);
+      getInput(ast.getInputId()).setJsModuleType(originalInput.getJsModuleType());
+      Node js = checkNotNull(ast.getAstRoot(this));
+      scriptNodeByFilename.put(file.getName(), js);
+
+      runHotSwap(originalRoot, js, getCleanupPassConfig());
+      runHotSwap(originalRoot, js, ensureDefaultPassConfig());
+    }
+    setFeatureSet(restoredFeatureSet);
+    // Type information is not reliable for hotswap runs.
+    this.typeCheckingHasRun = false;
+
+    for (PassFactory check : ensureDefaultPassConfig().getChecks()) {
+      if (!CHECKS_RERUN_AFTER_EDITS.contains(check.getName())) {
+        continue;
+      }
+      if (check.getName().equals(PassNames.INFER_CONSTS)) {
+        // Constants are only ever marked, so marks that the edits invalidated must go first.
+        NodeUtil.visitPreOrder(
+            externAndJsRoot,
+            (Node n) -> {
+              if (n.isName()) {
+                n.setInferredConstantVar(false);
+              }
+            });
+      }
+      check.create(this).process(externsRoot, jsRoot);
+    }
+  }
+
   /** Returns the module type for the provided namespace. */
   @Override
   @Nullable
@@ -30,11 +30,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /** Run the compiler in a separate thread with a larger stack */
-class CompilerExecutor {
+public class CompilerExecutor {
   // We use many recursive algorithms that use O(d) memory in the depth
   // of the tree.
   // Also, (de)serialization between phases can involve a lot of recursion.
-  static final long COMPILER_STACK_SIZE = (1 << 26); // About 64MB
+  public static final long COMPILER_STACK_SIZE = (1 << 26); // About 64MB
 
   /**
    * Use a dedicated compiler thread per Compiler instance.
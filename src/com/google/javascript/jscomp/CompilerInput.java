@@ -26,6 +26,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.deps.DependencyInfo;
+import com.google.javascript.jscomp.deps.DependencyInfoCache;
 import com.google.javascript.jscomp.deps.JsFileRegexParser;
 import com.google.javascript.jscomp.deps.ModuleLoader;
 import com.google.javascript.jscomp.deps.ModuleLoader.ModulePath;
@@ -288,6 +289,44 @@ public class CompilerInput extends DependencyInfo.Base implements SourceAst {
     return dependencyInfo;
   }
 
+  /**
+   * Scans {@code code} for provides and requires, consulting the configured {@link
+   * DependencyInfoCache}. Load flags are not cached, since the compiler parses the file anyway.
+   */
+  private DependencyInfo scanDependencyInfo(String code) {
+    DependencyInfoCache cache = compiler.getOptions().getDependencyInfoCache();
+    if (cache == null) {
+      return newRegexParser(compiler.getErrorManager()).parseFile(getName(), getName(), code);
+    }
+    String key = "input\n" + getName();
+    DependencyInfo info = cache.get(key, code);
+    if (info != null) {
+      return info;
+    }
+    // Hits have no diagnostics to replay, so scan into a buffer to tell whether this one does.
+    ErrorManager diagnostics = new SortingErrorManager(ImmutableSet.of());
+    info = newRegexParser(diagnostics).parseFile(getName(), getName(), code);
+    for (JSError error : diagnostics.getErrors()) {
+      compiler.getErrorManager().report(CheckLevel.ERROR, error);
+    }
+    for (JSError warning : diagnostics.getWarnings()) {
+      compiler.getErrorManager().report(CheckLevel.WARNING, warning);
+    }
+    // ES6 module names depend on the module roots, which the cache key does not cover.
+    if (diagnostics.getErrorCount() == 0
+        && diagnostics.getWarningCount() == 0
+        && !"es6".equals(info.getLoadFlags().get("module"))) {
+      cache.put(key, code, info);
+    }
+    return info;
+  }
+
+  private JsFileRegexParser newRegexParser(ErrorManager errorManager) {
+    return new JsFileRegexParser(errorManager)
+        .setModuleLoader(compiler.getModuleLoader())
+        .setIncludeGoogBase(true);
+  }
+
   /**
    * Generates the DependencyInfo by scanning and/or parsing the file.
    * This is called lazily by getDependencyInfo, and does not take into
@@ -308,11 +347,13 @@ public class CompilerInput extends DependencyInfo.Base implements SourceAst {
       // this to generate deps files. (We're only using it for
       // symbol dependencies.)
       try {
-        DependencyInfo info =
-            new JsFileRegexParser(compiler.getErrorManager())
-                .setModuleLoader(compiler.getModuleLoader())
-                .setIncludeGoogBase(true)
-                .parseFile(getName(), getName(), getCode());
+        SourceFile file = getSourceFile();
+        boolean hadSourceInMemory = file.hasSourceInMemory();
+        DependencyInfo info = scanDependencyInfo(getCode());
+        // Don't pin text that the parser will decode again anyway.
+        if (!hadSourceInMemory && file.isCheapToReload()) {
+          file.clearCachedSource();
+        }
         return new LazyParsedDependencyInfo(info, (JsAst) ast, compiler);
       } catch (IOException e) {
         compiler.getErrorManager().report(CheckLevel.ERROR,
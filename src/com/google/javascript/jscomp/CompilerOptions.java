@@ -31,6 +31,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.primitives.Chars;
+import com.google.javascript.jscomp.deps.DependencyInfoCache;
 import com.google.javascript.jscomp.deps.ModuleLoader;
 import com.google.javascript.jscomp.deps.ModuleLoader.ResolutionMode;
 import com.google.javascript.jscomp.parsing.Config;
@@ -396,9 +397,9 @@ public class CompilerOptions implements Serializable {
   /**
    * Sets the level of parallelism for compilation passes that can exploit multi-threading.
    *
-   * <p>Some compiler passes may take advantage of multi-threading, for example, parsing inputs.
-   * This sets the level of parallelism. The compiler will not start more than this number of
-   * threads.
+   * <p>Some compiler passes may take advantage of multi-threading, for example, parsing inputs,
+   * building control flow graphs for type inference and printing the output. This sets the level
+   * of parallelism. The compiler will not start more than this number of threads.
    *
    * @param parallelism up to this number of parallel threads may be created.
    */
@@ -999,6 +1000,20 @@ public class CompilerOptions implements Serializable {
     tracerOutput = out;
   }
 
+  private Path traceEventsOutput;
+
+  Path getTraceEventsOutput() {
+    return traceEventsOutput;
+  }
+
+  /**
+   * Writes a timeline of the compiler passes to {@code out} in the Chrome trace event format, if
+   * the tracer mode is on.
+   */
+  public void setTraceEventsOutput(Path out) {
+    traceEventsOutput = out;
+  }
+
   private boolean colorizeErrorOutput;
 
   public ErrorFormat errorFormat;
@@ -1170,6 +1185,30 @@ public class CompilerOptions implements Serializable {
    */
   transient ErrorHandler errorHandler;
 
+  /** Where to look up and store parsed ASTs across compilations, or null to always parse. */
+  @Nullable private transient ParsedAstCache parsedAstCache;
+
+  /** Where to look up and store dependency scans across compilations, or null to always scan. */
+  @Nullable private transient DependencyInfoCache dependencyInfoCache;
+
+  /** Whether to keep what {@link Compiler#restoreStateAndRecompileEdits} needs in saved state. */
+  private boolean incrementalRecompilation = false;
+
+  /** Whether to parse each JSDoc comment only when a pass first reads it. */
+  private boolean parseJsDocLazily = false;
+
+  /** Whether the type registry remembers subtype and equality answers across checks. */
+  private boolean cacheTypeRelations = false;
+
+  /** Whether object types remember where their inherited properties are found. */
+  private boolean cachePropertyLookups = false;
+
+  /** Whether passes share global namespaces while the AST does not change. */
+  private boolean shareGlobalNamespace = false;
+
+  /** Whether OptimizeCalls passes share an index of references that is updated incrementally. */
+  private boolean shareOptimizeCallsReferences = false;
+
   private InstrumentOption instrumentForCoverageOption;
 
   private String productionInstrumentationArrayName;
@@ -2094,6 +2133,111 @@ public class CompilerOptions implements Serializable {
     return preserveDetailedSourceInfo;
   }
 
+  /**
+   * Sets a cache of parsed ASTs shared with other compilations. Inputs whose text and parser
+   * configuration match a cached entry are not reparsed.
+   */
+  public void setParsedAstCache(@Nullable ParsedAstCache parsedAstCache) {
+    this.parsedAstCache = parsedAstCache;
+  }
+
+  @Nullable
+  ParsedAstCache getParsedAstCache() {
+    return parsedAstCache;
+  }
+
+  /**
+   * Sets where to look up the provides and requires of unchanged inputs, instead of scanning them
+   * again, and where to store those of changed inputs.
+   */
+  public void setDependencyInfoCache(@Nullable DependencyInfoCache dependencyInfoCache) {
+    this.dependencyInfoCache = dependencyInfoCache;
+  }
+
+  @Nullable
+  DependencyInfoCache getDependencyInfoCache() {
+    return dependencyInfoCache;
+  }
+
+  /**
+   * Sets whether to remember the text of every input as it is parsed, so that a state saved after
+   * checks can later be resumed by {@link Compiler#restoreStateAndRecompileEdits}, rechecking only
+   * the files edited since.
+   */
+  public void setIncrementalRecompilation(boolean incrementalRecompilation) {
+    this.incrementalRecompilation = incrementalRecompilation;
+  }
+
+  boolean getIncrementalRecompilation() {
+    return incrementalRecompilation;
+  }
+
+  /**
+   * Sets whether to parse each JSDoc comment only when a pass first reads it, which saves parsing
+   * the many comments that no pass ever looks at. Comments parsed this way report no parse
+   * warnings, so this is best left off for builds that check JSDoc.
+   */
+  public void setParseJsDocLazily(boolean parseJsDocLazily) {
+    this.parseJsDocLazily = parseJsDocLazily;
+  }
+
+  boolean getParseJsDocLazily() {
+    return parseJsDocLazily;
+  }
+
+  /**
+   * Sets whether the type registry remembers the answers to subtype and equality questions between
+   * object types, which type-based passes ask over and over. The memo is bounded and is forgotten
+   * whenever a type changes.
+   */
+  public void setCacheTypeRelations(boolean cacheTypeRelations) {
+    this.cacheTypeRelations = cacheTypeRelations;
+  }
+
+  boolean getCacheTypeRelations() {
+    return cacheTypeRelations;
+  }
+
+  /**
+   * Sets whether each object type remembers where the properties it inherits are found, instead of
+   * walking its prototype chain on every lookup. This trades memory for the time type checking
+   * spends looking up properties.
+   */
+  public void setCachePropertyLookups(boolean cachePropertyLookups) {
+    this.cachePropertyLookups = cachePropertyLookups;
+  }
+
+  boolean getCachePropertyLookups() {
+    return cachePropertyLookups;
+  }
+
+  /**
+   * Sets whether passes that analyze the global namespace share one, instead of each building
+   * their own, for as long as the AST does not change. In {@link DevMode#EVERY_PASS}, each shared
+   * namespace is checked against a fresh one.
+   */
+  public void setShareGlobalNamespace(boolean shareGlobalNamespace) {
+    this.shareGlobalNamespace = shareGlobalNamespace;
+  }
+
+  boolean getShareGlobalNamespace() {
+    return shareGlobalNamespace;
+  }
+
+  /**
+   * Sets whether the passes that optimize calls find their references in an index that is shared
+   * between them and only revisits the scopes that changed since it was last used, rather than
+   * traversing the whole program each time. In {@link DevMode#EVERY_PASS}, the references found in
+   * the index are checked against a full traversal.
+   */
+  public void setShareOptimizeCallsReferences(boolean shareOptimizeCallsReferences) {
+    this.shareOptimizeCallsReferences = shareOptimizeCallsReferences;
+  }
+
+  boolean getShareOptimizeCallsReferences() {
+    return shareOptimizeCallsReferences;
+  }
+
   public void setPreserveNonJSDocComments(boolean preserveNonJSDocComments) {
     this.preserveNonJSDocComments = preserveNonJSDocComments;
   }
@@ -2896,6 +3040,8 @@ public class CompilerOptions implements Serializable {
         .add("assumeStrictThis", assumeStrictThis())
         .add("browserResolverPrefixReplacements", browserResolverPrefixReplacements)
         .add("brokenClosureRequiresLevel", brokenClosureRequiresLevel)
+        .add("cachePropertyLookups", cachePropertyLookups)
+        .add("cacheTypeRelations", cacheTypeRelations)
         .add("checkDeterminism", getCheckDeterminism())
         .add("checkGlobalNamesLevel", checkGlobalNamesLevel)
         .add("checksOnly", checksOnly)
@@ -2952,6 +3098,7 @@ public class CompilerOptions implements Serializable {
         .add("idGenerators", idGenerators)
         .add("idGeneratorsMapSerialized", idGeneratorsMapSerialized)
         .add("incrementalCheckMode", incrementalCheckMode)
+        .add("incrementalRecompilation", incrementalRecompilation)
         .add("inferConsts", inferConsts)
         .add("inferTypes", inferTypes)
         .add("inlineConstantVars", inlineConstantVars)
@@ -2996,6 +3143,7 @@ public class CompilerOptions implements Serializable {
             "parentChunkCanSeeSymbolsDeclaredInChildren",
             parentChunkCanSeeSymbolsDeclaredInChildren)
         .add("parseJsDocDocumentation", isParseJsDocDocumentation())
+        .add("parseJsDocLazily", parseJsDocLazily)
         .add("pathEscaper", pathEscaper)
         .add("polymerVersion", polymerVersion)
         .add("polymerExportPolicy", polymerExportPolicy)
@@ -3042,6 +3190,8 @@ public class CompilerOptions implements Serializable {
         .add("runtimeTypeCheckLogFunction", runtimeTypeCheckLogFunction)
         .add("runtimeTypeCheck", runtimeTypeCheck)
         .add("rewriteModulesBeforeTypechecking", rewriteModulesBeforeTypechecking)
+        .add("shareGlobalNamespace", shareGlobalNamespace)
+        .add("shareOptimizeCallsReferences", shareOptimizeCallsReferences)
         .add("skipNonTranspilationPasses", skipNonTranspilationPasses)
         .add("smartNameRemoval", smartNameRemoval)
         .add("sourceMapDetailLevel", sourceMapDetailLevel)
@@ -29,14 +29,15 @@ import com.google.javascript.jscomp.graph.LatticeElement;
 import com.google.javascript.jscomp.parsing.parser.util.format.SimpleFormat;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 
 /**
  * A framework to help writing static program analysis. A subclass of
@@ -89,7 +90,7 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
 
   private final ControlFlowGraph<N> cfg;
   final JoinOp<L> joinOp;
-  protected final Set<DiGraphNode<N, Branch>> orderedWorkSet;
+  private int stepCount;
 
   /*
    * Feel free to increase this to a reasonable number if you are finding that
@@ -123,12 +124,6 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
   DataFlowAnalysis(ControlFlowGraph<N> targetCfg, JoinOp<L> joinOp) {
     this.cfg = targetCfg;
     this.joinOp = joinOp;
-    Comparator<DiGraphNode<N, Branch>> nodeComparator = cfg.getOptionalNodeComparator(isForward());
-    if (nodeComparator != null) {
-      this.orderedWorkSet = new TreeSet<>(nodeComparator);
-    } else {
-      this.orderedWorkSet = new LinkedHashSet<>();
-    }
   }
 
   /**
@@ -141,6 +136,14 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     return cfg;
   }
 
+  /**
+   * Returns the number of nodes the last call to {@link #analyze} flowed through, for {@link
+   * AbstractCompiler#recordDataFlowSteps}.
+   */
+  final int getStepCount() {
+    return stepCount;
+  }
+
   protected L join(L latticeA, L latticeB) {
     return joinOp.apply(ImmutableList.of(latticeA, latticeB));
   }
@@ -191,29 +194,27 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
    */
   final void analyze(int maxSteps) {
     initialize();
+    WorkQueue<N> workQueue = new WorkQueue<>(cfg, isForward());
     int step = 0;
-    while (!orderedWorkSet.isEmpty()) {
+    while (!workQueue.isEmpty()) {
       if (step > maxSteps) {
+        stepCount = step;
         throw new MaxIterationsExceededException(
             "Analysis did not terminate after " + maxSteps + " iterations");
       }
-      DiGraphNode<N, Branch> curNode = orderedWorkSet.iterator().next();
-      orderedWorkSet.remove(curNode);
+      int curId = workQueue.poll();
+      DiGraphNode<N, Branch> curNode = workQueue.getNode(curId);
       joinInputs(curNode);
       if (flow(curNode)) {
         // If there is a change in the current node, we want to grab the list
         // of nodes that this node affects.
-        List<? extends DiGraphNode<N, Branch>> nextNodes =
-            isForward() ? cfg.getDirectedSuccNodes(curNode) : cfg.getDirectedPredNodes(curNode);
-
-        for (DiGraphNode<N, Branch> nextNode : nextNodes) {
-          if (nextNode != cfg.getImplicitReturn()) {
-            orderedWorkSet.add(nextNode);
-          }
+        for (int nextId : workQueue.getDependents(curId)) {
+          workQueue.add(nextId);
         }
       }
       step++;
     }
+    stepCount = step;
     if (isForward()) {
       joinInputs(getCfg().getImplicitReturn());
     }
@@ -234,19 +235,12 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
   abstract L createEntryLattice();
 
   /**
-   * Initializes the work list and the control flow graph.
+   * Initializes the flow states of the control flow graph.
    */
   protected void initialize() {
-    // TODO(user): Calling clear doesn't deallocate the memory in a
-    // LinkedHashSet. Consider creating a new work set if we plan to repeatedly
-    // call analyze.
-    orderedWorkSet.clear();
     for (DiGraphNode<N, Branch> node : cfg.getNodes()) {
       node.setAnnotation(new FlowState<>(createInitialEstimateLattice(),
           createInitialEstimateLattice()));
-      if (node != cfg.getImplicitReturn()) {
-        orderedWorkSet.add(node);
-      }
     }
   }
 
@@ -375,6 +369,143 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     }
   }
 
+  /**
+   * The nodes that still have to flow, without duplicates.
+   *
+   * <p>Nodes are numbered once per analysis, and the nodes each one affects are looked up once, so
+   * the loop in {@link #analyze(int)} works on ints only. The queue is a binary heap of longs that
+   * hold a priority in the upper half and a node id in the lower half.
+   *
+   * <p>If the graph has a node comparator, ids are assigned in comparator order and double as
+   * priorities, so nodes flow in the graph's preferred order, e.g. reverse post-order. Otherwise
+   * priorities are insertion counts, so nodes flow first-in first-out.
+   */
+  private static final class WorkQueue<N> {
+    private static final int[] NO_DEPENDENTS = new int[0];
+
+    private final DiGraphNode<N, Branch>[] nodes;
+    private final int[][] dependents;
+    private final boolean ordered;
+    private final BitSet queued;
+    private long[] heap;
+    private int size = 0;
+    private long insertions = 0;
+
+    @SuppressWarnings("unchecked")
+    WorkQueue(ControlFlowGraph<N> cfg, boolean isForward) {
+      DiGraphNode<N, Branch> implicitReturn = cfg.getImplicitReturn();
+      Collection<? extends DiGraphNode<N, Branch>> cfgNodes = cfg.getNodes();
+      this.nodes = new DiGraphNode[cfgNodes.size()];
+      int queueable = 0;
+      for (DiGraphNode<N, Branch> node : cfgNodes) {
+        if (node != implicitReturn) {
+          nodes[queueable++] = node;
+        }
+      }
+      Comparator<DiGraphNode<N, Branch>> comparator = cfg.getOptionalNodeComparator(isForward);
+      this.ordered = comparator != null;
+      if (ordered) {
+        // The implicit return is never queued, and the comparator need not accept it.
+        Arrays.sort(nodes, 0, queueable, comparator);
+      }
+      if (queueable < nodes.length) {
+        nodes[queueable] = implicitReturn;
+      }
+
+      Map<DiGraphNode<N, Branch>, Integer> ids = new HashMap<>();
+      for (int i = 0; i < nodes.length; i++) {
+        ids.put(nodes[i], i);
+      }
+      this.dependents = new int[nodes.length][];
+      for (int i = 0; i < nodes.length; i++) {
+        List<? extends DiGraphNode<N, Branch>> affected =
+            isForward ? cfg.getDirectedSuccNodes(nodes[i]) : cfg.getDirectedPredNodes(nodes[i]);
+        int[] affectedIds = NO_DEPENDENTS;
+        if (!affected.isEmpty()) {
+          affectedIds = new int[affected.size()];
+          int count = 0;
+          for (DiGraphNode<N, Branch> node : affected) {
+            if (node != implicitReturn) {
+              affectedIds[count++] = ids.get(node);
+            }
+          }
+          if (count < affectedIds.length) {
+            affectedIds = Arrays.copyOf(affectedIds, count);
+          }
+        }
+        dependents[i] = affectedIds;
+      }
+
+      this.queued = new BitSet(nodes.length);
+      this.heap = new long[Math.max(nodes.length, 1)];
+      for (int i = 0; i < nodes.length; i++) {
+        if (nodes[i] != implicitReturn) {
+          add(i);
+        }
+      }
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    DiGraphNode<N, Branch> getNode(int id) {
+      return nodes[id];
+    }
+
+    int[] getDependents(int id) {
+      return dependents[id];
+    }
+
+    /** Adds the node with the given id, unless it is already queued. */
+    void add(int id) {
+      if (queued.get(id)) {
+        return;
+      }
+      queued.set(id);
+      long priority = ordered ? id : insertions++;
+      if (size == heap.length) {
+        heap = Arrays.copyOf(heap, size * 2);
+      }
+      // Sift up.
+      long entry = (priority << 32) | id;
+      int i = size++;
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (heap[parent] <= entry) {
+          break;
+        }
+        heap[i] = heap[parent];
+        i = parent;
+      }
+      heap[i] = entry;
+    }
+
+    /** Removes and returns the id of the queued node with the lowest priority. */
+    int poll() {
+      checkState(size > 0);
+      int id = (int) heap[0];
+      queued.clear(id);
+      long last = heap[--size];
+      // Sift down.
+      int i = 0;
+      int half = size >>> 1;
+      while (i < half) {
+        int child = 2 * i + 1;
+        if (child + 1 < size && heap[child + 1] < heap[child]) {
+          child++;
+        }
+        if (last <= heap[child]) {
+          break;
+        }
+        heap[i] = heap[child];
+        i = child;
+      }
+      heap[i] = last;
+      return id;
+    }
+  }
+
   /**
    * The exception to be thrown if the analysis has been running for a long
    * number of iterations. Chances are the analysis is not monotonic, a
@@ -392,7 +523,6 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
 
     @Override
     protected void initialize() {
-      orderedWorkSet.clear();
       for (DiGraphNode<N, Branch> node : getCfg().getNodes()) {
         int outEdgeCount = getCfg().getOutEdges(node.getValue()).size();
         List<L> outLattices = new ArrayList<>();
@@ -401,9 +531,6 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
         }
         node.setAnnotation(new BranchedFlowState<>(
             createInitialEstimateLattice(), outLattices));
-        if (node != getCfg().getImplicitReturn()) {
-          orderedWorkSet.add(node);
-        }
       }
     }
 
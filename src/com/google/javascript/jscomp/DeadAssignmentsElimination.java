@@ -124,6 +124,7 @@ class DeadAssignmentsElimination extends AbstractScopedCallback implements Compi
         new LiveVariablesAnalysis(
             cfg, functionScope, blockScope, compiler, new SyntacticScopeCreator(compiler));
     liveness.analyze();
+    compiler.recordDataFlowSteps(liveness.getStepCount());
     Map<String, Var> allVarsInFn = liveness.getAllVariables();
     tryRemoveDeadAssignments(t, cfg, allVarsInFn);
   }
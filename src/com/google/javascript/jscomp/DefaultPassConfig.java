@@ -247,7 +247,7 @@ public final class DefaultPassConfig extends PassConfig {
 
     checks.add(gatherGettersAndSetters);
 
-    checks.add(createEmptyPass("beforeStandardChecks"));
+    checks.add(createEmptyPass(PassNames.BEFORE_STANDARD_CHECKS));
 
     if (!options.processCommonJSModules
         && options.getLanguageIn().toFeatureSet().has(FeatureSet.Feature.MODULES)) {
@@ -980,7 +980,7 @@ public final class DefaultPassConfig extends PassConfig {
   /** Set feature set of compiler to only features used in the externs and sources */
   private final PassFactory syncCompilerFeatures =
       PassFactory.builder()
-          .setName("syncCompilerFeatures")
+          .setName(PassNames.SYNC_COMPILER_FEATURES)
           .setInternalFactory(SyncCompilerFeatures::new)
           // This pass just records which features actually appear in the input code.
           // It needs to work no matter what those features are.
@@ -1425,14 +1425,14 @@ public final class DefaultPassConfig extends PassConfig {
 
   private final PassFactory injectRuntimeLibraries =
       PassFactory.builder()
-          .setName("InjectRuntimeLibraries")
+          .setName(PassNames.INJECT_RUNTIME_LIBRARIES)
           .setInternalFactory(InjectRuntimeLibraries::new)
           .setFeatureSetForChecks()
           .build();
 
   private final PassFactory markUntranspilableFeaturesAsRemoved =
       PassFactory.builder()
-          .setName("markUntranspilableFeaturesAsRemoved")
+          .setName(PassNames.MARK_UNTRANSPILABLE_FEATURES_AS_REMOVED)
           .setInternalFactory(
               (compiler) ->
                   new MarkUntranspilableFeaturesAsRemoved(compiler, options.getOutputFeatureSet()))
@@ -1477,7 +1477,7 @@ public final class DefaultPassConfig extends PassConfig {
 
   private final PassFactory checkTypeImportCodeReferences =
       PassFactory.builder()
-          .setName("checkTypeImportCodeReferences")
+          .setName(PassNames.CHECK_TYPE_IMPORT_CODE_REFERENCES)
           .setInternalFactory(CheckTypeImportCodeReferences::new)
           .setFeatureSetForChecks()
           .build();
@@ -1546,7 +1546,7 @@ public final class DefaultPassConfig extends PassConfig {
    */
   private final PassFactory closureReplaceGetCssName =
       PassFactory.builder()
-          .setName("closureReplaceGetCssName")
+          .setName(PassNames.CLOSURE_REPLACE_GET_CSS_NAME)
           .setInternalFactory(
               (compiler) ->
                   new CompilerPass() {
@@ -1739,7 +1739,7 @@ public final class DefaultPassConfig extends PassConfig {
   /** Clears the typed scope creator and all local typed scopes. */
   private final PassFactory clearTypedScopeCreatorPass =
       PassFactory.builder()
-          .setName("clearTypedScopeCreatorPass")
+          .setName(PassNames.CLEAR_TYPED_SCOPE_CREATOR)
           .setInternalFactory((compiler) -> new ClearTypedScopeCreator())
           .setFeatureSetForChecks()
           .build();
@@ -1747,7 +1747,7 @@ public final class DefaultPassConfig extends PassConfig {
   /** Clears the top typed scope when we're done with it. */
   private final PassFactory clearTopTypedScopePass =
       PassFactory.builder()
-          .setName("clearTopTypedScopePass")
+          .setName(PassNames.CLEAR_TOP_TYPED_SCOPE)
           .setInternalFactory((compiler) -> new ClearTopTypedScope())
           .setFeatureSetForChecks()
           .build();
@@ -1970,7 +1970,7 @@ public final class DefaultPassConfig extends PassConfig {
                       // Create a global namespace for analysis by check passes.
                       // Note that this class does all heavy computation lazily,
                       // so it's OK to create it here.
-                      namespaceForChecks = new GlobalNamespace(compiler, externs, jsRoot);
+                      namespaceForChecks = compiler.getGlobalNamespaceIndex().get(externs, jsRoot);
                       new CheckGlobalNames(compiler, options.checkGlobalNamesLevel)
                           .injectNamespace(namespaceForChecks)
                           .process(externs, jsRoot);
@@ -1982,7 +1982,7 @@ public final class DefaultPassConfig extends PassConfig {
   /** Checks that the code is ES5 strict compliant. */
   private final PassFactory checkStrictMode =
       PassFactory.builder()
-          .setName("checkStrictMode")
+          .setName(PassNames.CHECK_STRICT_MODE)
           .setInternalFactory(
               (compiler) -> {
                 CheckLevel defaultLevel =
@@ -2071,6 +2071,7 @@ public final class DefaultPassConfig extends PassConfig {
                       // Kill the global namespace so that it can be garbage collected
                       // after all passes are through with it.
                       namespaceForChecks = null;
+                      compiler.getGlobalNamespaceIndex().clear();
                     }
 
                     @Override
@@ -2084,7 +2085,7 @@ public final class DefaultPassConfig extends PassConfig {
   /** Checks that all constants are not modified */
   private final PassFactory checkConsts =
       PassFactory.builder()
-          .setName("checkConsts")
+          .setName(PassNames.CHECK_CONSTS)
           .setInternalFactory(
               (compiler) -> new ConstCheck(compiler, compiler.getModuleMetadataMap()))
           .setFeatureSetForChecks()
@@ -2236,7 +2237,9 @@ public final class DefaultPassConfig extends PassConfig {
           .setInternalFactory(
               (compiler) ->
                   new DisambiguateProperties2(
-                      compiler, ImmutableMap.copyOf(options.propertyInvalidationErrors)))
+                      compiler,
+                      ImmutableMap.copyOf(options.propertyInvalidationErrors),
+                      options.numParallelThreads))
           .setFeatureSetForOptimizations()
           .build();
 
@@ -2915,7 +2918,7 @@ public final class DefaultPassConfig extends PassConfig {
           .build();
 
   private final PassFactory rewriteScriptsToEs6Modules =
-      PassFactory.builder()
+      PassFactory.builderForHotSwap()
           .setName(PassNames.REWRITE_SCRIPTS_TO_ES6_MODULES)
           .setInternalFactory(Es6RewriteScriptsToModules::new)
           .setFeatureSetForChecks()
@@ -2953,7 +2956,7 @@ public final class DefaultPassConfig extends PassConfig {
   // this pass is just adding script without looking at the AST so it should accept all features
   private final PassFactory addSyntheticScript =
       PassFactory.builder()
-          .setName("ADD_SYNTHETIC_SCRIPT")
+          .setName(PassNames.ADD_SYNTHETIC_SCRIPT)
           .setFeatureSet(FeatureSet.all())
           .setInternalFactory(
               (compiler) -> (externs, js) -> compiler.initializeSyntheticCodeInput())
@@ -2961,14 +2964,14 @@ public final class DefaultPassConfig extends PassConfig {
 
   private final PassFactory removeSyntheticScript =
       PassFactory.builder()
-          .setName("REMOVE_SYNTHETIC_SCRIPT")
+          .setName(PassNames.REMOVE_SYNTHETIC_SCRIPT)
           .setFeatureSet(FeatureSet.all())
           .setInternalFactory((compiler) -> (externs, js) -> compiler.removeSyntheticCodeInput())
           .build();
 
   private final PassFactory mergeSyntheticScript =
       PassFactory.builder()
-          .setName("MERGE_SYNTHETIC_SCRIPT")
+          .setName(PassNames.MERGE_SYNTHETIC_SCRIPT)
           .setFeatureSet(FeatureSet.all())
           .setInternalFactory((compiler) -> (externs, js) -> compiler.mergeSyntheticCodeInput())
           .build();
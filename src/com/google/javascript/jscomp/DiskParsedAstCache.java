@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+
+import com.google.common.annotations.GwtIncompatible;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.javascript.jscomp.parsing.Config;
+import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.jscomp.parsing.parser.util.LineOffsets;
+import com.google.javascript.rhino.JSDocInfo;
+import com.google.javascript.rhino.JSTypeExpression;
+import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ParsedAstCache} that keeps one file per entry in a directory, so that it can be shared
+ * between compiler processes.
+ *
+ * <p>File names are the SHA-256 of the source file's name and text, the parser configuration, the
+ * cache format and the serialized form of trees, so a changed file, flag or compiler simply
+ * misses. Nothing is ever evicted; clearing the directory is always safe.
+ */
+@GwtIncompatible("java.nio.file")
+public final class DiskParsedAstCache implements ParsedAstCache {
+
+  private static final Logger logger = Logger.getLogger(DiskParsedAstCache.class.getName());
+
+  /** Bump whenever the layout of an entry changes. */
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * The serialized form of the classes in an entry, standing in for the compiler version. Their
+   * serialVersionUIDs are never bumped, so the fields they serialize are listed instead, along with
+   * the constants of enums like Token that are serialized by ordinal. Entries written by a compiler
+   * whose trees serialize differently then miss rather than fail or, worse, read back wrong.
+   */
+  private static final String SERIALIZED_FORM =
+      serializedFormOf(
+          Token.class,
+          Node.class,
+          JSDocInfo.class,
+          JSTypeExpression.class,
+          FeatureSet.class,
+          LineOffsets.class);
+
+  /**
+   * Node (de)serialization keeps its in-progress state in a static field, so no two threads may
+   * read or write trees at the same time.
+   */
+  private static final Object SERIALIZATION_LOCK = new Object();
+
+  private final Path directory;
+
+  public DiskParsedAstCache(Path directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  @Nullable
+  public CachedAst get(SourceFile file, String code, Config config) {
+    Path entry = entryPath(file, code, config);
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(entry);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Unable to read parsed AST cache entry " + entry, e);
+      return null;
+    }
+    try {
+      return readEntry(new ByteArrayInputStream(bytes), file);
+    } catch (IOException | ClassNotFoundException | RuntimeException e) {
+      // A truncated or stale entry is just a miss; the fresh parse will overwrite it.
+      logger.log(Level.WARNING, "Ignoring unreadable parsed AST cache entry " + entry, e);
+      return null;
+    }
+  }
+
+  @Override
+  public void put(SourceFile file, String code, Config config, CachedAst ast) {
+    Path entry = entryPath(file, code, config);
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      writeEntry(bytes, file, ast);
+      Files.createDirectories(directory);
+      // Write under a unique name and then rename, so concurrent compiles never see a partial
+      // entry.
+      Path temp = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+      try {
+        Files.write(temp, bytes.toByteArray());
+        Files.move(
+            temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Unable to write parsed AST cache entry " + entry, e);
+    }
+  }
+
+  private Path entryPath(SourceFile file, String code, Config config) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putInt(FORMAT_VERSION);
+    hasher.putString(SERIALIZED_FORM, UTF_8);
+    hasher.putString(config.toString(), UTF_8);
+    // The tree records its file name in places, such as JSTypeExpression, that are not rewritten
+    // on read, so files with identical contents do not share entries.
+    hasher.putString(file.getName(), UTF_8);
+    hasher.putString(code, UTF_8);
+    return directory.resolve(hasher.hash() + ".ast");
+  }
+
+  private static String serializedFormOf(Class<?>... classes) {
+    StringBuilder form = new StringBuilder();
+    for (Class<?> c : classes) {
+      appendSerializedForm(form, c);
+    }
+    return form.toString();
+  }
+
+  private static void appendSerializedForm(StringBuilder form, Class<?> c) {
+    form.append(c.getName());
+    if (c.isEnum()) {
+      form.append(Arrays.toString(c.getEnumConstants()));
+    } else if (Serializable.class.isAssignableFrom(c)) {
+      for (ObjectStreamField field : ObjectStreamClass.lookup(c).getFields()) {
+        form.append(' ').append(field.getType().getName()).append(' ').append(field.getName());
+      }
+    }
+    form.append('\n');
+    // Nested classes include the node subclasses and the property enums. They come in no
+    // particular order.
+    Class<?>[] nestedClasses = c.getDeclaredClasses();
+    Arrays.sort(nestedClasses, comparing(Class::getName));
+    for (Class<?> nested : nestedClasses) {
+      appendSerializedForm(form, nested);
+    }
+  }
+
+  private static void writeEntry(OutputStream out, SourceFile file, CachedAst ast)
+      throws IOException {
+    ObjectOutputStream objectOut =
+        new SourceFileReplacingOutputStream(new BufferedOutputStream(out), file);
+    synchronized (SERIALIZATION_LOCK) {
+      objectOut.writeObject(ast.getFeatures());
+      objectOut.writeObject(ast.getSourceMapURL());
+      objectOut.writeObject(ast.getLineOffsets());
+      objectOut.writeObject(ast.getRoot());
+    }
+    objectOut.flush();
+  }
+
+  private static CachedAst readEntry(InputStream in, SourceFile file)
+      throws IOException, ClassNotFoundException {
+    ObjectInputStream objectIn =
+        new SourceFileResolvingInputStream(new BufferedInputStream(in), file);
+    synchronized (SERIALIZATION_LOCK) {
+      FeatureSet features = (FeatureSet) objectIn.readObject();
+      String sourceMapURL = (String) objectIn.readObject();
+      LineOffsets lineOffsets = (LineOffsets) objectIn.readObject();
+      Node root = (Node) objectIn.readObject();
+      return new CachedAst(root, features, sourceMapURL, lineOffsets);
+    }
+  }
+
+  /**
+   * Stands in for the {@link SourceFile} being parsed, which every node references. Entries are
+   * read back by a later compile, with a new SourceFile for the same file, so the file is
+   * reattached on read.
+   */
+  private enum CurrentSourceFile implements Serializable {
+    INSTANCE
+  }
+
+  private static final class SourceFileReplacingOutputStream extends ObjectOutputStream {
+    private final SourceFile file;
+
+    SourceFileReplacingOutputStream(OutputStream out, SourceFile file) throws IOException {
+      super(out);
+      this.file = file;
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(Object obj) {
+      return obj == file ? CurrentSourceFile.INSTANCE : obj;
+    }
+  }
+
+  private static final class SourceFileResolvingInputStream extends ObjectInputStream {
+    private final SourceFile file;
+
+    SourceFileResolvingInputStream(InputStream in, SourceFile file) throws IOException {
+      super(in);
+      this.file = file;
+      enableResolveObject(true);
+    }
+
+    @Override
+    protected Object resolveObject(Object obj) {
+      return obj == CurrentSourceFile.INSTANCE ? file : obj;
+    }
+  }
+}
@@ -86,7 +86,8 @@ public final class Es6RewriteClass implements NodeTraversal.Callback, HotSwapCom
     // have an invalid AST state between passes.
     // TODO(bradfordcsmith): It would probably be more readable and efficient to merge the super
     //     constructor rewriting logic into this class.
-    convertSuperConstructorCalls.setGlobalNamespace(new GlobalNamespace(compiler, externs, root));
+    convertSuperConstructorCalls.setGlobalNamespace(
+        compiler.getGlobalNamespaceIndex().get(externs, root));
     TranspilationPasses.processTranspile(compiler, root, features, convertSuperConstructorCalls);
     TranspilationPasses.maybeMarkFeaturesAsTranspiledAway(compiler, features);
   }
@@ -182,6 +182,7 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
 
     reachingDef = new MustBeReachingVariableDef(cfg, t.getScope(), compiler, scopeCreator);
     reachingDef.analyze();
+    compiler.recordDataFlowSteps(reachingDef.getStepCount());
     candidates = new LinkedHashSet<>();
 
     // Using the forward reaching definition search to find all the inline
@@ -190,6 +191,7 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
     // Compute the backward reaching use. The CFG can be reused.
     reachingUses = new MaybeReachingVariableUse(cfg, t.getScope(), compiler, scopeCreator);
     reachingUses.analyze();
+    compiler.recordDataFlowSteps(reachingUses.getStepCount());
     while (!candidates.isEmpty()) {
       Candidate c = candidates.iterator().next();
       if (c.canInline(t.getScope())) {
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.javascript.jscomp.CompilerOptions.DevMode;
+import com.google.javascript.jscomp.GlobalNamespace.Name;
+import com.google.javascript.jscomp.GlobalNamespace.Ref;
+import com.google.javascript.rhino.Node;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * The {@link GlobalNamespace}s of the whole program, shared by the passes that would otherwise
+ * each build one from scratch.
+ *
+ * <p>A namespace is handed out again until a change to the AST is reported to the compiler.
+ *
+ * <p>Sharing is off unless {@link CompilerOptions#setShareGlobalNamespace} is set. In {@link
+ * DevMode#EVERY_PASS}, every namespace handed out again is compared with a fresh one.
+ */
+final class GlobalNamespaceIndex implements CodeChangeHandler {
+
+  private final AbstractCompiler compiler;
+
+  // There are two flavors of namespace, with and without the names declared in externs.
+  @Nullable private Entry withExterns = null;
+  @Nullable private Entry withoutExterns = null;
+
+  GlobalNamespaceIndex(AbstractCompiler compiler) {
+    this.compiler = compiler;
+  }
+
+  @Override
+  public void reportChange() {
+    clear();
+  }
+
+  /** Forgets all namespaces. */
+  void clear() {
+    withExterns = null;
+    withoutExterns = null;
+  }
+
+  /**
+   * Returns a namespace for {@code root}, and also for {@code externsRoot} if it is non-null, like
+   * {@code new GlobalNamespace(compiler, externsRoot, root)} would.
+   */
+  GlobalNamespace get(@Nullable Node externsRoot, Node root) {
+    if (!compiler.getOptions().getShareGlobalNamespace()) {
+      return new GlobalNamespace(compiler, externsRoot, root);
+    }
+
+    Entry entry = externsRoot == null ? withoutExterns : withExterns;
+    if (entry != null && entry.externsRoot == externsRoot && entry.root == root) {
+      if (compiler.getOptions().devMode == DevMode.EVERY_PASS) {
+        validate(entry.namespace, new GlobalNamespace(compiler, externsRoot, root));
+      }
+      return entry.namespace;
+    }
+
+    GlobalNamespace namespace = new GlobalNamespace(compiler, externsRoot, root);
+    entry = new Entry(externsRoot, root, namespace);
+    if (externsRoot == null) {
+      withoutExterns = entry;
+    } else {
+      withExterns = entry;
+    }
+    return namespace;
+  }
+
+  /** Checks that a shared namespace has the same names and references as a fresh one. */
+  private static void validate(GlobalNamespace shared, GlobalNamespace fresh) {
+    Map<String, Name> sharedNames = shared.getNameIndex();
+    Map<String, Name> freshNames = fresh.getNameIndex();
+    for (Name name : sharedNames.values()) {
+      validateName(name.getFullName(), name, freshNames.get(name.getFullName()));
+    }
+    for (Name name : freshNames.values()) {
+      if (!sharedNames.containsKey(name.getFullName())) {
+        validateName(name.getFullName(), null, name);
+      }
+    }
+  }
+
+  private static void validateName(
+      String fullName, @Nullable Name sharedName, @Nullable Name freshName) {
+    ImmutableSetMultimap<Node, Ref.Type> sharedRefs = getRefs(sharedName);
+    ImmutableSetMultimap<Node, Ref.Type> freshRefs = getRefs(freshName);
+    if (!sharedRefs.equals(freshRefs)) {
+      throw new IllegalStateException(
+          "The shared global namespace is out of date for "
+              + fullName
+              + "\nShared references: "
+              + sharedRefs
+              + "\nFresh references: "
+              + freshRefs);
+    }
+  }
+
+  private static ImmutableSetMultimap<Node, Ref.Type> getRefs(@Nullable Name name) {
+    ImmutableSetMultimap.Builder<Node, Ref.Type> refs = ImmutableSetMultimap.builder();
+    if (name != null) {
+      for (Ref ref : name.getRefs()) {
+        if (ref.getNode() != null) {
+          refs.put(ref.getNode(), ref.type);
+        }
+      }
+    }
+    return refs.build();
+  }
+
+  private static final class Entry {
+    @Nullable final Node externsRoot;
+    final Node root;
+    final GlobalNamespace namespace;
+
+    Entry(@Nullable Node externsRoot, Node root, GlobalNamespace namespace) {
+      this.externsRoot = externsRoot;
+      this.root = root;
+      this.namespace = namespace;
+    }
+  }
+}
@@ -58,7 +58,7 @@ final class InlineAliases implements CompilerPass {
 
   @Override
   public void process(Node externs, Node root) {
-    namespace = new GlobalNamespace(compiler, externs, root);
+    namespace = compiler.getGlobalNamespaceIndex().get(externs, root);
     NodeTraversal.traverseRoots(compiler, new AliasesCollector(), externs, root);
     NodeTraversal.traverseRoots(compiler, new AliasesInliner(), externs, root);
   }
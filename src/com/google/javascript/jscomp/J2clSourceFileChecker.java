@@ -35,13 +35,18 @@ final class J2clSourceFileChecker implements CompilerPass {
   private static boolean hasJ2cl(Node root) {
     for (Node script : root.children()) {
       checkState(script.isScript());
-      if (script.getSourceFileName() != null && script.getSourceFileName().endsWith(".java.js")) {
+      if (script.getSourceFileName() != null && isJ2clSourceFile(script.getSourceFileName())) {
         return true;
       }
     }
     return false;
   }
 
+  /** Whether the source file of the given name was generated by J2CL. */
+  static boolean isJ2clSourceFile(String sourceFileName) {
+    return sourceFileName.endsWith(".java.js");
+  }
+
   @Override
   public void process(Node externs, Node root) {
     if (hasJ2cl(root)) {
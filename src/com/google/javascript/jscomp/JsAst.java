@@ -21,8 +21,10 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.annotations.GwtIncompatible;
 import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.parsing.Config;
 import com.google.javascript.jscomp.parsing.ParserRunner;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.jscomp.parsing.parser.util.LineOffsets;
 import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.InputId;
@@ -149,27 +151,66 @@ public class JsAst implements SourceAst {
         compiler.getDefaultErrorReporter());
 
     try {
-      ParserRunner.ParseResult result = ParserRunner.parse(
-          sourceFile,
-          sourceFile.getCode(),
-          compiler.getParserConfig(sourceFile.isExtern()
-              ? AbstractCompiler.ConfigContext.EXTERNS
-              : AbstractCompiler.ConfigContext.DEFAULT),
-          reporter);
-      root = result.ast;
-      features = result.features;
-
-      if (compiler.getOptions().preservesDetailedSourceInfo()) {
-        compiler.addComments(sourceFile.getName(), result.comments);
+      String code = sourceFile.getCode();
+      Config config =
+          compiler.getParserConfig(
+              sourceFile.isExtern()
+                  ? AbstractCompiler.ConfigContext.EXTERNS
+                  : AbstractCompiler.ConfigContext.DEFAULT);
+      // Cached entries do not carry comments, so they cannot be used when comments are kept.
+      ParsedAstCache cache =
+          compiler.getOptions().preservesDetailedSourceInfo()
+              ? null
+              : compiler.getOptions().getParsedAstCache();
+      ParsedAstCache.CachedAst cached = cache != null ? cache.get(sourceFile, code, config) : null;
+      String sourceMapURL;
+      LineOffsets lineOffsets;
+      if (cached != null) {
+        root = cached.getRoot();
+        features = cached.getFeatures();
+        sourceMapURL = cached.getSourceMapURL();
+        lineOffsets = cached.getLineOffsets();
+      } else {
+        ParserRunner.ParseResult result = ParserRunner.parse(sourceFile, code, config, reporter);
+        root = result.ast;
+        features = result.features;
+        sourceMapURL = result.sourceMapURL;
+        lineOffsets = result.lineOffsets;
+
+        if (compiler.getOptions().preservesDetailedSourceInfo()) {
+          compiler.addComments(sourceFile.getName(), result.comments);
+        }
+        // Only clean parses are cached, so a hit never has diagnostics to replay.
+        if (cache != null
+            && root != null
+            && reporter.errors.isEmpty()
+            && reporter.warnings.isEmpty()) {
+          cache.put(
+              sourceFile,
+              code,
+              config,
+              new ParsedAstCache.CachedAst(root, features, sourceMapURL, lineOffsets));
+        }
+      }
+      // The scanner already found every line, so excerpts and source maps need not rescan.
+      if (lineOffsets != null) {
+        sourceFile.setLineOffsets(lineOffsets);
       }
-      if (result.sourceMapURL != null && compiler.getOptions().resolveSourceMapAnnotations) {
+
+      if (sourceMapURL != null && compiler.getOptions().resolveSourceMapAnnotations) {
         boolean parseInline = compiler.getOptions().parseInlineSourceMaps;
         SourceFile sourceMapSourceFile =
-            SourceMapResolver.extractSourceMap(sourceFile, result.sourceMapURL, parseInline);
+            SourceMapResolver.extractSourceMap(sourceFile, sourceMapURL, parseInline);
         if (sourceMapSourceFile != null) {
           compiler.addInputSourceMap(sourceFile.getName(), new SourceMapInput(sourceMapSourceFile));
         }
       }
+
+      // Error excerpts decode the text again on demand, but embedding sources in the source map
+      // needs every file's text at the end, so keep it in that case.
+      if (sourceFile.isCheapToReload() && !compiler.getOptions().sourceMapIncludeSourcesContent) {
+        sourceFile.clearCachedSource();
+      }
     } catch (IOException e) {
       compiler.report(
           JSError.make(AbstractCompiler.READ_ERROR, sourceFile.getName(), e.getMessage()));
@@ -24,13 +24,16 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.AbstractCompiler.LifeCycleStage;
+import com.google.javascript.jscomp.CompilerOptions.DevMode;
 import com.google.javascript.jscomp.NodeTraversal.ScopedCallback;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
 /**
@@ -116,9 +119,10 @@ class OptimizeCalls implements CompilerPass {
       return;
     }
 
-    final ReferenceMap references = new ReferenceMap();
-    NodeTraversal.traverseRoots(
-        compiler, new ReferenceMapBuildingCallback(references), externs, root);
+    final ReferenceMap references =
+        compiler.getOptions().getShareOptimizeCallsReferences()
+            ? buildReferenceMapFromIndex(externs, root)
+            : buildReferenceMap(externs, root);
     eliminateAccessorsFrom(references);
 
     for (CallGraphCompilerPass pass : passes) {
@@ -126,6 +130,54 @@ class OptimizeCalls implements CompilerPass {
     }
   }
 
+  private ReferenceMap buildReferenceMap(Node externs, Node root) {
+    ReferenceMap references = new ReferenceMap();
+    NodeTraversal.traverseRoots(
+        compiler, new ReferenceMapBuildingCallback(references), externs, root);
+    return references;
+  }
+
+  /**
+   * Builds the same {@link ReferenceMap} as {@link #buildReferenceMap}, but from the shared {@link
+   * ReferenceIndex}, which only traverses the scopes that changed since it was last used.
+   */
+  private ReferenceMap buildReferenceMapFromIndex(Node externs, Node root) {
+    ReferenceIndex index = compiler.getIndex(ReferenceIndex.class);
+    if (index == null) {
+      compiler.addIndexProvider(new ReferenceIndex(compiler));
+      index = compiler.getIndex(ReferenceIndex.class);
+    }
+
+    ReferenceMap references = new ReferenceMap();
+    ReferenceMapBuildingCallback callback = new ReferenceMapBuildingCallback(references);
+    callback.setGlobalScope(
+        new SyntacticScopeCreator(compiler).createScope(externs.getParent(), null));
+    for (Node scripts : ImmutableList.of(externs, root)) {
+      for (Node script = scripts.getFirstChild(); script != null; script = script.getNext()) {
+        // Like ReferenceMapBuildingCallback#shouldTraverse.
+        if (considerExterns || !script.isFromExterns()) {
+          index.replay(script, callback::addReferences);
+        }
+      }
+    }
+
+    if (compiler.getOptions().devMode == DevMode.EVERY_PASS) {
+      validateReferences(references, buildReferenceMap(externs, root));
+    }
+    return references;
+  }
+
+  private static void validateReferences(ReferenceMap indexed, ReferenceMap traversed) {
+    if (!ImmutableList.copyOf(indexed.getNameReferences())
+            .equals(ImmutableList.copyOf(traversed.getNameReferences()))
+        || !ImmutableList.copyOf(indexed.getPropReferences())
+            .equals(ImmutableList.copyOf(traversed.getPropReferences()))) {
+      throw new IllegalStateException(
+          "The shared reference index is out of date. A pass may have changed the AST without"
+              + " reporting it.");
+    }
+  }
+
   /**
    * Delete getter and setter names from {@code references}.
    *
@@ -419,6 +471,107 @@ class OptimizeCalls implements CompilerPass {
     }
   }
 
+  /**
+   * The nodes that may be references, kept for each change scope (a script or a function) and
+   * shared by every {@link OptimizeCalls} pass.
+   *
+   * <p>Each scope keeps its nodes in the order a traversal visits them, with a nested function
+   * standing in for all of its own nodes, so replaying the index visits the same nodes, in the same
+   * order, as traversing the AST. The nodes are filtered as they are replayed, so the index does
+   * not depend on whether a pass considers externs, and the super class of a {@code super()} call
+   * is looked up again each time. When the index is requested, the scopes that changed since it was
+   * last requested are forgotten, and they are traversed again as they are replayed.
+   */
+  static final class ReferenceIndex implements IndexProvider<ReferenceIndex> {
+    private static final String PASS_NAME = "OptimizeCallsReferenceIndex";
+
+    private final AbstractCompiler compiler;
+    private final Map<Node, List<Node>> nodesByScopeRoot = new HashMap<>();
+
+    ReferenceIndex(AbstractCompiler compiler) {
+      this.compiler = compiler;
+    }
+
+    @Override
+    public ReferenceIndex get() {
+      List<Node> changed = compiler.getChangedScopeNodesForPass(PASS_NAME);
+      List<Node> deleted = compiler.getDeletedScopeNodesForPass(PASS_NAME);
+      if (changed == null) {
+        nodesByScopeRoot.clear();
+      } else {
+        nodesByScopeRoot.keySet().removeAll(changed);
+      }
+      if (deleted != null) {
+        nodesByScopeRoot.keySet().removeAll(deleted);
+      }
+      return this;
+    }
+
+    @Override
+    public Class<ReferenceIndex> getType() {
+      return ReferenceIndex.class;
+    }
+
+    /** Passes each node that may be a reference in the given script or function to visitor. */
+    void replay(Node scopeRoot, Consumer<Node> visitor) {
+      List<Node> nodes = nodesByScopeRoot.get(scopeRoot);
+      if (nodes == null) {
+        nodes = collectNodes(scopeRoot);
+        nodesByScopeRoot.put(scopeRoot, nodes);
+      }
+      for (Node n : nodes) {
+        if (n.isFunction()) {
+          replay(n, visitor);
+        } else {
+          visitor.accept(n);
+        }
+      }
+    }
+
+    private List<Node> collectNodes(Node scopeRoot) {
+      List<Node> nodes = new ArrayList<>();
+      NodeTraversal.traverse(
+          compiler,
+          scopeRoot,
+          new NodeTraversal.Callback() {
+            @Override
+            public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
+              if (n.isFunction() && n != scopeRoot) {
+                // The nodes of a nested function are kept with the function.
+                nodes.add(n);
+                return false;
+              }
+              return true;
+            }
+
+            @Override
+            public void visit(NodeTraversal t, Node n, Node parent) {
+              if (mayBeReference(n)) {
+                nodes.add(n);
+              }
+            }
+          });
+      return nodes;
+    }
+  }
+
+  /** Whether {@link ReferenceMapBuildingCallback#addReferences} may record {@code n}. */
+  private static boolean mayBeReference(Node n) {
+    switch (n.getToken()) {
+      case NAME:
+      case OPTCHAIN_GETPROP:
+      case GETPROP:
+      case STRING_KEY:
+      case GETTER_DEF:
+      case SETTER_DEF:
+      case MEMBER_FUNCTION_DEF:
+      case SUPER:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   private static Set<String> safeSet(@Nullable Set<String> set) {
     return (set != null) ? ImmutableSet.copyOf(set) : ImmutableSet.of();
   }
@@ -435,6 +588,10 @@ class OptimizeCalls implements CompilerPass {
 
     @Override
     public void visit(NodeTraversal t, Node n, Node unused) {
+      addReferences(n);
+    }
+
+    void addReferences(Node n) {
       switch (n.getToken()) {
         case NAME:
           maybeAddNameReference(n.getString(), n);
@@ -521,11 +678,15 @@ class OptimizeCalls implements CompilerPass {
     @Override
     public void enterScope(NodeTraversal t) {
       if (t.inGlobalScope()) {
-        this.globalScope = t.getScope();
-        references.globalScope = this.globalScope;
+        setGlobalScope(t.getScope());
       }
     }
 
+    void setGlobalScope(Scope globalScope) {
+      this.globalScope = globalScope;
+      references.globalScope = globalScope;
+    }
+
     @Override
     public void exitScope(NodeTraversal t) {}
   }
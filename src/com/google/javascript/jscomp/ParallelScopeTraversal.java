@@ -0,0 +1,329 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Traverses independent change scopes on worker threads, for passes whose callbacks only change
+ * the subtree of the node they visit, such as {@link PeepholeOptimizationsPass}.
+ *
+ * <p>A change scope can be traversed in parallel with others if none of the other scopes being
+ * traversed contains it, so the parts of the AST the workers change are disjoint. The root of
+ * each scope is visited last, on the calling thread, since visiting it may change its parent.
+ *
+ * <p>Change reports, deleted functions and errors reported by the workers are recorded on the
+ * worker and handed to the compiler on the calling thread once all workers are done, in the
+ * order of the scopes. So the change timeline, the change handlers and the error manager are
+ * only used by one thread, and they see the same reports however many threads there are.
+ *
+ * <p>A compiler keeps one traversal, so its threads are reused by every pass that traverses in
+ * parallel. They exit once they have been idle for a while, so the traversal need not be shut
+ * down.
+ */
+final class ParallelScopeTraversal {
+  // The reports recorded by the scope a worker thread is traversing, or null on other threads.
+  private static final ThreadLocal<List<DeferredReport>> deferredReports = new ThreadLocal<>();
+
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 10;
+
+  private final AbstractCompiler compiler;
+  private final int numThreads;
+  @Nullable private ExecutorService executor = null;
+
+  ParallelScopeTraversal(AbstractCompiler compiler, int numThreads) {
+    this.compiler = compiler;
+    this.numThreads = numThreads;
+  }
+
+  /**
+   * Traverses like {@link NodeTraversal#traverseScopeRoots(AbstractCompiler, Node, List,
+   * NodeTraversal.Callback, boolean)} without traversing nested scopes, but traverses consecutive
+   * scopes that are not nested in other scopes in {@code scopeNodes} in parallel. If {@code
+   * scopeNodes} is null, the scripts under {@code root} are traversed in parallel.
+   */
+  void traverseScopeRoots(Node root, @Nullable List<Node> scopeNodes, NodeTraversal.Callback cb) {
+    if (scopeNodes == null) {
+      if (!root.isRoot() || !root.hasMoreThanOneChild()) {
+        NodeTraversal.traverse(compiler, root, cb);
+        return;
+      }
+      List<Node> scripts = new ArrayList<>();
+      for (Node script : root.children()) {
+        scripts.add(script);
+      }
+      traverseInParallel(scripts, cb, true);
+      for (Node script : scripts) {
+        NodeTraversal.traverseScopeRoots(
+            compiler, null, ImmutableList.of(script), new RootOnlyCallback(script, cb), false);
+      }
+      NodeTraversal.traverse(compiler, root, new RootOnlyCallback(root, cb));
+      return;
+    }
+
+    Set<Node> scopeNodeSet = Sets.newIdentityHashSet();
+    scopeNodeSet.addAll(scopeNodes);
+    List<Node> batch = new ArrayList<>();
+    for (Node scopeNode : scopeNodes) {
+      if (hasNoEnclosingScopeIn(scopeNode, scopeNodeSet)) {
+        batch.add(scopeNode);
+      } else {
+        traverseBatch(batch, cb);
+        batch.clear();
+        NodeTraversal.traverseScopeRoots(compiler, null, ImmutableList.of(scopeNode), cb, false);
+      }
+    }
+    traverseBatch(batch, cb);
+  }
+
+  private synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      ThreadPoolExecutor pool =
+          new ThreadPoolExecutor(
+              numThreads,
+              numThreads,
+              IDLE_THREAD_TIMEOUT_SECONDS,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              r -> {
+                Thread t =
+                    new Thread(
+                        null,
+                        r,
+                        "jscompiler-ParallelScopeTraversal",
+                        CompilerExecutor.COMPILER_STACK_SIZE);
+                t.setDaemon(true); // Do not prevent the JVM from exiting.
+                return t;
+              });
+      pool.allowCoreThreadTimeOut(true);
+      executor = pool;
+    }
+    return executor;
+  }
+
+  /**
+   * Returns whether {@code scopeNode} is attached to the AST and not inside any other scope in
+   * {@code scopeNodes}.
+   */
+  private static boolean hasNoEnclosingScopeIn(Node scopeNode, Set<Node> scopeNodes) {
+    if (scopeNode.isDeleted()) {
+      return false;
+    }
+    Node ancestor = scopeNode.getParent();
+    while (ancestor != null && !ancestor.isRoot()) {
+      if (scopeNodes.contains(ancestor)) {
+        return false;
+      }
+      ancestor = ancestor.getParent();
+    }
+    return ancestor != null;
+  }
+
+  private void traverseBatch(List<Node> batch, NodeTraversal.Callback cb) {
+    if (batch.size() < 2) {
+      NodeTraversal.traverseScopeRoots(compiler, null, batch, cb, false);
+      return;
+    }
+    traverseInParallel(batch, cb, false);
+    for (Node scopeNode : batch) {
+      NodeTraversal.traverseScopeRoots(
+          compiler, null, ImmutableList.of(scopeNode), new RootOnlyCallback(scopeNode, cb), false);
+    }
+  }
+
+  /** Traverses the scopes except for their roots on the worker threads, and waits for them. */
+  private void traverseInParallel(
+      List<Node> scopeNodes, NodeTraversal.Callback cb, boolean traverseNested) {
+    ExecutorService executor = getExecutor();
+    List<Future<List<DeferredReport>>> futures = new ArrayList<>(scopeNodes.size());
+    for (Node scopeNode : scopeNodes) {
+      futures.add(
+          executor.submit(
+              () -> {
+                List<DeferredReport> reports = new ArrayList<>();
+                deferredReports.set(reports);
+                try {
+                  NodeTraversal.traverseScopeRoots(
+                      compiler,
+                      null,
+                      ImmutableList.of(scopeNode),
+                      new InteriorCallback(scopeNode, cb),
+                      traverseNested);
+                } finally {
+                  deferredReports.remove();
+                }
+                return reports;
+              }));
+    }
+
+    // Wait for every worker before reporting anything or rethrowing, so that no worker is still
+    // changing the AST afterwards.
+    List<List<DeferredReport>> reportsByScope = new ArrayList<>(futures.size());
+    Throwable failure = null;
+    for (Future<List<DeferredReport>> future : futures) {
+      try {
+        reportsByScope.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      }
+    }
+    if (failure != null) {
+      Throwables.throwIfUnchecked(failure);
+      throw new RuntimeException(failure);
+    }
+
+    for (List<DeferredReport> reports : reportsByScope) {
+      for (DeferredReport report : reports) {
+        report.reportTo(compiler);
+      }
+    }
+  }
+
+  /**
+   * Records a change to {@code changeScope} if the current thread is traversing a scope in
+   * parallel, for the compiler to report later. Returns false if the change should be reported
+   * now.
+   */
+  static boolean deferChange(Node changeScope) {
+    return defer(new ChangedScope(changeScope));
+  }
+
+  /** Like {@link #deferChange}, for a deleted function. */
+  static boolean deferFunctionDeleted(Node function) {
+    return defer(new DeletedFunction(function));
+  }
+
+  /** Like {@link #deferChange}, for an error or warning. */
+  static boolean deferError(JSError error) {
+    return defer(new ReportedError(error));
+  }
+
+  private static boolean defer(DeferredReport report) {
+    List<DeferredReport> reports = deferredReports.get();
+    if (reports == null) {
+      return false;
+    }
+    reports.add(report);
+    return true;
+  }
+
+  /** A report recorded on a worker thread, to be handed to the compiler on the calling thread. */
+  private abstract static class DeferredReport {
+    abstract void reportTo(AbstractCompiler compiler);
+  }
+
+  private static final class ChangedScope extends DeferredReport {
+    private final Node changeScope;
+
+    ChangedScope(Node changeScope) {
+      this.changeScope = changeScope;
+    }
+
+    @Override
+    void reportTo(AbstractCompiler compiler) {
+      compiler.reportChangeToChangeScope(changeScope);
+    }
+  }
+
+  private static final class DeletedFunction extends DeferredReport {
+    private final Node function;
+
+    DeletedFunction(Node function) {
+      this.function = function;
+    }
+
+    @Override
+    void reportTo(AbstractCompiler compiler) {
+      compiler.reportFunctionDeleted(function);
+    }
+  }
+
+  private static final class ReportedError extends DeferredReport {
+    private final JSError error;
+
+    ReportedError(JSError error) {
+      this.error = error;
+    }
+
+    @Override
+    void reportTo(AbstractCompiler compiler) {
+      compiler.report(error);
+    }
+  }
+
+  /** Traverses a scope like the wrapped callback, except for visiting the root of the scope. */
+  private static final class InteriorCallback implements NodeTraversal.Callback {
+    private final Node scopeRoot;
+    private final NodeTraversal.Callback cb;
+
+    InteriorCallback(Node scopeRoot, NodeTraversal.Callback cb) {
+      this.scopeRoot = scopeRoot;
+      this.cb = cb;
+    }
+
+    @Override
+    public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
+      return cb.shouldTraverse(t, n, parent);
+    }
+
+    @Override
+    public void visit(NodeTraversal t, Node n, Node parent) {
+      if (n != scopeRoot) {
+        cb.visit(t, n, parent);
+      }
+    }
+  }
+
+  /** Only visits the root of a scope, like the wrapped callback. */
+  private static final class RootOnlyCallback implements NodeTraversal.Callback {
+    private final Node scopeRoot;
+    private final NodeTraversal.Callback cb;
+
+    RootOnlyCallback(Node scopeRoot, NodeTraversal.Callback cb) {
+      this.scopeRoot = scopeRoot;
+      this.cb = cb;
+    }
+
+    @Override
+    public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
+      return n == scopeRoot && cb.shouldTraverse(t, n, parent);
+    }
+
+    @Override
+    public void visit(NodeTraversal t, Node n, Node parent) {
+      cb.visit(t, n, parent);
+    }
+  }
+}
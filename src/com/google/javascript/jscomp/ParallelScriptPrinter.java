@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.base.Throwables;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Prints scripts on worker threads.
+ *
+ * <p>Printing a script only reads its AST, so scripts can be printed independently. Each script
+ * gets its own recording {@link SourceMap}, whose mappings the caller adds to the real source map
+ * while it concatenates the scripts in order, so the output and the source map do not depend on
+ * the number of threads.
+ *
+ * <p>A compiler keeps one printer, so its threads are reused by every call to {@code toSource}.
+ * They exit once they have been idle for a while, so the printer need not be shut down.
+ */
+final class ParallelScriptPrinter {
+
+  /** Prints a single script. */
+  interface ScriptPrinter {
+    String print(int index, Node script, @Nullable SourceMap sourceMap);
+  }
+
+  /** The code printed for a script, and the source map mappings recorded while printing it. */
+  static final class PrintedScript {
+    private final String code;
+    @Nullable private final SourceMap sourceMap;
+
+    PrintedScript(String code, @Nullable SourceMap sourceMap) {
+      this.code = code;
+      this.sourceMap = sourceMap;
+    }
+
+    String getCode() {
+      return code;
+    }
+
+    /** A recorder made by {@link SourceMap#newRecorder}, or null if no source map is needed. */
+    @Nullable
+    SourceMap getSourceMap() {
+      return sourceMap;
+    }
+  }
+
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 10;
+
+  private final int numThreads;
+  @Nullable private ExecutorService executor = null;
+
+  ParallelScriptPrinter(int numThreads) {
+    this.numThreads = numThreads;
+  }
+
+  private synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      ThreadPoolExecutor pool =
+          new ThreadPoolExecutor(
+              numThreads,
+              numThreads,
+              IDLE_THREAD_TIMEOUT_SECONDS,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              r -> {
+                Thread t =
+                    new Thread(
+                        null,
+                        r,
+                        "jscompiler-ParallelScriptPrinter",
+                        CompilerExecutor.COMPILER_STACK_SIZE);
+                t.setDaemon(true); // Do not prevent the JVM from exiting.
+                return t;
+              });
+      pool.allowCoreThreadTimeOut(true);
+      executor = pool;
+    }
+    return executor;
+  }
+
+  /**
+   * Prints {@code scripts} with {@code printer} and returns the results in the same order, or
+   * null if scripts cannot be printed in parallel on this platform, in which case the caller
+   * prints them itself.
+   */
+  @Nullable
+  List<PrintedScript> print(List<Node> scripts, boolean recordSourceMaps, ScriptPrinter printer) {
+    ExecutorService executor = getExecutor();
+    List<Future<PrintedScript>> futures = new ArrayList<>(scripts.size());
+    try {
+      for (int i = 0; i < scripts.size(); i++) {
+        int index = i;
+        Node script = scripts.get(i);
+        futures.add(
+            executor.submit(
+                () -> {
+                  SourceMap recorder = recordSourceMaps ? SourceMap.newRecorder() : null;
+                  return new PrintedScript(printer.print(index, script, recorder), recorder);
+                }));
+      }
+      List<PrintedScript> printed = new ArrayList<>(scripts.size());
+      for (Future<PrintedScript> future : futures) {
+        printed.add(future.get());
+      }
+      return printed;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    } finally {
+      // Don't leave the rest of the scripts printing if one of them failed.
+      for (Future<PrintedScript> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+}
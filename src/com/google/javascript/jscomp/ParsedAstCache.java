@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.javascript.jscomp.parsing.Config;
+import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.jscomp.parsing.parser.util.LineOffsets;
+import com.google.javascript.rhino.Node;
+import javax.annotation.Nullable;
+
+/**
+ * A store of parse results that outlives a single compilation.
+ *
+ * <p>Entries are keyed by the source text and the parser configuration, so an unchanged file
+ * parsed with unchanged options is looked up instead of reparsed. {@link JsAst} consults the cache
+ * configured with {@link CompilerOptions#setParsedAstCache} before invoking the parser.
+ */
+public interface ParsedAstCache {
+
+  /**
+   * Returns the AST previously stored for {@code code} parsed with {@code config}, or null if
+   * there is none. The returned tree is owned by the caller and attributed to {@code file}.
+   */
+  @Nullable
+  CachedAst get(SourceFile file, String code, Config config);
+
+  /**
+   * Stores the AST produced by parsing {@code code} with {@code config}. Implementations must copy
+   * {@code ast} before returning, since the caller goes on to mutate the tree.
+   */
+  void put(SourceFile file, String code, Config config, CachedAst ast);
+
+  /** The output of a successful parse, as stored in a {@link ParsedAstCache}. */
+  final class CachedAst {
+    private final Node root;
+    private final FeatureSet features;
+    @Nullable private final String sourceMapURL;
+    @Nullable private final LineOffsets lineOffsets;
+
+    public CachedAst(Node root, FeatureSet features, @Nullable String sourceMapURL) {
+      this(root, features, sourceMapURL, null);
+    }
+
+    public CachedAst(
+        Node root,
+        FeatureSet features,
+        @Nullable String sourceMapURL,
+        @Nullable LineOffsets lineOffsets) {
+      this.root = checkNotNull(root);
+      this.features = checkNotNull(features);
+      this.sourceMapURL = sourceMapURL;
+      this.lineOffsets = lineOffsets;
+    }
+
+    public Node getRoot() {
+      return root;
+    }
+
+    public FeatureSet getFeatures() {
+      return features;
+    }
+
+    /** The URL from the file's trailing sourceMappingURL comment, if any. */
+    @Nullable
+    public String getSourceMapURL() {
+      return sourceMapURL;
+    }
+
+    /** Where each line of the file starts, so that a hit need not rescan the text for lines. */
+    @Nullable
+    public LineOffsets getLineOffsets() {
+      return lineOffsets;
+    }
+  }
+}
@@ -21,22 +21,30 @@ package com.google.javascript.jscomp;
  * symbolic name here.
  */
 public final class PassNames {
+  public static final String ADD_SYNTHETIC_SCRIPT = "ADD_SYNTHETIC_SCRIPT";
   public static final String AFTER_MAIN_OPTIMIZATIONS = "afterMainOptimizations";
   public static final String AFTER_STANDARD_CHECKS = "afterStandardChecks";
   public static final String AMBIGUATE_PROPERTIES = "ambiguateProperties";
   public static final String ANALYZER_CHECKS = "analyzerChecks";
   public static final String ANGULAR_PASS = "angularPass";
+  public static final String BEFORE_STANDARD_CHECKS = "beforeStandardChecks";
   public static final String BEFORE_STANDARD_OPTIMIZATIONS = "beforeStandardOptimizations";
   public static final String BEFORE_MAIN_OPTIMIZATIONS = "beforeMainOptimizations";
   public static final String BEFORE_TYPE_CHECKING = "beforeTypeChecking";
   public static final String BEFORE_PRE_TYPECHECK_TRANSPILATION = "beforePreTypeCheckTranspilation";
   public static final String BEFORE_SERIALIZATION = "beforeSerialization";
   public static final String CHECK_CONFORMANCE = "checkConformance";
+  public static final String CHECK_CONSTS = "checkConsts";
   public static final String CHECK_CONST_PARAMS = "checkConstParams";
   public static final String CHECK_REG_EXP = "checkRegExp";
+  public static final String CHECK_STRICT_MODE = "checkStrictMode";
   public static final String CHECK_TYPES = "checkTypes";
+  public static final String CHECK_TYPE_IMPORT_CODE_REFERENCES = "checkTypeImportCodeReferences";
   public static final String CHECK_VARIABLE_REFERENCES = "checkVariableReferences";
   public static final String CHECK_VARS = "checkVars";
+  public static final String CLEAR_TOP_TYPED_SCOPE = "clearTopTypedScopePass";
+  public static final String CLEAR_TYPED_SCOPE_CREATOR = "clearTypedScopeCreatorPass";
+  public static final String CLOSURE_REPLACE_GET_CSS_NAME = "closureReplaceGetCssName";
   public static final String CLOSURE_REWRITE_CLASS = "closureRewriteClass";
   public static final String COALESCE_VARIABLE_NAMES = "coalesceVariableNames";
   public static final String COLLAPSE_ANONYMOUS_FUNCTIONS = "collapseAnonymousFunctions";
@@ -66,16 +74,21 @@ public final class PassNames {
   public static final String GENERATE_EXPORTS = "generateExports";
   public static final String INFER_CONSTS = "inferConsts";
   public static final String INFER_TYPES = "inferTypes";
+  public static final String INJECT_RUNTIME_LIBRARIES = "InjectRuntimeLibraries";
   public static final String INLINE_FUNCTIONS = "inlineFunctions";
   public static final String INLINE_PROPERTIES = "inlineProperties";
   public static final String INLINE_TYPE_ALIASES = "inlineTypeAliases";
   public static final String INLINE_VARIABLES = "inlineVariables";
   public static final String LINT_CHECKS = "lintChecks";
+  public static final String MARK_UNTRANSPILABLE_FEATURES_AS_REMOVED =
+      "markUntranspilableFeaturesAsRemoved";
+  public static final String MERGE_SYNTHETIC_SCRIPT = "MERGE_SYNTHETIC_SCRIPT";
   public static final String NORMALIZE = "normalize";
   public static final String OPTIMIZE_ARGUMENTS_ARRAY = "optimizeArgumentsArray";
   public static final String OPTIMIZE_CALLS = "optimizeCalls";
   public static final String PARSE_INPUTS = "parseInputs";
   public static final String PEEPHOLE_OPTIMIZATIONS = "peepholeOptimizations";
+  public static final String REMOVE_SYNTHETIC_SCRIPT = "REMOVE_SYNTHETIC_SCRIPT";
   public static final String REWRITE_COMMON_JS_MODULES = "rewriteCommonJsModules";
   public static final String REWRITE_SCRIPTS_TO_ES6_MODULES = "rewriteScriptsToEs6Modules";
   public static final String REMOVE_UNREACHABLE_CODE = "removeUnreachableCode";
@@ -86,6 +99,7 @@ public final class PassNames {
   public static final String REWRITE_FUNCTION_EXPRESSIONS = "rewriteFunctionExpressions";
   public static final String RUNTIME_TYPE_CHECK = "runtimeTypeCheck";
   public static final String STRIP_SIDE_EFFECT_PROTECTION = "stripSideEffectProtection";
+  public static final String SYNC_COMPILER_FEATURES = "syncCompilerFeatures";
   public static final String WIZ_PASS = "wizPass";
 
   private PassNames() {}
@@ -58,12 +58,20 @@ class PeepholeOptimizationsPass implements CompilerPass {
   public void process(Node externs, Node root) {
     beginTraversal();
 
+    // Optimizations only change the node they visit, its children and its parent, so scopes that
+    // do not contain each other can be optimized in parallel.
+    ParallelScopeTraversal parallelTraversal = compiler.getParallelScopeTraversal();
+
     // Repeat to an internal fixed point.
     for (List<Node> changedScopeNodes = compiler.getChangedScopeNodesForPass(passName);
         changedScopeNodes == null || !changedScopeNodes.isEmpty();
         changedScopeNodes = compiler.getChangedScopeNodesForPass(passName)) {
-      NodeTraversal.traverseScopeRoots(
-          compiler, root, changedScopeNodes, new PeepCallback(), false);
+      if (parallelTraversal != null) {
+        parallelTraversal.traverseScopeRoots(root, changedScopeNodes, new PeepCallback());
+      } else {
+        NodeTraversal.traverseScopeRoots(
+            compiler, root, changedScopeNodes, new PeepCallback(), false);
+      }
 
       // Cancel the fixed point if requested.
       if (!retraverseOnChange) {
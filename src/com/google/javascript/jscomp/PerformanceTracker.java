@@ -34,7 +34,9 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 /**
@@ -60,6 +62,8 @@ public final class PerformanceTracker {
   private int initGzCodeSize = DEFAULT_WHEN_SIZE_UNTRACKED;
 
   private final long startTime;
+  // The System.nanoTime() that timestamps in the trace events are relative to.
+  private final long startNanos;
   private long endTime;
   private int passesRuntime = 0;
   private int maxMem = 0;
@@ -94,9 +98,16 @@ public final class PerformanceTracker {
   /** Stats a single run of a compiler pass. */
   private final List<Stats> log = new ArrayList<>();
 
+  /** Trace events other than pass runs, which are recorded in {@link #log}. */
+  private final List<TraceEvent> traceEvents = new ArrayList<>();
+
+  /** The names of the worker threads in {@link #traceEvents}, guarded by the same lock. */
+  private final Map<Long, String> workerThreadNames = new LinkedHashMap<>();
+
   PerformanceTracker(Node externsRoot, Node jsRoot, TracerMode mode) {
     checkArgument(mode != TracerMode.OFF, "PerformanceTracker can't work without tracer data.");
     this.startTime = System.currentTimeMillis();
+    this.startNanos = System.nanoTime();
     this.externsRoot = externsRoot;
     this.jsRoot = jsRoot;
     this.mode = mode;
@@ -107,7 +118,10 @@ public final class PerformanceTracker {
   }
 
   void recordPassStart(String passName, boolean isOneTime) {
-    this.currentPass.push(new Stats(passName, isOneTime));
+    Stats stats = new Stats(passName, isOneTime);
+    stats.startNanos = System.nanoTime();
+    stats.heapBytesAtStart = getAllocatedBytes();
+    this.currentPass.push(stats);
     // In Compiler, toSource may be called after every pass X. We don't want it
     // to reset the handler, because recordPassStop for pass X has not been
     // called, so we are falsely logging that pass X didn't make changes.
@@ -146,10 +160,13 @@ public final class PerformanceTracker {
    * @param runtime execution time in milliseconds
    */
   void recordPassStop(String passName, long runtime) {
-    int allocMem = getAllocatedMegabytes();
+    long allocBytes = getAllocatedBytes();
+    int allocMem = bytesToMB(allocBytes);
     Stats logStats = this.currentPass.pop();
     checkState(passName.equals(logStats.pass));
     this.log.add(logStats);
+    logStats.endNanos = System.nanoTime();
+    logStats.heapBytesDelta = allocBytes - logStats.heapBytesAtStart;
 
     // Update fields that aren't related to code size
     logStats.runtime = runtime;
@@ -165,6 +182,50 @@ public final class PerformanceTracker {
     }
   }
 
+  /**
+   * Adds to the number of nodes that data flow analyses in the current pass have flowed through.
+   */
+  void recordDataFlowSteps(int steps) {
+    Stats current = this.currentPass.peek();
+    if (current != null) {
+      current.dataFlowSteps += steps;
+    }
+  }
+
+  /**
+   * Records an iteration of the fixed point optimization loop of {@link PhaseOptimizer}, which
+   * started at {@code startNanos} and ends now.
+   *
+   * @param iteration the 1-based number of the iteration
+   * @param changed whether any pass in the iteration changed the AST
+   * @param astSize the size of the AST after the iteration
+   */
+  void recordLoopIteration(int iteration, long startNanos, boolean changed, int astSize) {
+    TraceEvent event =
+        new TraceEvent("loop", "iteration " + iteration, 0, startNanos, System.nanoTime());
+    event.args.put("changed", changed);
+    event.args.put("astSize", astSize);
+    addTraceEvent(event);
+  }
+
+  /**
+   * Records a task that ran on a worker thread, such as parsing an input in {@link PrebuildAst}.
+   * Safe to call from any thread.
+   */
+  void recordWorkerTask(
+      long threadId, String threadName, String taskName, long startNanos, long endNanos) {
+    synchronized (this.traceEvents) {
+      this.workerThreadNames.put(threadId, threadName);
+      this.traceEvents.add(new TraceEvent("worker", taskName, threadId, startNanos, endNanos));
+    }
+  }
+
+  private void addTraceEvent(TraceEvent event) {
+    synchronized (this.traceEvents) {
+      this.traceEvents.add(event);
+    }
+  }
+
   private void recordParsingStop(Stats logStats) {
     if (tracksAstManifest()) {
       populateAstManifest();
@@ -229,8 +290,8 @@ public final class PerformanceTracker {
     return (int) (bytes / (1024 * 1024));
   }
 
-  private int getAllocatedMegabytes() {
-    return bytesToMB(Platform.totalMemory() - Platform.freeMemory());
+  private long getAllocatedBytes() {
+    return Platform.totalMemory() - Platform.freeMemory();
   }
 
   public boolean tracksSize() {
@@ -343,6 +404,7 @@ public final class PerformanceTracker {
       entry.astDiff += logStat.astDiff;
       entry.diff += logStat.diff;
       entry.gzDiff += logStat.gzDiff;
+      entry.dataFlowSteps += logStat.dataFlowSteps;
       // We don't populate the size fields in the passSummary stats.
       // We used to put the size after the last time a pass was run, but that is
       // a pretty meaningless thing to measure.
@@ -402,7 +464,8 @@ public final class PerformanceTracker {
         lines(
             "",
             "Summary:",
-            "pass,runtime,allocMem,runs,changingRuns,astReduction,reduction,gzReduction"));
+            "pass,runtime,allocMem,runs,changingRuns,astReduction,reduction,gzReduction,"
+                + "dataFlowSteps"));
     this.passSummary.entrySet().stream()
         .sorted((e1, e2) -> Long.compare(e1.getValue().runtime, e2.getValue().runtime))
         .map(
@@ -410,7 +473,7 @@ public final class PerformanceTracker {
               String key = entry.getKey();
               Stats stats = entry.getValue();
               return SimpleFormat.format(
-                  "%s,%d,%d,%d,%d,%d,%d,%d",
+                  "%s,%d,%d,%d,%d,%d,%d,%d,%d",
                   key,
                   stats.runtime,
                   stats.allocMem,
@@ -418,7 +481,8 @@ public final class PerformanceTracker {
                   stats.changes,
                   stats.astDiff,
                   stats.diff,
-                  stats.gzDiff);
+                  stats.gzDiff,
+                  stats.dataFlowSteps);
             })
         .forEach(output::println);
 
@@ -468,6 +532,110 @@ public final class PerformanceTracker {
     }
   }
 
+  /**
+   * Writes the pass runs, optimization loop iterations and worker thread tasks recorded so far as
+   * a timeline in the Chrome trace event format, which chrome://tracing, Perfetto and most other
+   * profilers can load.
+   *
+   * <p>Runs of compiler passes and loop iterations are on the compiler thread, with the changes,
+   * AST size and heap usage delta of each run as arguments. Tasks on worker threads are on a
+   * thread of their own.
+   */
+  public void outputTraceEvents(Appendable out) throws IOException {
+    List<TraceEvent> events = new ArrayList<>();
+    for (Stats stats : this.log) {
+      TraceEvent event =
+          new TraceEvent(
+              stats.isOneTime ? "pass" : "loopPass",
+              stats.pass,
+              0,
+              stats.startNanos,
+              stats.endNanos);
+      event.args.put("changed", stats.changes == 1);
+      if (tracksAstSize()) {
+        event.args.put("astSize", stats.astSize);
+        event.args.put("astReduction", stats.astDiff);
+      }
+      event.args.put("heapBytesDelta", stats.heapBytesDelta);
+      if (stats.dataFlowSteps > 0) {
+        event.args.put("dataFlowSteps", stats.dataFlowSteps);
+      }
+      events.add(event);
+    }
+    Map<Long, String> threadNames = new LinkedHashMap<>();
+    threadNames.put(0L, "compiler");
+    synchronized (this.traceEvents) {
+      events.addAll(this.traceEvents);
+      threadNames.putAll(this.workerThreadNames);
+    }
+
+    out.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+    boolean firstEvent = true;
+    for (Entry<Long, String> thread : threadNames.entrySet()) {
+      out.append(firstEvent ? "\n" : ",\n");
+      firstEvent = false;
+      out.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":");
+      out.append(String.valueOf(thread.getKey())).append(",\"args\":{\"name\":");
+      appendJsonString(out, thread.getValue());
+      out.append("}}");
+    }
+    for (TraceEvent event : events) {
+      out.append(",\n{\"name\":");
+      appendJsonString(out, event.name);
+      out.append(",\"cat\":");
+      appendJsonString(out, event.category);
+      out.append(",\"ph\":\"X\",\"pid\":1,\"tid\":").append(String.valueOf(event.threadId));
+      // Timestamps are in microseconds.
+      out.append(",\"ts\":").append(String.valueOf((event.startNanos - this.startNanos) / 1000));
+      out.append(",\"dur\":").append(String.valueOf((event.endNanos - event.startNanos) / 1000));
+      out.append(",\"args\":{");
+      boolean first = true;
+      for (Entry<String, Object> arg : event.args.entrySet()) {
+        if (!first) {
+          out.append(',');
+        }
+        first = false;
+        appendJsonString(out, arg.getKey());
+        out.append(':').append(String.valueOf(arg.getValue()));
+      }
+      out.append("}}");
+    }
+    out.append("\n]}\n");
+  }
+
+  private static void appendJsonString(Appendable out, String s) throws IOException {
+    out.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == '"' || c == '\\') {
+        out.append('\\').append(c);
+      } else if (c < 0x20) {
+        out.append("\\u00").append(c < 0x10 ? "0" : "").append(Integer.toHexString(c));
+      } else {
+        out.append(c);
+      }
+    }
+    out.append('"');
+  }
+
+  /** A span of time on a thread, with the arguments to show for it in the trace events. */
+  private static final class TraceEvent {
+    final String category;
+    final String name;
+    final long threadId;
+    final long startNanos;
+    final long endNanos;
+    final Map<String, Object> args = new LinkedHashMap<>();
+
+    TraceEvent(String category, String name, long threadId, long startNanos, long endNanos) {
+      this.category = category;
+      this.name = name;
+      this.threadId = threadId;
+      this.startNanos = startNanos;
+      this.endNanos = endNanos;
+    }
+  }
+
   /**
    * A Stats object contains statistics about a pass run, such as running time,
    * size changes, etc
@@ -489,6 +657,12 @@ public final class PerformanceTracker {
     public int gzSize = 0;
     public int astDiff = 0;
     public int astSize = 0;
+    public long dataFlowSteps = 0;
+    // Only set in the stats of individual runs, for the trace events.
+    long startNanos = 0;
+    long endNanos = 0;
+    long heapBytesAtStart = 0;
+    long heapBytesDelta = 0;
   }
 
   private static String lines(String... lines) {
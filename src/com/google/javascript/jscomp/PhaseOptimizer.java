@@ -451,6 +451,7 @@ class PhaseOptimizer implements CompilerPass {
             compiler.throwInternalError(OPTIMIZE_LOOP_ERROR, null);
           }
           count++;
+          long iterationStartNanos = System.nanoTime();
           lastIterMadeChanges = false;
           for (NamedPass pass : myPasses) {
             if ((state == State.RUN_PASSES_NOT_RUN_IN_PREV_ITER
@@ -477,6 +478,10 @@ class PhaseOptimizer implements CompilerPass {
 
           previousAstSize = astSize;
           astSize = NodeUtil.countAstSize(root);
+          if (tracker != null) {
+            tracker.recordLoopIteration(
+                count - 1, iterationStartNanos, lastIterMadeChanges, astSize);
+          }
           if (state == State.RUN_PASSES_NOT_RUN_IN_PREV_ITER) {
             if (lastIterMadeChanges && isAstSufficientlyChanging(previousAstSize, astSize)) {
               state = State.RUN_PASSES_THAT_CHANGED_STH_IN_PREV_ITER;
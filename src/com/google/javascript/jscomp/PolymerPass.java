@@ -96,7 +96,7 @@ final class PolymerPass extends ExternsSkippingCallback implements HotSwapCompil
       compiler.ensureLibraryInjected("util/reflectobject", false);
     }
 
-    globalNames = new GlobalNamespace(compiler, externs, root);
+    globalNames = compiler.getGlobalNamespaceIndex().get(externs, root);
     behaviorExtractor =
         new PolymerBehaviorExtractor(
             compiler, globalNames, compiler.getModuleMetadataMap(), compiler.getModuleMap());
@@ -67,7 +67,15 @@ class PrebuildAst {
       futureList.add(executorService.submit(new Runnable() {
         @Override
         public void run() {
+          long startNanos = System.nanoTime();
           input.getAstRoot(compiler);
+          Thread thread = Thread.currentThread();
+          compiler.recordWorkerTask(
+              thread.getId(),
+              thread.getName(),
+              "parse " + input.getName(),
+              startNanos,
+              System.nanoTime());
         }
       }));
     }
@@ -154,7 +154,7 @@ class ProcessDefines implements CompilerPass {
       this.namespace = namespaceSupplier.get();
     }
     if (this.namespace == null) {
-      this.namespace = new GlobalNamespace(compiler, externs, root);
+      this.namespace = compiler.getGlobalNamespaceIndex().get(externs, root);
     }
   }
 
@@ -25,26 +25,33 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.annotations.GwtIncompatible;
 import com.google.common.io.CharStreams;
+import com.google.javascript.jscomp.parsing.parser.util.LineOffsets;
 import com.google.javascript.rhino.StaticSourceFile;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -81,7 +88,7 @@ public class SourceFile implements StaticSourceFile, Serializable {
   private String originalPath = null;
 
   // Source Line Information
-  private transient int[] lineOffsets = null;
+  private transient LineOffsets lineOffsets = null;
 
   private transient String code = null;
 
@@ -110,34 +117,36 @@ public class SourceFile implements StaticSourceFile, Serializable {
   @Override
   public int getLineOffset(int lineno) {
     findLineOffsets();
-    if (lineno < 1 || lineno > lineOffsets.length) {
-      throw new IllegalArgumentException(
-          "Expected line number between 1 and " + lineOffsets.length +
-          "\nActual: " + lineno);
-    }
-    return lineOffsets[lineno - 1];
+    return lineOffsets.getLineOffset(lineno);
   }
 
   /** @return The number of lines in this source file. */
   int getNumLines() {
     findLineOffsets();
-    return lineOffsets.length;
+    return lineOffsets.getLineCount();
+  }
+
+  /**
+   * Adopts the line offsets the parser found while scanning {@link #getCode}, so that they need
+   * not be found again.
+   */
+  void setLineOffsets(LineOffsets lineOffsets) {
+    this.lineOffsets = checkNotNull(lineOffsets);
   }
 
   private void findLineOffsets() {
     if (lineOffsets != null) {
       return;
     }
+    boolean hadSourceInMemory = hasSourceInMemory();
     try {
-      String[] sourceLines = getCode().split("\n", -1);
-      lineOffsets = new int[sourceLines.length];
-      for (int ii = 1; ii < sourceLines.length; ++ii) {
-        lineOffsets[ii] =
-            lineOffsets[ii - 1] + sourceLines[ii - 1].length() + 1;
-      }
+      lineOffsets = LineOffsets.of(getCode());
     } catch (IOException e) {
-      lineOffsets = new int[1];
-      lineOffsets[0] = 0;
+      lineOffsets = LineOffsets.singleLine();
+    }
+    // Don't keep the source in memory if it was only loaded to find the lines.
+    if (!hadSourceInMemory && isCheapToReload()) {
+      clearCachedSource();
     }
   }
 
@@ -162,11 +171,28 @@ public class SourceFile implements StaticSourceFile, Serializable {
   }
 
   void setCode(String sourceCode) {
+    cacheCode(sourceCode);
+    resetLineOffsets();
+  }
+
+  /**
+   * Sets the code without forgetting its line offsets, for subclasses that drop and decode again
+   * code that cannot have changed.
+   */
+  void cacheCode(String sourceCode) {
     code =
         sourceCode != null && sourceCode.startsWith(UTF8_BOM)
             ? sourceCode.substring(UTF8_BOM.length())
             : sourceCode;
-    resetLineOffsets();
+  }
+
+  /**
+   * Returns the code from offset {@code start} up to {@code end}, or up to the end of the file if
+   * {@code end} is -1. Subclasses that need not keep the code in memory may read just that part.
+   */
+  String getCodeRange(int start, int end) throws IOException {
+    String js = getCode();
+    return js.substring(min(start, js.length()), end == -1 ? js.length() : min(end, js.length()));
   }
 
   public String getOriginalPath() {
@@ -190,6 +216,14 @@ public class SourceFile implements StaticSourceFile, Serializable {
     return code != null;
   }
 
+  /**
+   * Whether the code can be decoded again cheaply, so that it need not be kept in memory once
+   * the file is parsed.
+   */
+  boolean isCheapToReload() {
+    return false;
+  }
+
   /** Returns a unique name for the source file. */
   @Override
   public String getName() {
@@ -210,19 +244,13 @@ public class SourceFile implements StaticSourceFile, Serializable {
   @Override
   public int getLineOfOffset(int offset) {
     findLineOffsets();
-    int search = Arrays.binarySearch(lineOffsets, offset);
-    if (search >= 0) {
-      return search + 1; // lines are 1-based.
-    } else {
-      int insertionPoint = -1 * (search + 1);
-      return min(insertionPoint - 1, lineOffsets.length - 1) + 1;
-    }
+    return lineOffsets.getLineOfOffset(offset);
   }
 
   @Override
   public int getColumnOfOffset(int offset) {
     int line = getLineOfOffset(offset);
-    return offset - lineOffsets[line - 1];
+    return offset - lineOffsets.getLineOffset(line);
   }
 
   /**
@@ -235,7 +263,8 @@ public class SourceFile implements StaticSourceFile, Serializable {
    */
   public String getLine(int lineNumber) {
     findLineOffsets();
-    if (lineNumber > lineOffsets.length) {
+    int lineCount = lineOffsets.getLineCount();
+    if (lineNumber > lineCount) {
       return null;
     }
 
@@ -243,29 +272,20 @@ public class SourceFile implements StaticSourceFile, Serializable {
       lineNumber = 1;
     }
 
-    int pos = lineOffsets[lineNumber - 1];
-    String js = "";
+    int pos = lineOffsets.getLineOffset(lineNumber);
+    boolean isLastLine = lineNumber == lineCount;
+    String line;
     try {
       // NOTE(nicksantos): Right now, this is optimized for few warnings.
       // This is probably the right trade-off, but will be slow if there
       // are lots of warnings in one file.
-      js = getCode();
+      line = getCodeRange(pos, isLastLine ? -1 : lineOffsets.getLineOffset(lineNumber + 1) - 1);
     } catch (IOException e) {
       return null;
     }
 
-    if (js.indexOf('\n', pos) == -1) {
-      // If next new line cannot be found, there are two cases
-      // 1. pos already reaches the end of file, then null should be returned
-      // 2. otherwise, return the contents between pos and the end of file.
-      if (pos >= js.length()) {
-        return null;
-      } else {
-        return js.substring(pos);
-      }
-    } else {
-      return js.substring(pos, js.indexOf('\n', pos));
-    }
+    // The last line has no newline, and does not exist if the file ends with one.
+    return isLastLine && line.isEmpty() ? null : line;
   }
 
   /**
@@ -280,7 +300,8 @@ public class SourceFile implements StaticSourceFile, Serializable {
    */
   public Region getLines(int lineNumber, int length) {
     findLineOffsets();
-    if (lineNumber > lineOffsets.length) {
+    int lineCount = lineOffsets.getLineCount();
+    if (lineNumber > lineCount) {
       return null;
     }
 
@@ -291,29 +312,30 @@ public class SourceFile implements StaticSourceFile, Serializable {
       length = 1;
     }
 
-    String js = "";
+    int pos = lineOffsets.getLineOffset(lineNumber);
+    // -1 stands for the end of the file.
+    int endChar = pos;
+    int endLine = lineNumber;
+    // go through lines until we've reached the end of the file or met the specified length.
+    for (; endChar < pos + length && endLine <= lineCount; endLine++) {
+      endChar = (endLine < lineCount) ? lineOffsets.getLineOffset(endLine + 1) : -1;
+    }
+
+    String text;
     try {
-      js = getCode();
+      text = getCodeRange(pos, endChar);
     } catch (IOException e) {
       return null;
     }
 
-    int pos = lineOffsets[lineNumber - 1];
-    if (pos == js.length()) {
+    if (text.isEmpty()) {
       return new SimpleRegion(
           lineNumber, lineNumber, ""); // Happens when asking for the last empty line in a file.
     }
-    int endChar = pos;
-    int endLine = lineNumber;
-    // go through lines until we've reached the end of the file or met the specified length.
-    for (; endChar < pos + length && endLine <= lineOffsets.length; endLine++) {
-      endChar = (endLine < lineOffsets.length) ? lineOffsets[endLine] : js.length();
-    }
-
-    if (js.charAt(endChar - 1) == '\n') {
-      return new SimpleRegion(lineNumber, endLine, js.substring(pos, endChar - 1));
+    if (text.charAt(text.length() - 1) == '\n') {
+      return new SimpleRegion(lineNumber, endLine, text.substring(0, text.length() - 1));
     }
-    return new SimpleRegion(lineNumber, endLine, js.substring(pos, endChar));
+    return new SimpleRegion(lineNumber, endLine, text);
   }
 
   /**
@@ -326,43 +348,35 @@ public class SourceFile implements StaticSourceFile, Serializable {
    *     exception.
    */
   public Region getRegion(int lineNumber) {
-    String js = "";
-    try {
-      js = getCode();
-    } catch (IOException e) {
-      return null;
-    }
-    int pos = 0;
+    findLineOffsets();
+    int lineCount = lineOffsets.getLineCount();
     int startLine = max(1, lineNumber - (SOURCE_EXCERPT_REGION_LENGTH + 1) / 2 + 1);
-    for (int n = 1; n < startLine; n++) {
-      int nextpos = js.indexOf('\n', pos);
-      if (nextpos == -1) {
-        break;
-      }
-      pos = nextpos + 1;
-    }
-    int end = pos;
-    int endLine = startLine;
-    for (int n = 0; n < SOURCE_EXCERPT_REGION_LENGTH; n++, endLine++) {
-      end = js.indexOf('\n', end);
-      if (end == -1) {
-        break;
-      }
-      end++;
-    }
+    // A region past the end of the file starts at its last line.
+    int firstLine = min(startLine, lineCount);
+    int newlines = min(SOURCE_EXCERPT_REGION_LENGTH, lineCount - firstLine);
+    int endLine = startLine + newlines;
     if (lineNumber >= endLine) {
       return null;
     }
-    if (end == -1) {
-      int last = js.length() - 1;
-      if (js.charAt(last) == '\n') {
-        return
-            new SimpleRegion(startLine, endLine, js.substring(pos, last));
-      } else {
-        return new SimpleRegion(startLine, endLine, js.substring(pos));
+
+    String text;
+    try {
+      if (newlines == SOURCE_EXCERPT_REGION_LENGTH) {
+        return new SimpleRegion(
+            startLine,
+            endLine,
+            getCodeRange(
+                lineOffsets.getLineOffset(firstLine),
+                lineOffsets.getLineOffset(firstLine + newlines)));
       }
+      text = getCodeRange(lineOffsets.getLineOffset(firstLine), -1);
+    } catch (IOException e) {
+      return null;
+    }
+    if (!text.isEmpty() && text.charAt(text.length() - 1) == '\n') {
+      return new SimpleRegion(startLine, endLine, text.substring(0, text.length() - 1));
     } else {
-      return new SimpleRegion(startLine, endLine, js.substring(pos, end));
+      return new SimpleRegion(startLine, endLine, text);
     }
   }
 
@@ -371,12 +385,23 @@ public class SourceFile implements StaticSourceFile, Serializable {
     return fileName;
   }
 
-  @GwtIncompatible("fromZipInput")
+  @GwtIncompatible("java.util.zip.ZipFile")
   public static List<SourceFile> fromZipFile(String zipName, Charset inputCharset)
       throws IOException {
-    try (InputStream input = new FileInputStream(zipName)) {
-      return fromZipInput(zipName, input, inputCharset);
+    final String absoluteZipPath = new File(zipName).getAbsolutePath();
+    List<SourceFile> sourceFiles = new ArrayList<>();
+
+    // Reads only the zip's central directory, rather than inflating every entry to find the next.
+    try (ZipFile zipFile = new ZipFile(zipName, inputCharset)) {
+      for (ZipEntry zipEntry : Collections.list(zipFile.entries())) {
+        String entryName = zipEntry.getName();
+        if (!entryName.endsWith(".js")) { // Only accept js files
+          continue;
+        }
+        sourceFiles.add(fromZipEntry(zipName, absoluteZipPath, entryName, inputCharset));
+      }
     }
+    return sourceFiles;
   }
 
   @GwtIncompatible("java.util.zip.ZipInputStream")
@@ -470,6 +495,11 @@ public class SourceFile implements StaticSourceFile, Serializable {
     return fromPath(path, charset, SourceKind.STRONG);
   }
 
+  @GwtIncompatible("java.nio.MappedByteBuffer")
+  public static SourceFile fromMappedPath(Path path, Charset charset, SourceKind kind) {
+    return builder().withKind(kind).withCharset(charset).buildFromMappedPath(path);
+  }
+
   public static SourceFile fromCode(String fileName, String code, SourceKind kind) {
     return builder().withKind(kind).buildFromCode(fileName, code);
   }
@@ -555,6 +585,20 @@ public class SourceFile implements StaticSourceFile, Serializable {
       return new OnDisk(path, originalPath, charset, kind);
     }
 
+    /**
+     * Builds a source file whose contents are memory-mapped rather than read onto the heap, and
+     * decoded only while the compiler needs the text.
+     */
+    @GwtIncompatible("java.nio.MappedByteBuffer")
+    public SourceFile buildFromMappedPath(Path path) {
+      checkNotNull(path);
+      checkNotNull(charset);
+      if (isZipEntry(path.toString())) {
+        return fromZipEntry(path.toString(), charset, kind);
+      }
+      return new Mapped(path, originalPath, charset, kind);
+    }
+
     @GwtIncompatible("java.io.File")
     public SourceFile buildFromZipEntry(ZipEntryReader zipEntryReader) {
       checkNotNull(zipEntryReader);
@@ -720,6 +764,170 @@ public class SourceFile implements StaticSourceFile, Serializable {
     }
   }
 
+  /**
+   * A source file whose bytes are memory-mapped, so they live in the page cache rather than on the
+   * heap. The code is decoded into a String only when asked for, and since decoding it again is
+   * cheap, the compiler drops that String once the file is parsed.
+   */
+  @GwtIncompatible("java.nio.MappedByteBuffer")
+  private static class Mapped extends SourceFile {
+    private static final long serialVersionUID = 1L;
+    private transient Path path;
+    private transient Charset inputCharset;
+    private transient ByteBuffer bytes;
+
+    Mapped(Path path, String originalPath, Charset c, SourceKind kind) {
+      super(path.toString(), kind);
+      this.path = path;
+      this.inputCharset = c;
+      setOriginalPath(originalPath);
+    }
+
+    private synchronized ByteBuffer getBytes() throws IOException {
+      if (bytes == null) {
+        // The mapping stays valid after the channel is closed.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+          bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+      }
+      return bytes.duplicate();
+    }
+
+    @Override
+    public synchronized String getCode() throws IOException {
+      String cachedCode = super.getCode();
+
+      if (cachedCode == null) {
+        try {
+          cachedCode =
+              inputCharset
+                  .newDecoder()
+                  .onMalformedInput(CodingErrorAction.REPORT)
+                  .onUnmappableCharacter(CodingErrorAction.REPORT)
+                  .decode(getBytes())
+                  .toString();
+        } catch (CharacterCodingException e) {
+          throw new IOException("Failed to read: " + path + ", is this input UTF-8 encoded?", e);
+        }
+
+        // The mapped bytes cannot have changed, so neither have the line offsets.
+        cacheCode(cachedCode);
+        // Byte Order Mark can be removed by cacheCode
+        cachedCode = super.getCode();
+      }
+      return cachedCode;
+    }
+
+    /**
+     * Gets a reader that decodes the mapped bytes as it goes. Like {@link #getCode}, it leaves out
+     * any byte order mark.
+     */
+    @Override
+    public Reader getCodeReader() throws IOException {
+      if (hasSourceInMemory()) {
+        return super.getCodeReader();
+      }
+      PushbackReader reader =
+          new PushbackReader(
+              new InputStreamReader(new ByteBufferInputStream(getBytes()), inputCharset));
+      int first = reader.read();
+      if (first != -1 && first != UTF8_BOM.charAt(0)) {
+        reader.unread(first);
+      }
+      return reader;
+    }
+
+    /** Decodes just as far as the end of the range, without keeping the code in memory. */
+    @Override
+    String getCodeRange(int start, int end) throws IOException {
+      if (hasSourceInMemory()) {
+        return super.getCodeRange(start, end);
+      }
+      try (Reader reader = getCodeReader()) {
+        long skipped = 0;
+        while (skipped < start) {
+          long n = reader.skip(start - skipped);
+          if (n <= 0) {
+            return "";
+          }
+          skipped += n;
+        }
+        int remaining = end == -1 ? Integer.MAX_VALUE : max(0, end - start);
+        StringBuilder range = new StringBuilder();
+        char[] buffer = new char[min(remaining, 8192)];
+        while (remaining > 0) {
+          int n = reader.read(buffer, 0, min(buffer.length, remaining));
+          if (n == -1) {
+            break;
+          }
+          range.append(buffer, 0, n);
+          remaining -= n;
+        }
+        return range.toString();
+      }
+    }
+
+    @Override
+    public void clearCachedSource() {
+      cacheCode(null);
+    }
+
+    @Override
+    boolean isCheapToReload() {
+      return true;
+    }
+
+    @GwtIncompatible("ObjectOutputStream")
+    private void writeObject(java.io.ObjectOutputStream out) throws Exception {
+      out.defaultWriteObject();
+      out.writeObject(inputCharset.name());
+      out.writeObject(path.toUri());
+    }
+
+    @GwtIncompatible("ObjectInputStream")
+    private void readObject(java.io.ObjectInputStream in) throws Exception {
+      in.defaultReadObject();
+      inputCharset = Charset.forName((String) in.readObject());
+      path = Paths.get((URI) in.readObject());
+
+      // Code will be remapped or restored.
+      super.setCode(null);
+    }
+  }
+
+  /** Streams the remaining bytes of a buffer, without copying them. */
+  @GwtIncompatible("java.nio.ByteBuffer")
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? (buffer.get() & 0xff) : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = min(len, buffer.remaining());
+      buffer.get(b, off, count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+
   /**
    * A source file at a zip where the code is only read into memory if absolutely necessary. We will
    * try to delay loading the code into memory as long as possible.
@@ -788,6 +996,7 @@ public class SourceFile implements StaticSourceFile, Serializable {
 
   public void restoreFrom(SourceFile sourceFile) {
     this.code = sourceFile.code;
+    this.lineOffsets = sourceFile.lineOffsets;
   }
 
   @GwtIncompatible("ObjectInputStream")
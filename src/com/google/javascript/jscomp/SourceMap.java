@@ -16,6 +16,8 @@
 
 package com.google.javascript.jscomp;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
 import com.google.debugging.sourcemap.FilePosition;
@@ -25,6 +27,7 @@ import com.google.debugging.sourcemap.SourceMapGeneratorFactory;
 import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
 import com.google.javascript.rhino.Node;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -152,8 +155,53 @@ public final class SourceMap {
   @Nullable
   private SourceFileMapping mapping;
 
+  /**
+   * The mappings added to a source map created by {@link #newRecorder}, in order. {@code null} for
+   * other source maps.
+   */
+  @Nullable private final List<RecordedMapping> recordedMappings;
+
+  /** The arguments of one call to {@link #addMapping} on a recorder. */
+  private static final class RecordedMapping {
+    final Node node;
+    final FilePosition outputStartPosition;
+    final FilePosition outputEndPosition;
+
+    RecordedMapping(Node node, FilePosition outputStartPosition, FilePosition outputEndPosition) {
+      this.node = node;
+      this.outputStartPosition = outputStartPosition;
+      this.outputEndPosition = outputEndPosition;
+    }
+  }
+
   private SourceMap(SourceMapGenerator generator) {
     this.generator = generator;
+    this.recordedMappings = null;
+  }
+
+  private SourceMap(List<RecordedMapping> recordedMappings) {
+    this.generator = null;
+    this.recordedMappings = recordedMappings;
+  }
+
+  /**
+   * Returns a source map that only records the mappings added to it, so that they can be added to
+   * another source map later with {@link #addRecordedMappingsTo}. Recording does not touch any
+   * shared state, so code printers on different threads can each use their own recorder.
+   */
+  static SourceMap newRecorder() {
+    return new SourceMap(new ArrayList<>());
+  }
+
+  /**
+   * Adds the mappings recorded by this source map to {@code target}, relative to the starting
+   * position of {@code target}.
+   */
+  void addRecordedMappingsTo(SourceMap target) {
+    checkState(recordedMappings != null, "Not a recorder");
+    for (RecordedMapping recorded : recordedMappings) {
+      target.addMapping(recorded.node, recorded.outputStartPosition, recorded.outputEndPosition);
+    }
   }
 
   public void addMapping(
@@ -169,6 +217,11 @@ public final class SourceMap {
       return;
     }
 
+    if (recordedMappings != null) {
+      recordedMappings.add(new RecordedMapping(node, outputStartPosition, outputEndPosition));
+      return;
+    }
+
     int lineNo = node.getLineno();
     int charNo = node.getCharno();
     String originalName = SourceMap.getOriginalName(node);
@@ -27,6 +27,7 @@ import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.jstype.JSType;
 import com.google.javascript.rhino.jstype.JSTypeRegistry;
 import com.google.javascript.rhino.jstype.JSTypeResolver;
+import javax.annotation.Nullable;
 
 /** A compiler pass to run the type inference analysis. */
 class TypeInferencePass {
@@ -41,6 +42,7 @@ class TypeInferencePass {
   private TypedScope topScope;
   private final TypedScopeCreator scopeCreator;
   private final AssertionFunctionLookup assertionFunctionLookup;
+  @Nullable private CfgPrefetcher cfgPrefetcher;
 
   TypeInferencePass(
       AbstractCompiler compiler,
@@ -106,8 +108,17 @@ class TypeInferencePass {
     }
     scopeCreator.undoTypeAliasChains();
 
-    new NodeTraversal(compiler, new SecondScopeBuildingCallback(), scopeCreator)
-        .traverseWithScope(inferenceRoot, this.topScope);
+    int numThreads = compiler.getOptions().numParallelThreads;
+    cfgPrefetcher = numThreads > 1 ? new CfgPrefetcher(compiler, inferenceRoot, numThreads) : null;
+    try {
+      new NodeTraversal(compiler, new SecondScopeBuildingCallback(), scopeCreator)
+          .traverseWithScope(inferenceRoot, this.topScope);
+    } finally {
+      if (cfgPrefetcher != null) {
+        cfgPrefetcher.shutdown();
+        cfgPrefetcher = null;
+      }
+    }
 
     // Normalize TypedVars to have the '?' type instead of null after inference is complete. This
     // currently cannot be done any earlier because it breaks inference of variables assigned in
@@ -124,10 +135,11 @@ class TypeInferencePass {
   }
 
   private void inferScope(Node n, TypedScope scope) {
+    ControlFlowGraph<Node> cfg = cfgPrefetcher != null ? cfgPrefetcher.take(n) : null;
     TypeInference typeInference =
         new TypeInference(
             compiler,
-            computeCfg(n),
+            cfg != null ? cfg : computeCfg(compiler, n),
             reverseInterpreter,
             scope,
             scopeCreator,
@@ -137,6 +149,7 @@ class TypeInferencePass {
     } catch (DataFlowAnalysis.MaxIterationsExceededException e) {
       compiler.report(JSError.make(n, DATAFLOW_ERROR));
     }
+    compiler.recordDataFlowSteps(typeInference.getStepCount());
   }
 
   private static class FirstScopeBuildingCallback extends AbstractScopedCallback {
@@ -171,7 +184,7 @@ class TypeInferencePass {
     }
   }
 
-  private ControlFlowGraph<Node> computeCfg(Node n) {
+  static ControlFlowGraph<Node> computeCfg(AbstractCompiler compiler, Node n) {
     ControlFlowAnalysis cfa = new ControlFlowAnalysis(compiler, false, false);
     cfa.process(null, n);
     return cfa.getCfg();
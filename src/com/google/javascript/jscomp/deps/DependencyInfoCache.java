@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.deps;
+
+import javax.annotation.Nullable;
+
+/**
+ * A store of dependency scans that outlives a single run.
+ *
+ * <p>Entries are keyed by a caller-chosen key, naming the file and how it was scanned, together
+ * with the file's contents, so an unchanged file is looked up instead of rescanned. {@link
+ * DepsGenerator} and {@link com.google.javascript.jscomp.CompilerInput} consult the cache they are
+ * configured with before running {@link JsFileRegexParser}.
+ *
+ * <p>Only scans that reported no diagnostics and whose result does not depend on module
+ * resolution are stored, so a cache may be shared between runs with different module roots.
+ */
+public interface DependencyInfoCache {
+
+  /**
+   * Returns the dependency info previously stored for {@code code} under {@code key}, or null if
+   * there is none.
+   */
+  @Nullable
+  DependencyInfo get(String key, String code);
+
+  /** Stores {@code info}, which must be immutable, as the result of scanning {@code code}. */
+  void put(String key, String code, DependencyInfo info);
+}
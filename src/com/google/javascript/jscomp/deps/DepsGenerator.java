@@ -18,11 +18,13 @@ package com.google.javascript.jscomp.deps;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.javascript.jscomp.CheckLevel;
 import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerExecutor;
 import com.google.javascript.jscomp.CompilerOptions;
 import com.google.javascript.jscomp.DiagnosticType;
 import com.google.javascript.jscomp.ErrorManager;
@@ -43,9 +45,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * Generates deps.js files by scanning JavaScript files for
@@ -68,6 +75,8 @@ public class DepsGenerator {
   private final InclusionStrategy mergeStrategy;
   private final ModuleLoader loader;
   final ErrorManager errorManager;
+  @Nullable private DependencyInfoCache dependencyInfoCache;
+  private int numParallelThreads = 1;
 
   static final DiagnosticType ES6_IMPORT_FOR_NON_ES6_MODULE =
       DiagnosticType.warning(
@@ -117,6 +126,22 @@ public class DepsGenerator {
     this.loader = loader;
   }
 
+  /**
+   * Sets where to look up and store the dependency info of unchanged sources, so that they are
+   * neither rescanned nor reparsed.
+   */
+  public void setDependencyInfoCache(@Nullable DependencyInfoCache dependencyInfoCache) {
+    this.dependencyInfoCache = dependencyInfoCache;
+  }
+
+  /**
+   * Sets how many threads parse the sources that miss the cache. Sources are still scanned for
+   * provides and requires one at a time, in order, so diagnostics keep their order.
+   */
+  public void setNumParallelThreads(int numParallelThreads) {
+    this.numParallelThreads = numParallelThreads;
+  }
+
   /**
    * Performs the parsing inputs and writing of outputs.
    * @throws IOException Occurs upon an IO error.
@@ -455,10 +480,8 @@ public class DepsGenerator {
   private Map<String, DependencyInfo> parseSources(
       Set<String> preparsedFiles) throws IOException {
     Map<String, DependencyInfo> parsedFiles = new LinkedHashMap<>();
+    List<ScannedSource> scannedSources = new ArrayList<>();
     JsFileRegexParser jsParser = new JsFileRegexParser(errorManager).setModuleLoader(loader);
-    Compiler compiler = new Compiler();
-    compiler.init(ImmutableList.of(), ImmutableList.of(), new CompilerOptions());
-
     for (SourceFile file : srcs) {
       String closureRelativePath =
           PathUtil.makeRelative(
@@ -468,21 +491,135 @@ public class DepsGenerator {
       }
       if (InclusionStrategy.WHEN_IN_SRCS == mergeStrategy ||
           !preparsedFiles.contains(closureRelativePath)) {
+        String code = file.getCode();
+        String cacheKey = "deps\n" + file.getName() + "\n" + closureRelativePath;
         DependencyInfo depInfo =
-            jsParser.parseFile(
-                file.getName(), closureRelativePath,
-                file.getCode());
-        depInfo = new LazyParsedDependencyInfo(depInfo, new JsAst(file), compiler);
+            dependencyInfoCache != null ? dependencyInfoCache.get(cacheKey, code) : null;
+        if (depInfo == null) {
+          int diagnosticCount = errorManager.getErrorCount() + errorManager.getWarningCount();
+          depInfo = jsParser.parseFile(file.getName(), closureRelativePath, code);
+          // Diagnostics are not replayed on a hit, and ES6 module names depend on the module
+          // roots, so only clean scans of non-ES6 files are stored.
+          boolean cacheable =
+              dependencyInfoCache != null
+                  && errorManager.getErrorCount() + errorManager.getWarningCount()
+                      == diagnosticCount
+                  && !"es6".equals(depInfo.getLoadFlags().get("module"));
+          scannedSources.add(
+              new ScannedSource(file, closureRelativePath, depInfo, cacheable ? cacheKey : null));
+        }
 
         // Kick the source out of memory.
         file.clearCachedSource();
+        // A scanned source's info is replaced below, once its load flags can be parsed.
         parsedFiles.put(closureRelativePath, depInfo);
       }
     }
 
+    if (dependencyInfoCache != null || numParallelThreads > 1) {
+      resolveLoadFlags(scannedSources, parsedFiles);
+    } else {
+      Compiler compiler = newLoadFlagsCompiler();
+      for (ScannedSource source : scannedSources) {
+        parsedFiles.put(source.closureRelativePath, source.lazilyParsed(compiler));
+      }
+    }
     return parsedFiles;
   }
 
+  /** A source that missed the cache, whose load flags are not yet known. */
+  private static final class ScannedSource {
+    final SourceFile file;
+    final String closureRelativePath;
+    final DependencyInfo depInfo;
+    /** The key to store the finished info under, or null if it must not be cached. */
+    @Nullable final String cacheKey;
+
+    ScannedSource(
+        SourceFile file,
+        String closureRelativePath,
+        DependencyInfo depInfo,
+        @Nullable String cacheKey) {
+      this.file = file;
+      this.closureRelativePath = closureRelativePath;
+      this.depInfo = depInfo;
+      this.cacheKey = cacheKey;
+    }
+
+    /** Returns the info, with load flags that {@code compiler} parses the source for. */
+    LazyParsedDependencyInfo lazilyParsed(Compiler compiler) {
+      return new LazyParsedDependencyInfo(depInfo, new JsAst(file), compiler);
+    }
+  }
+
+  /** Returns a compiler to parse sources for their load flags with. */
+  private static Compiler newLoadFlagsCompiler() {
+    Compiler compiler = new Compiler();
+    compiler.init(ImmutableList.of(), ImmutableList.of(), new CompilerOptions());
+    return compiler;
+  }
+
+  /**
+   * Parses the scanned sources for their load flags, which needs a full parse of each, puts the
+   * finished info in {@code parsedFiles} and stores it in the cache. Each thread parses with its
+   * own compiler, so that parse errors are not reported from several threads into one.
+   */
+  private void resolveLoadFlags(
+      List<ScannedSource> scannedSources, Map<String, DependencyInfo> parsedFiles)
+      throws IOException {
+    if (numParallelThreads <= 1 || scannedSources.size() <= 1) {
+      Compiler compiler = newLoadFlagsCompiler();
+      for (ScannedSource source : scannedSources) {
+        parsedFiles.put(source.closureRelativePath, resolveLoadFlags(source, compiler));
+      }
+      return;
+    }
+    ThreadLocal<Compiler> compilers = ThreadLocal.withInitial(DepsGenerator::newLoadFlagsCompiler);
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(numParallelThreads, scannedSources.size()),
+            r -> {
+              Thread t =
+                  new Thread(
+                      null, r, "jscompiler-DepsGenerator", CompilerExecutor.COMPILER_STACK_SIZE);
+              t.setDaemon(true); // Do not prevent the JVM from exiting.
+              return t;
+            });
+    try {
+      List<Future<DependencyInfo>> futures = new ArrayList<>(scannedSources.size());
+      for (ScannedSource source : scannedSources) {
+        futures.add(executor.submit(() -> resolveLoadFlags(source, compilers.get())));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        parsedFiles.put(scannedSources.get(i).closureRelativePath, futures.get(i).get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private DependencyInfo resolveLoadFlags(ScannedSource source, Compiler compiler)
+      throws IOException {
+    LazyParsedDependencyInfo depInfo = source.lazilyParsed(compiler);
+    if (source.cacheKey == null) {
+      depInfo.getLoadFlags();
+      return depInfo;
+    }
+    // Read the code first so that it stays in memory for both the parse and the cache key.
+    String code = source.file.getCode();
+    dependencyInfoCache.put(
+        source.cacheKey, code, SimpleDependencyInfo.Builder.from(depInfo).build());
+    source.file.clearCachedSource();
+    return depInfo;
+  }
+
   /**
    * Creates the content to put into the output deps.js file. If mergeDeps is
    * true, then all of the dependency information in the providedDeps will be
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.deps;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.GwtIncompatible;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DependencyInfoCache} that keeps one file per entry in a directory, so that it can be
+ * shared between processes.
+ *
+ * <p>File names are the SHA-256 of the key, the file contents and the cache format, so an edited
+ * file simply misses. Nothing is ever evicted; clearing the directory is always safe.
+ */
+@GwtIncompatible("java.nio.file")
+public final class DiskDependencyInfoCache implements DependencyInfoCache {
+
+  private static final Logger logger = Logger.getLogger(DiskDependencyInfoCache.class.getName());
+
+  /** Bump whenever the layout of an entry, or what the scanners record, changes. */
+  private static final int FORMAT_VERSION = 1;
+
+  private final Path directory;
+
+  public DiskDependencyInfoCache(Path directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  @Nullable
+  public DependencyInfo get(String key, String code) {
+    Path entry = entryPath(key, code);
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(entry);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Unable to read dependency cache entry " + entry, e);
+      return null;
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return (DependencyInfo) in.readObject();
+    } catch (IOException | ClassNotFoundException | RuntimeException e) {
+      // A truncated or stale entry is just a miss; the fresh scan will overwrite it.
+      logger.log(Level.WARNING, "Ignoring unreadable dependency cache entry " + entry, e);
+      return null;
+    }
+  }
+
+  @Override
+  public void put(String key, String code, DependencyInfo info) {
+    Path entry = entryPath(key, code);
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(info);
+      }
+      Files.createDirectories(directory);
+      // Write under a unique name and then rename, so concurrent runs never see a partial entry.
+      Path temp = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+      try {
+        Files.write(temp, bytes.toByteArray());
+        Files.move(
+            temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Unable to write dependency cache entry " + entry, e);
+    }
+  }
+
+  private Path entryPath(String key, String code) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putInt(FORMAT_VERSION);
+    hasher.putString(key, UTF_8);
+    // Separates the key from the code, so that no two (key, code) pairs hash the same input.
+    hasher.putInt(key.length());
+    hasher.putString(code, UTF_8);
+    return directory.resolve(hasher.hash() + ".deps");
+  }
+}
@@ -33,7 +33,6 @@ import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.CheckLevel;
 import com.google.javascript.jscomp.CompilerPass;
 import com.google.javascript.jscomp.InvalidatingTypes;
-import com.google.javascript.jscomp.NodeTraversal;
 import com.google.javascript.jscomp.TypeMismatch;
 import com.google.javascript.jscomp.diagnostic.LogFile;
 import com.google.javascript.jscomp.graph.DiGraph;
@@ -55,11 +54,24 @@ public final class DisambiguateProperties2 implements CompilerPass {
   private final ImmutableSet<TypeMismatch> mismatches;
   private final JSTypeRegistry registry;
   private final InvalidatingTypes invalidations;
+  private final int numThreads;
 
   public DisambiguateProperties2(
       AbstractCompiler compiler,
       ImmutableMap<String, CheckLevel> invalidationReportingLevelByProp) {
+    this(compiler, invalidationReportingLevelByProp, 1);
+  }
+
+  /**
+   * @param numThreads how many threads may look for property references, one script at a time.
+   *     The result does not depend on it.
+   */
+  public DisambiguateProperties2(
+      AbstractCompiler compiler,
+      ImmutableMap<String, CheckLevel> invalidationReportingLevelByProp,
+      int numThreads) {
     this.compiler = compiler;
+    this.numThreads = numThreads;
     this.invalidationReportingLevelByProp = invalidationReportingLevelByProp;
     this.registry = this.compiler.getTypeRegistry();
 
@@ -95,7 +107,8 @@ public final class DisambiguateProperties2 implements CompilerPass {
             /* errorCb= */ this.compiler::report,
             /* mutationCb= */ this.compiler::reportChangeToEnclosingScope);
 
-    NodeTraversal.traverse(this.compiler, externs.getParent(), findRefs);
+    ParallelFindPropertyReferences.traverse(
+        this.compiler, externs.getParent(), findRefs, this.numThreads);
     Map<String, PropertyClustering> propIndex = findRefs.getPropertyIndex();
     this.logForDiagnostics(
         "prop_refs",
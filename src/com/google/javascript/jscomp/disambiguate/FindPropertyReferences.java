@@ -16,6 +16,7 @@
 
 package com.google.javascript.jscomp.disambiguate;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.javascript.jscomp.JSError;
@@ -25,15 +26,22 @@ import com.google.javascript.jscomp.NodeUtil;
 import com.google.javascript.jscomp.PropertyRenamingDiagnostics;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.jstype.JSType;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.function.Consumer;
-import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * Traverses the AST, collecting connections between {@link JSType}s, property access, and their
  * accociated {@link Node}s.
  *
  * <p>This callback is intended for both source and externs.
+ *
+ * <p>A finder may also be created by {@link #newRecorder} to traverse scripts on other threads.
+ * Such a finder only records the uses it sees, without looking at their types, so that they can be
+ * handed to the finder that owns the type index in the order a single traversal would have found
+ * them.
  */
 final class FindPropertyReferences extends AbstractPostOrderCallback {
 
@@ -63,11 +71,48 @@ final class FindPropertyReferences extends AbstractPostOrderCallback {
   private final Consumer<JSError> errorCb;
   private final IsPropertyDefiner isPropertyDefiner;
 
+  /** The uses and errors found so far, if this finder only records them. */
+  @Nullable private final ArrayList<Recorded> recorded;
+
   FindPropertyReferences(
       TypeFlattener flattener, Consumer<JSError> errorCb, IsPropertyDefiner isPropertyDefiner) {
     this.flattener = flattener;
     this.errorCb = errorCb;
     this.isPropertyDefiner = isPropertyDefiner;
+    this.recorded = null;
+  }
+
+  private FindPropertyReferences(
+      IsPropertyDefiner isPropertyDefiner, ArrayList<Recorded> recorded) {
+    this.flattener = null;
+    this.errorCb = (error) -> recorded.add(new RecordedError(error));
+    this.isPropertyDefiner = isPropertyDefiner;
+    this.recorded = recorded;
+    this.propIndex = null;
+  }
+
+  /**
+   * Creates a finder that records the property uses and errors it finds, to be passed to {@link
+   * #addRecorded} on this finder later.
+   *
+   * <p>Recording neither flattens nor otherwise changes any type, so recorders may traverse
+   * different scripts at the same time.
+   */
+  FindPropertyReferences newRecorder() {
+    return new FindPropertyReferences(this.isPropertyDefiner, new ArrayList<>());
+  }
+
+  /** Returns what a finder created by {@link #newRecorder} has found. */
+  List<Recorded> getRecorded() {
+    return checkNotNull(this.recorded);
+  }
+
+  /** Registers the uses and reports the errors a recorder found, in the order it found them. */
+  void addRecorded(List<Recorded> uses) {
+    checkState(this.recorded == null);
+    for (Recorded use : uses) {
+      use.addTo(this);
+    }
   }
 
   LinkedHashMap<String, PropertyClustering> getPropertyIndex() {
@@ -80,7 +125,7 @@ final class FindPropertyReferences extends AbstractPostOrderCallback {
   public void visit(NodeTraversal t, Node n, Node parent) {
     switch (n.getToken()) {
       case GETPROP:
-        this.registerPropertyUse(n.getLastChild(), n.getFirstChild().getJSType());
+        this.registerPropertyUse(n.getLastChild(), n.getFirstChild(), false);
         break;
       case OBJECTLIT:
         this.handleObjectLit(n);
@@ -105,8 +150,7 @@ final class FindPropertyReferences extends AbstractPostOrderCallback {
       return;
     }
 
-    JSType owner = n.getJSType();
-    this.traverseObjectlitLike(n, (m) -> owner);
+    this.traverseObjectlitLike(n, n, false);
   }
 
   /** Examines calls in case they are Object.defineProperties calls */
@@ -125,19 +169,11 @@ final class FindPropertyReferences extends AbstractPostOrderCallback {
   }
 
   private void handleClass(Node classNode) {
-    JSType classType = classNode.getJSType();
-    JSType classPrototypeType =
-        // the class type may not be a function type if it was in a cast, so treat it as unknown
-        classType.isFunctionType() ? classType.toMaybeFunctionType().getPrototypeProperty() : null;
-
-    this.traverseObjectlitLike(
-        NodeUtil.getClassMembers(classNode),
-        (m) -> m.isStaticMember() ? classType : classPrototypeType);
+    this.traverseObjectlitLike(NodeUtil.getClassMembers(classNode), classNode, true);
   }
 
   private void handleObjectPattern(Node pattern) {
-    JSType owner = pattern.getJSType();
-    this.traverseObjectlitLike(pattern, (m) -> owner);
+    this.traverseObjectlitLike(pattern, pattern, false);
   }
 
   private void handlePropertyDefiningFunctionCall(Node call, String renameFunctionName) {
@@ -176,7 +212,7 @@ final class FindPropertyReferences extends AbstractPostOrderCallback {
     }
 
     Node obj = call.getChildAtIndex(2);
-    this.registerPropertyUse(call.getSecondChild(), obj.getJSType());
+    this.registerPropertyUse(call.getSecondChild(), obj, false);
   }
 
   private void handleObjectDefineProperties(Node call) {
@@ -186,11 +222,14 @@ final class FindPropertyReferences extends AbstractPostOrderCallback {
       return;
     }
 
-    JSType type = typeObj.getJSType();
-    this.traverseObjectlitLike(objectLiteral, (m) -> type);
+    this.traverseObjectlitLike(objectLiteral, typeObj, false);
   }
 
-  private void traverseObjectlitLike(Node n, Function<Node, JSType> memberOwnerFn) {
+  /**
+   * Registers the members of {@code n} as uses on the type of {@code receiver}, or for a class,
+   * non-static members as uses on its prototype.
+   */
+  private void traverseObjectlitLike(Node n, Node receiver, boolean isClass) {
     // The keys in an object pattern are r-values, not l-values, but they are still accesses.
     checkState(n.isObjectLit() || n.isObjectPattern() || n.isClassMembers());
 
@@ -209,7 +248,7 @@ final class FindPropertyReferences extends AbstractPostOrderCallback {
             continue; // These won't be renamed due to our assumptions. Ignore them.
           }
 
-          this.registerPropertyUse(child, memberOwnerFn.apply(child));
+          this.registerPropertyUse(child, receiver, isClass && !child.isStaticMember());
           break;
 
         default:
@@ -220,10 +259,20 @@ final class FindPropertyReferences extends AbstractPostOrderCallback {
   }
 
   /**
-   * Update all datastructures as necessary to consider property use {@code site} from type {@code
-   * owner}.
+   * Update all datastructures as necessary to consider property use {@code site} from the type of
+   * {@code receiver}, or the prototype of the class {@code receiver} if {@code onClassPrototype}.
    */
-  private void registerPropertyUse(Node site, JSType owner) {
+  private void registerPropertyUse(Node site, Node receiver, boolean onClassPrototype) {
+    if (this.recorded != null) {
+      this.recorded.add(new RecordedUse(site, receiver, onClassPrototype));
+      return;
+    }
+
+    JSType owner = receiver.getJSType();
+    if (onClassPrototype) {
+      // the class type may not be a function type if it was in a cast, so treat it as unknown
+      owner = owner.isFunctionType() ? owner.toMaybeFunctionType().getPrototypeProperty() : null;
+    }
     PropertyClustering prop =
         this.propIndex.computeIfAbsent(site.getString(), PropertyClustering::new);
     FlatType flatOwner = this.flattener.flatten(owner);
@@ -240,4 +289,44 @@ final class FindPropertyReferences extends AbstractPostOrderCallback {
       prop.registerExternType(flatOwner);
     }
   }
+
+  /** A use or error found by a recorder, to be passed on to the finder that owns the index. */
+  abstract static class Recorded {
+    abstract void addTo(FindPropertyReferences finder);
+  }
+
+  /**
+   * A use found by a recorder. The owner type is looked up when the use is registered, since
+   * finding the prototype of a class may create it.
+   */
+  private static final class RecordedUse extends Recorded {
+    private final Node site;
+    private final Node receiver;
+    private final boolean onClassPrototype;
+
+    RecordedUse(Node site, Node receiver, boolean onClassPrototype) {
+      this.site = site;
+      this.receiver = receiver;
+      this.onClassPrototype = onClassPrototype;
+    }
+
+    @Override
+    void addTo(FindPropertyReferences finder) {
+      finder.registerPropertyUse(this.site, this.receiver, this.onClassPrototype);
+    }
+  }
+
+  /** An error found by a recorder. */
+  private static final class RecordedError extends Recorded {
+    private final JSError error;
+
+    RecordedError(JSError error) {
+      this.error = error;
+    }
+
+    @Override
+    void addTo(FindPropertyReferences finder) {
+      finder.errorCb.accept(this.error);
+    }
+  }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.disambiguate;
+
+import com.google.common.base.Throwables;
+import com.google.javascript.jscomp.AbstractCompiler;
+import com.google.javascript.jscomp.CompilerExecutor;
+import com.google.javascript.jscomp.NodeTraversal;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs {@link FindPropertyReferences} over each script on its own thread.
+ *
+ * <p>Each script is traversed by a recorder, and the uses the recorders find are then registered
+ * with the real finder on the calling thread, script by script. So types are flattened, and given
+ * their ids, in the same order as in a single traversal, and the disambiguated names do not depend
+ * on the number of threads.
+ */
+final class ParallelFindPropertyReferences {
+
+  private ParallelFindPropertyReferences() {}
+
+  /**
+   * Traverses {@code root}, the parent of the externs and sources roots, like {@link
+   * NodeTraversal#traverse} with {@code findRefs}.
+   */
+  static void traverse(
+      AbstractCompiler compiler, Node root, FindPropertyReferences findRefs, int numThreads) {
+    List<Node> scripts = new ArrayList<>();
+    for (Node scriptsRoot = root.getFirstChild();
+        scriptsRoot != null;
+        scriptsRoot = scriptsRoot.getNext()) {
+      for (Node script = scriptsRoot.getFirstChild(); script != null; script = script.getNext()) {
+        scripts.add(script);
+      }
+    }
+    if (numThreads <= 1 || scripts.size() < 2) {
+      NodeTraversal.traverse(compiler, root, findRefs);
+      return;
+    }
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            numThreads,
+            r -> {
+              Thread t =
+                  new Thread(
+                      null,
+                      r,
+                      "jscompiler-FindPropertyReferences",
+                      CompilerExecutor.COMPILER_STACK_SIZE);
+              t.setDaemon(true); // Do not prevent the JVM from exiting.
+              return t;
+            });
+    try {
+      List<Future<List<FindPropertyReferences.Recorded>>> futures = new ArrayList<>(scripts.size());
+      for (Node script : scripts) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  FindPropertyReferences recorder = findRefs.newRecorder();
+                  NodeTraversal.traverse(compiler, script, recorder);
+                  return recorder.getRecorded();
+                }));
+      }
+      for (Future<List<FindPropertyReferences.Recorded>> future : futures) {
+        findRefs.addRecorded(getResult(future));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static <T> T getResult(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+}
@@ -21,7 +21,12 @@ import static java.lang.Math.max;
 
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -78,11 +83,7 @@ public final class FixedPointGraphTraversal<N, E> {
    * @param graph The graph to traverse.
    */
   public void computeFixedPoint(DiGraph<N, E> graph) {
-    Set<N> nodes = new LinkedHashSet<>();
-    for (DiGraphNode<N, E> node : graph.getNodes()) {
-      nodes.add(node.getValue());
-    }
-    computeFixedPoint(graph, nodes);
+    computeFixedPoint(new IndexedGraph<>(graph, traversalDirection));
   }
 
   /**
@@ -98,6 +99,12 @@ public final class FixedPointGraphTraversal<N, E> {
 
   /**
    * Compute a fixed point for the given graph, entering from the given nodes.
+   *
+   * <p>Unlike {@link #computeFixedPoint(DiGraph)}, this traverses the graph itself rather than a
+   * snapshot of it, so that its cost only depends on the part of the graph that is reached. Some
+   * callers, like {@link GraphReachability#recompute}, traverse a large graph from a single node
+   * many times.
+   *
    * @param graph The graph to traverse.
    * @param entrySet The nodes to begin traversing from.
    */
@@ -122,32 +129,134 @@ public final class FixedPointGraphTraversal<N, E> {
   }
 
   private void visitNode(DiGraphNode<N, E> node, LinkedHashSet<DiGraphNode<N, E>> workSet) {
-    // For every out edge in the workSet, traverse that edge. If that
+    // For every edge from the node, traverse that edge. If that
     // edge updates the state of the graph, then add the destination
-    // node to the resultSet, so that we can update all of its out edges
+    // node to the workSet, so that we can update all of its edges
     // on the next iteration.
     workSet.remove(node);
-    switch (traversalDirection) {
-      case OUTWARDS:
-        N sourceValue = node.getValue();
-        for (DiGraphEdge<N, E> edge : node.getOutEdges()) {
-          N destValue = edge.getDestination().getValue();
-          if (callback.traverseEdge(sourceValue, edge.getValue(), destValue)) {
-            workSet.add(edge.getDestination());
-          }
+    N sourceValue = node.getValue();
+    for (DiGraphEdge<N, E> edge : IndexedGraph.edgesToTraverse(node, traversalDirection)) {
+      DiGraphNode<N, E> dest =
+          traversalDirection == TraversalDirection.OUTWARDS
+              ? edge.getDestination()
+              : edge.getSource();
+      if (callback.traverseEdge(sourceValue, edge.getValue(), dest.getValue())) {
+        workSet.add(dest);
+      }
+    }
+  }
+
+  /**
+   * Visits the nodes of the snapshot in first-in first-out order, starting with all of them in
+   * order. A node that is already waiting to be visited is not queued again, so that a node is
+   * never waiting more than once, which bounds the queue by the number of nodes.
+   */
+  private void computeFixedPoint(IndexedGraph<N, E> graph) {
+    int cycleCount = 0;
+    long nodeCount = graph.size();
+
+    // Choose a bail-out heuristically in case the computation
+    // doesn't converge.
+    long maxIterations = max(nodeCount * nodeCount * nodeCount, 100);
+
+    // A ring buffer of the nodes waiting to be visited, and the set of them.
+    int[] queue = new int[max(graph.size(), 1)];
+    int head = 0;
+    int queueSize = 0;
+    BitSet queued = new BitSet(graph.size());
+    queued.set(0, graph.size());
+    for (int node = 0; node < graph.size(); node++) {
+      queue[queueSize++] = node;
+    }
+
+    for (; queueSize > 0 && cycleCount < maxIterations; cycleCount++) {
+      int node = queue[head];
+      head = (head + 1) % queue.length;
+      queueSize--;
+      queued.clear(node);
+
+      // For every edge from the node, traverse that edge. If that
+      // edge updates the state of the graph, then queue the destination
+      // node, so that we can update all of its edges later.
+      N sourceValue = graph.values[node];
+      for (int edge = graph.edgeStarts[node]; edge < graph.edgeStarts[node + 1]; edge++) {
+        int dest = graph.edgeDestinations[edge];
+        if (callback.traverseEdge(sourceValue, graph.edgeValues[edge], graph.values[dest])
+            && !queued.get(dest)) {
+          queued.set(dest);
+          queue[(head + queueSize++) % queue.length] = dest;
         }
-        return;
-      case INWARDS:
-        N revSourceValue = node.getValue();
-        for (DiGraphEdge<N, E> edge : node.getInEdges()) {
-          N revDestValue = edge.getSource().getValue();
-          if (callback.traverseEdge(revSourceValue, edge.getValue(), revDestValue)) {
-            workSet.add(edge.getSource());
-          }
+      }
+    }
+
+    checkState(cycleCount != maxIterations, NON_HALTING_ERROR_MSG);
+  }
+
+  /**
+   * A snapshot of the edges of a graph to traverse, in compressed sparse row form. Nodes are
+   * numbered in the order of {@link DiGraph#getNodes}, and the edges to traverse from node {@code
+   * i} are the edges from {@code edgeStarts[i]} up to {@code edgeStarts[i + 1]}, in the order of
+   * the edge lists of the graph.
+   *
+   * <p>Traversing the snapshot does not hash any graph node, unlike traversing the graph itself.
+   */
+  private static final class IndexedGraph<N, E> {
+    private final Map<DiGraphNode<N, E>, Integer> indices = new IdentityHashMap<>();
+    final N[] values;
+    final int[] edgeStarts;
+    final int[] edgeDestinations;
+    final E[] edgeValues;
+
+    @SuppressWarnings("unchecked")
+    IndexedGraph(DiGraph<N, E> graph, TraversalDirection direction) {
+      List<DiGraphNode<N, E>> nodes = new ArrayList<>();
+      for (DiGraphNode<N, E> node : graph.getNodes()) {
+        indices.put(node, nodes.size());
+        nodes.add(node);
+      }
+
+      values = (N[]) new Object[nodes.size()];
+      edgeStarts = new int[nodes.size() + 1];
+      int edgeCount = 0;
+      for (int i = 0; i < nodes.size(); i++) {
+        values[i] = nodes.get(i).getValue();
+        edgeStarts[i] = edgeCount;
+        edgeCount += edgesToTraverse(nodes.get(i), direction).size();
+      }
+      edgeStarts[nodes.size()] = edgeCount;
+
+      edgeDestinations = new int[edgeCount];
+      edgeValues = (E[]) new Object[edgeCount];
+      int edge = 0;
+      for (DiGraphNode<N, E> node : nodes) {
+        for (DiGraphEdge<N, E> e : edgesToTraverse(node, direction)) {
+          DiGraphNode<N, E> dest =
+              direction == TraversalDirection.OUTWARDS ? e.getDestination() : e.getSource();
+          edgeDestinations[edge] = indexOf(dest);
+          edgeValues[edge] = e.getValue();
+          edge++;
         }
-        return;
+      }
+    }
+
+    private static <N, E> List<? extends DiGraphEdge<N, E>> edgesToTraverse(
+        DiGraphNode<N, E> node, TraversalDirection direction) {
+      switch (direction) {
+        case OUTWARDS:
+          return node.getOutEdges();
+        case INWARDS:
+          return node.getInEdges();
+      }
+      throw new AssertionError("Unrecognized direction " + direction);
+    }
+
+    int size() {
+      return values.length;
+    }
+
+    int indexOf(DiGraphNode<N, E> node) {
+      return indices.get(node);
     }
-    throw new AssertionError("Unrecognized direction " + traversalDirection);
   }
 
   /** Edge callback */
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.javascript.rhino.Node;
+import java.util.List;
+
+/** GWT compatible version of {@code ParallelScopeTraversal}, which traverses serially. */
+final class ParallelScopeTraversal {
+  private final AbstractCompiler compiler;
+
+  ParallelScopeTraversal(AbstractCompiler compiler, int numThreads) {
+    this.compiler = compiler;
+  }
+
+  void traverseScopeRoots(Node root, List<Node> scopeNodes, NodeTraversal.Callback cb) {
+    NodeTraversal.traverseScopeRoots(compiler, root, scopeNodes, cb, false);
+  }
+
+  static boolean deferChange(Node changeScope) {
+    return false;
+  }
+
+  static boolean deferFunctionDeleted(Node function) {
+    return false;
+  }
+
+  static boolean deferError(JSError error) {
+    return false;
+  }
+}
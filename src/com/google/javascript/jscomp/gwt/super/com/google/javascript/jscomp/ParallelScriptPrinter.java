@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.javascript.rhino.Node;
+import java.util.List;
+
+/** GWT compatible no-op version of {@code ParallelScriptPrinter}, which prints nothing. */
+final class ParallelScriptPrinter {
+
+  interface ScriptPrinter {
+    String print(int index, Node script, SourceMap sourceMap);
+  }
+
+  static final class PrintedScript {
+    String getCode() {
+      throw new UnsupportedOperationException();
+    }
+
+    SourceMap getSourceMap() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  ParallelScriptPrinter(int numThreads) {}
+
+  List<PrintedScript> print(List<Node> scripts, boolean recordSourceMaps, ScriptPrinter printer) {
+    return null;
+  }
+}
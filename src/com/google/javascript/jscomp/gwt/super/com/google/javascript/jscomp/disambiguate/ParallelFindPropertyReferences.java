@@ -0,0 +1,32 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.disambiguate;
+
+import com.google.javascript.jscomp.AbstractCompiler;
+import com.google.javascript.jscomp.NodeTraversal;
+import com.google.javascript.rhino.Node;
+
+/** GWT compatible version of {@code ParallelFindPropertyReferences}, which traverses serially. */
+final class ParallelFindPropertyReferences {
+
+  private ParallelFindPropertyReferences() {}
+
+  static void traverse(
+      AbstractCompiler compiler, Node root, FindPropertyReferences findRefs, int numThreads) {
+    NodeTraversal.traverse(compiler, root, findRefs);
+  }
+}
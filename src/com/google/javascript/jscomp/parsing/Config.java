@@ -141,6 +141,13 @@ public abstract class Config {
   /** Whether to parse inline source maps (//# sourceMappingURL=data:...). */
   public abstract boolean parseInlineSourceMaps();
 
+  /**
+   * Whether to parse JSDoc comments only when their {@link com.google.javascript.rhino.JSDocInfo}
+   * is first read. Comments that are never read are never parsed, and comments parsed that way
+   * report no diagnostics.
+   */
+  public abstract boolean parseJsDocLazily();
+
   final ImmutableSet<String> annotationNames() {
     return annotations().keySet();
   }
@@ -154,9 +161,12 @@ public abstract class Config {
         .setExtraAnnotationNames(ImmutableSet.<String>of())
         .setSuppressionNames(ImmutableSet.<String>of())
         .setClosurePrimitiveNames(ImmutableSet.of())
-        .setParseInlineSourceMaps(false);
+        .setParseInlineSourceMaps(false)
+        .setParseJsDocLazily(false);
   }
 
+  public abstract Builder toBuilder();
+
   /** Builder for a Config. */
   @AutoValue.Builder
   public abstract static class Builder {
@@ -170,6 +180,8 @@ public abstract class Config {
 
     public abstract Builder setParseInlineSourceMaps(boolean parseInlineSourceMaps);
 
+    public abstract Builder setParseJsDocLazily(boolean parseJsDocLazily);
+
     public abstract Builder setSuppressionNames(Iterable<String> names);
 
     abstract Builder setClosurePrimitiveNames(Iterable<String> names);
@@ -125,6 +125,7 @@ import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.JSDocInfoBuilder;
+import com.google.javascript.rhino.LazyJSDocInfo;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.NonJSDocComment;
 import com.google.javascript.rhino.StaticSourceFile;
@@ -217,6 +218,17 @@ class IRFactory {
           "implements", "interface", "let", "package", "private", "protected",
           "public", "static", "yield");
 
+  /** Annotations that make a comment apply to the whole file rather than to the next node. */
+  private static final ImmutableList<String> FILE_LEVEL_ANNOTATIONS =
+      ImmutableList.of(
+          "@fileoverview",
+          "@externs",
+          "@nocompile",
+          "@typeSummary",
+          "@license",
+          "@preserve",
+          "@copyright");
+
   /**
    * If non-null, use this set of keywords instead of TokenStream.isKeyword().
    */
@@ -610,26 +622,90 @@ class IRFactory {
     return hasPendingCommentBefore(tree.location);
   }
 
-  private JSDocInfo handleJsDoc(Comment comment) {
-    if (comment != null) {
-      JsDocInfoParser jsDocParser = createJsDocInfoParser(comment);
+  /**
+   * Parses {@code comment}, or defers parsing it if the config asks for lazy JSDoc and
+   * {@code mayDefer} is set.
+   */
+  @Nullable
+  private PendingJsDoc handleJsDoc(@Nullable Comment comment, boolean mayDefer) {
+    if (comment == null) {
+      return null;
+    }
+    if (mayDefer && config.parseJsDocLazily() && !mayHoldFileLevelJsDoc(comment)) {
       parsedComments.add(comment);
-      if (!handlePossibleFileOverviewJsDoc(jsDocParser)) {
-        return jsDocParser.retrieveAndResetParsedJSDocInfo();
-      }
+      Node template = templateNode;
+      Config config = this.config;
+      return PendingJsDoc.deferred(
+          new LazyJSDocInfo(() -> parseDeferredJsDoc(comment, template, config)));
+    }
+    JsDocInfoParser jsDocParser = createJsDocInfoParser(comment);
+    parsedComments.add(comment);
+    if (!handlePossibleFileOverviewJsDoc(jsDocParser)) {
+      return PendingJsDoc.parsed(jsDocParser.retrieveAndResetParsedJSDocInfo());
     }
     return null;
   }
 
-  private JSDocInfo handleJsDoc(ParseTree node) {
+  private PendingJsDoc handleJsDoc(ParseTree node) {
     if (!shouldAttachJSDocHere(node)) {
       return null;
     }
-    return handleJsDoc(getJsDoc(node));
+    // Whether a parenthesized expression is a cast depends on its JSDoc.
+    return handleJsDoc(getJsDoc(node), node.type != ParseTreeType.PAREN_EXPRESSION);
+  }
+
+  PendingJsDoc handleJsDoc(com.google.javascript.jscomp.parsing.parser.Token token) {
+    return handleJsDoc(getJsDoc(token), true);
   }
 
-  JSDocInfo handleJsDoc(com.google.javascript.jscomp.parsing.parser.Token token) {
-    return handleJsDoc(getJsDoc(token));
+  /** A JSDoc comment found for a node, either already parsed or parsed when first read. */
+  private static final class PendingJsDoc {
+    @Nullable private final JSDocInfo parsed;
+    @Nullable private final LazyJSDocInfo deferred;
+
+    private PendingJsDoc(@Nullable JSDocInfo parsed, @Nullable LazyJSDocInfo deferred) {
+      this.parsed = parsed;
+      this.deferred = deferred;
+    }
+
+    @Nullable
+    static PendingJsDoc parsed(@Nullable JSDocInfo info) {
+      return info != null ? new PendingJsDoc(info, null) : null;
+    }
+
+    static PendingJsDoc deferred(LazyJSDocInfo info) {
+      return new PendingJsDoc(null, info);
+    }
+
+    /** Returns the parsed comment, or fails if parsing it was deferred. */
+    JSDocInfo getParsed() {
+      checkState(parsed != null, "JSDoc was deferred");
+      return parsed;
+    }
+
+    void attachTo(Node node) {
+      if (parsed != null) {
+        node.setJSDocInfo(parsed);
+      } else {
+        node.setLazyJSDocInfo(deferred);
+      }
+    }
+  }
+
+  /**
+   * Whether {@code comment} may apply to the whole file rather than to the next node. Such comments
+   * are always parsed right away, and in order, since each one affects how the next is handled.
+   */
+  private static boolean mayHoldFileLevelJsDoc(Comment comment) {
+    if (comment.type == Comment.Type.IMPORTANT) {
+      return true;
+    }
+    for (String annotation : FILE_LEVEL_ANNOTATIONS) {
+      if (comment.value.contains(annotation)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   private boolean shouldAttachJSDocHere(ParseTree tree) {
@@ -773,7 +849,7 @@ class IRFactory {
   }
 
   Node transform(ParseTree tree) {
-    JSDocInfo info = handleJsDoc(tree);
+    PendingJsDoc jsDoc = handleJsDoc(tree);
     NonJSDocComment associatedNonJSDocComment = null;
     if (config.jsDocParsingMode() == JsDocParsing.INCLUDE_ALL_COMMENTS) {
       ArrayList<Comment> nonJSDocComments = getNonJSDocComments(tree);
@@ -782,9 +858,9 @@ class IRFactory {
       }
     }
     Node node = transformDispatcher.process(tree);
-    if (info != null) {
-      node = maybeInjectCastNode(tree, info, node);
-      node.setJSDocInfo(info);
+    if (jsDoc != null) {
+      node = maybeInjectCastNode(tree, jsDoc, node);
+      jsDoc.attachTo(node);
     }
     if (this.config.jsDocParsingMode() == JsDocParsing.INCLUDE_ALL_COMMENTS) {
       if (associatedNonJSDocComment != null) {
@@ -796,8 +872,9 @@ class IRFactory {
     return node;
   }
 
-  private Node maybeInjectCastNode(ParseTree node, JSDocInfo info, Node irNode) {
-    if (node.type == ParseTreeType.PAREN_EXPRESSION && info.hasType()) {
+  private Node maybeInjectCastNode(ParseTree node, PendingJsDoc jsDoc, Node irNode) {
+    // The JSDoc of parenthesized expressions is never deferred.
+    if (node.type == ParseTreeType.PAREN_EXPRESSION && jsDoc.getParsed().hasType()) {
       irNode = newNode(Token.CAST, irNode);
     }
     return irNode;
@@ -815,7 +892,7 @@ class IRFactory {
    *     Comments</a>
    */
   Node transformNodeWithInlineComments(ParseTree tree) {
-    JSDocInfo info = handleInlineJsDoc(tree);
+    PendingJsDoc jsDoc = handleInlineJsDoc(tree);
     NonJSDocComment associatedNonJSDocComment = null;
     if (config.jsDocParsingMode() == JsDocParsing.INCLUDE_ALL_COMMENTS) {
       ArrayList<Comment> nonJSDocComments = getNonJSDocComments(tree);
@@ -825,8 +902,8 @@ class IRFactory {
       }
     }
     Node node = transformDispatcher.process(tree);
-    if (info != null) {
-      node.setJSDocInfo(info);
+    if (jsDoc != null) {
+      jsDoc.attachTo(node);
     }
     if (this.config.jsDocParsingMode() == JsDocParsing.INCLUDE_ALL_COMMENTS) {
       if (associatedNonJSDocComment != null) {
@@ -837,21 +914,30 @@ class IRFactory {
     return node;
   }
 
-  JSDocInfo handleInlineJsDoc(ParseTree node) {
+  PendingJsDoc handleInlineJsDoc(ParseTree node) {
     return handleInlineJsDoc(node.location);
   }
 
-  JSDocInfo handleInlineJsDoc(
+  PendingJsDoc handleInlineJsDoc(
       com.google.javascript.jscomp.parsing.parser.Token token) {
     return handleInlineJsDoc(token.location);
   }
 
-  JSDocInfo handleInlineJsDoc(SourceRange location) {
+  PendingJsDoc handleInlineJsDoc(SourceRange location) {
     Comment comment = getJsDoc(location);
     if (comment != null && !comment.value.contains("@")) {
-      return parseInlineTypeDoc(comment);
+      if (config.parseJsDocLazily()) {
+        Node template = templateNode;
+        Config config = this.config;
+        return PendingJsDoc.deferred(
+            new LazyJSDocInfo(
+                () ->
+                    newJsDocInfoParser(comment, template, config, ErrorReporter.NULL_INSTANCE)
+                        .parseInlineTypeDoc()));
+      }
+      return PendingJsDoc.parsed(parseInlineTypeDoc(comment));
     } else {
-      return handleJsDoc(comment);
+      return handleJsDoc(comment, true);
     }
   }
 
@@ -864,9 +950,9 @@ class IRFactory {
       double value = normalizeNumber(token);
       irNode = newStringNode(DToA.numberToString(value));
     }
-    JSDocInfo jsDocInfo = handleJsDoc(token);
-    if (jsDocInfo != null) {
-      irNode.setJSDocInfo(jsDocInfo);
+    PendingJsDoc jsDoc = handleJsDoc(token);
+    if (jsDoc != null) {
+      jsDoc.attachTo(irNode);
     }
     setSourceInfo(irNode, token);
     return irNode;
@@ -983,23 +1069,7 @@ class IRFactory {
    *     normal JsDoc, or no JsDoc (if the method parses to the wrong level).
    */
   private JsDocInfoParser createJsDocInfoParser(Comment node) {
-    String comment = node.value;
-    int lineno = lineno(node.location.start);
-    int charno = charno(node.location.start);
-    int position = node.location.start.offset;
-
-    // The JsDocInfoParser expects the comment without the initial '/**'.
-    int numOpeningChars = 3;
-    JsDocInfoParser jsdocParser =
-      new JsDocInfoParser(
-          new JsDocTokenStream(comment.substring(numOpeningChars),
-                               lineno,
-                               charno + numOpeningChars),
-          comment,
-          position,
-          templateNode,
-          config,
-          errorReporter);
+    JsDocInfoParser jsdocParser = newJsDocInfoParser(node, templateNode, config, errorReporter);
     jsdocParser.setFileLevelJsDocBuilder(fileLevelJsDocBuilder);
     jsdocParser.setFileOverviewJSDocInfo(fileOverviewInfo);
     if (node.type == Comment.Type.IMPORTANT && node.value.length() > 0) {
@@ -1015,23 +1085,33 @@ class IRFactory {
    * Parses inline type info.
    */
   private JSDocInfo parseInlineTypeDoc(Comment node) {
+    return newJsDocInfoParser(node, templateNode, config, errorReporter).parseInlineTypeDoc();
+  }
+
+  /** Parses a comment whose parsing {@link #handleJsDoc} deferred. */
+  @Nullable
+  private static JSDocInfo parseDeferredJsDoc(Comment node, Node templateNode, Config config) {
+    JsDocInfoParser parser =
+        newJsDocInfoParser(node, templateNode, config, ErrorReporter.NULL_INSTANCE);
+    parser.parse();
+    return parser.retrieveAndResetParsedJSDocInfo();
+  }
+
+  private static JsDocInfoParser newJsDocInfoParser(
+      Comment node, Node templateNode, Config config, ErrorReporter errorReporter) {
     String comment = node.value;
     int lineno = lineno(node.location.start);
     int charno = charno(node.location.start);
 
     // The JsDocInfoParser expects the comment without the initial '/**'.
     int numOpeningChars = 3;
-    JsDocInfoParser parser =
-      new JsDocInfoParser(
-          new JsDocTokenStream(comment.substring(numOpeningChars),
-              lineno,
-              charno + numOpeningChars),
-          comment,
-          node.location.start.offset,
-          templateNode,
-          config,
-          errorReporter);
-    return parser.parseInlineTypeDoc();
+    return new JsDocInfoParser(
+        new JsDocTokenStream(comment.substring(numOpeningChars), lineno, charno + numOpeningChars),
+        comment,
+        node.location.start.offset,
+        templateNode,
+        config,
+        errorReporter);
   }
 
   // Set the length on the node if we're in IDE mode.
@@ -1858,11 +1938,11 @@ class IRFactory {
       if (asString) {
         node = newStringNode(Token.STRING, identifierToken.value);
       } else {
-        JSDocInfo info = handleJsDoc(identifierToken);
+        PendingJsDoc jsDoc = handleJsDoc(identifierToken);
         maybeWarnReservedKeyword(identifierToken);
         node = newStringNode(Token.NAME, identifierToken.value);
-        if (info != null) {
-          node.setJSDocInfo(info);
+        if (jsDoc != null) {
+          jsDoc.attachTo(node);
         }
       }
       setSourceInfo(node, identifierToken);
@@ -1897,7 +1977,7 @@ class IRFactory {
     }
 
     Node processNameWithInlineComments(IdentifierToken identifierToken) {
-      JSDocInfo info = handleInlineJsDoc(identifierToken);
+      PendingJsDoc jsDoc = handleInlineJsDoc(identifierToken);
       NonJSDocComment associatedNonJSDocComment = null;
       if (config.jsDocParsingMode() == JsDocParsing.INCLUDE_ALL_COMMENTS) {
         ArrayList<Comment> nonJSDocComments = getNonJSDocComments(identifierToken);
@@ -1907,8 +1987,8 @@ class IRFactory {
       }
       maybeWarnReservedKeyword(identifierToken);
       Node node = newStringNode(Token.NAME, identifierToken.value);
-      if (info != null) {
-        node.setJSDocInfo(info);
+      if (jsDoc != null) {
+        jsDoc.attachTo(node);
       }
       if (config.jsDocParsingMode() == JsDocParsing.INCLUDE_ALL_COMMENTS) {
         if (associatedNonJSDocComment != null) {
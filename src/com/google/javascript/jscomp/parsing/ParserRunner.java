@@ -31,6 +31,7 @@ import com.google.javascript.jscomp.parsing.parser.Parser.Config.Mode;
 import com.google.javascript.jscomp.parsing.parser.SourceFile;
 import com.google.javascript.jscomp.parsing.parser.trees.Comment;
 import com.google.javascript.jscomp.parsing.parser.trees.ProgramTree;
+import com.google.javascript.jscomp.parsing.parser.util.LineOffsets;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.Node;
@@ -144,7 +145,8 @@ public final class ParserRunner {
           comments = p.getComments();
         }
       }
-      return new ParseResult(root, comments, features, p.getSourceMapURL());
+      return new ParseResult(
+          root, comments, features, p.getSourceMapURL(), p.getLineOffsets());
     } catch (Throwable t) {
       throw new RuntimeException("Exception parsing \"" + sourceName + "\"", t);
     }
@@ -223,12 +225,24 @@ public final class ParserRunner {
     public final List<Comment> comments;
     public final FeatureSet features;
     @Nullable public final String sourceMapURL;
+    /** Where each line of the source starts, as found by the scanner, if it read the whole file. */
+    @Nullable public final LineOffsets lineOffsets;
 
     public ParseResult(Node ast, List<Comment> comments, FeatureSet features, String sourceMapURL) {
+      this(ast, comments, features, sourceMapURL, null);
+    }
+
+    public ParseResult(
+        Node ast,
+        List<Comment> comments,
+        FeatureSet features,
+        String sourceMapURL,
+        @Nullable LineOffsets lineOffsets) {
       this.ast = ast;
       this.comments = comments;
       this.features = features;
       this.sourceMapURL = sourceMapURL;
+      this.lineOffsets = lineOffsets;
     }
   }
 }
@@ -17,9 +17,11 @@
 package com.google.javascript.jscomp.parsing.parser;
 
 import com.google.common.base.Preconditions;
+import com.google.javascript.jscomp.parsing.parser.util.LineOffsets;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
 import java.util.Objects;
+import javax.annotation.Nullable;
 
 /** Utility for finding line and column offsets within a source file. */
 final class LineNumberScanner {
@@ -30,6 +32,9 @@ final class LineNumberScanner {
   private int lastLine = -1;
   private int lastLineStart = -1;
   private int nextLineStart = 0;
+  // The '\n' line starts seen so far, recorded as a side effect of finding lines.
+  private final LineOffsets.Builder newlineOffsets = new LineOffsets.Builder();
+  private boolean reachedEnd = false;
 
   LineNumberScanner(SourceFile sourceFile) {
     this.sourceFile = sourceFile;
@@ -54,6 +59,15 @@ final class LineNumberScanner {
     return new SourcePosition(sourceFile, offset, lastLine, offset - lastLineStart);
   }
 
+  /**
+   * Returns the '\n' line starts of the whole file, or null if the scanner has not yet found the
+   * last line.
+   */
+  @Nullable
+  LineOffsets getNewlineOffsets() {
+    return reachedEnd ? newlineOffsets.build() : null;
+  }
+
   SourceRange getSourceRange(int startOffset, int endOffset) {
     return new SourceRange(getSourcePosition(startOffset), getSourcePosition(endOffset));
   }
@@ -80,12 +94,17 @@ final class LineNumberScanner {
       if (isLineTerminator(ch)) {
         if (ch == '\r' && index + 1 < sourceLength && contents.charAt(index + 1) == '\n') {
           index++;
+          ch = '\n';
+        }
+        if (ch == '\n') {
+          newlineOffsets.addLineStart(index + 1);
         }
         nextLineStart = index + 1;
         return;
       }
     }
     nextLineStart = Integer.MAX_VALUE;
+    reachedEnd = true;
   }
 
   private static boolean isLineTerminator(char ch) {
@@ -105,6 +105,7 @@ import com.google.javascript.jscomp.parsing.parser.trees.WhileStatementTree;
 import com.google.javascript.jscomp.parsing.parser.trees.WithStatementTree;
 import com.google.javascript.jscomp.parsing.parser.trees.YieldExpressionTree;
 import com.google.javascript.jscomp.parsing.parser.util.ErrorReporter;
+import com.google.javascript.jscomp.parsing.parser.util.LineOffsets;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
 import java.util.ArrayDeque;
@@ -269,6 +270,15 @@ public class Parser {
     return sourceMapURL;
   }
 
+  /**
+   * Returns the line offsets the scanner found while parsing the whole file, or null if it did not
+   * reach the end of the file.
+   */
+  @Nullable
+  public LineOffsets getLineOffsets() {
+    return scanner.getLineOffsets();
+  }
+
   /** Returns true if the string value should be treated as a keyword in the current context. */
   private boolean isKeyword(String value) {
     return Keywords.isKeyword(value);
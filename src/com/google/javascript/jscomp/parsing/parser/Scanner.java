@@ -20,6 +20,7 @@ import com.google.errorprone.annotations.FormatMethod;
 import com.google.errorprone.annotations.FormatString;
 import com.google.javascript.jscomp.parsing.parser.trees.Comment;
 import com.google.javascript.jscomp.parsing.parser.util.ErrorReporter;
+import com.google.javascript.jscomp.parsing.parser.util.LineOffsets;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
 import java.util.ArrayList;
@@ -89,6 +90,15 @@ public class Scanner {
     return currentTokens.isEmpty() ? getPosition(index) : peekToken().location.start;
   }
 
+  /**
+   * Returns where each '\n'-terminated line of the file starts, once the scanner has reached the
+   * end of the file, or null before then.
+   */
+  @Nullable
+  public LineOffsets getLineOffsets() {
+    return lineNumberScanner.getNewlineOffsets();
+  }
+
   private SourcePosition getPosition(int offset) {
     return lineNumberScanner.getSourcePosition(offset);
   }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.parsing.parser.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The character offset at which each line of a source text starts.
+ *
+ * <p>Lines end at '\n' only, which is how {@link com.google.javascript.jscomp.SourceFile} and
+ * source maps count them, so a text ending in '\n' has an empty last line. The index is built once,
+ * either by the scanner while it tokenizes or from the text itself, and is small enough to keep
+ * when the text is not.
+ */
+public final class LineOffsets implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private static final LineOffsets SINGLE_LINE = new LineOffsets(new int[] {0});
+
+  /** The offset of the first character of each line; the first entry is always 0. */
+  private final int[] offsets;
+
+  private LineOffsets(int[] offsets) {
+    this.offsets = offsets;
+  }
+
+  /** Returns the offsets of a text that has a single line. */
+  public static LineOffsets singleLine() {
+    return SINGLE_LINE;
+  }
+
+  /** Finds the line offsets of {@code code}. */
+  public static LineOffsets of(String code) {
+    int lineCount = 1;
+    for (int i = code.indexOf('\n'); i != -1; i = code.indexOf('\n', i + 1)) {
+      lineCount++;
+    }
+    int[] offsets = new int[lineCount];
+    int line = 1;
+    for (int i = code.indexOf('\n'); i != -1; i = code.indexOf('\n', i + 1)) {
+      offsets[line++] = i + 1;
+    }
+    return new LineOffsets(offsets);
+  }
+
+  /** Returns the number of lines. */
+  public int getLineCount() {
+    return offsets.length;
+  }
+
+  /**
+   * Returns the offset at which a line starts.
+   *
+   * @param lineno the line number, 1 being the first line.
+   */
+  public int getLineOffset(int lineno) {
+    if (lineno < 1 || lineno > offsets.length) {
+      throw new IllegalArgumentException(
+          "Expected line number between 1 and " + offsets.length + "\nActual: " + lineno);
+    }
+    return offsets[lineno - 1];
+  }
+
+  /**
+   * Returns the 1-based line holding the character at {@code offset}. Offsets past the end of the
+   * text are on the last line.
+   */
+  public int getLineOfOffset(int offset) {
+    int search = Arrays.binarySearch(offsets, offset);
+    if (search >= 0) {
+      return search + 1; // lines are 1-based.
+    } else {
+      int insertionPoint = -1 * (search + 1);
+      return Math.min(insertionPoint - 1, offsets.length - 1) + 1;
+    }
+  }
+
+  /** Collects line offsets in increasing order, as a scanner comes across them. */
+  public static final class Builder {
+    private int[] offsets = new int[64];
+    private int size = 1;
+
+    /** Records that a line starts at {@code offset}; offsets already recorded are ignored. */
+    public void addLineStart(int offset) {
+      if (offset <= offsets[size - 1]) {
+        return;
+      }
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, size * 2);
+      }
+      offsets[size++] = offset;
+    }
+
+    public LineOffsets build() {
+      return size == 1 ? SINGLE_LINE : new LineOffsets(Arrays.copyOf(offsets, size));
+    }
+  }
+}
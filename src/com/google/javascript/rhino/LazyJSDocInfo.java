@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.GwtIncompatible;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * A JSDoc comment that is only parsed into a {@link JSDocInfo} the first time it is read, for
+ * parses that record many more comments than later passes look at.
+ *
+ * @see Node#setLazyJSDocInfo
+ */
+public final class LazyJSDocInfo implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Parses the comment. Cleared once it has run, and only after {@link #info} is written, so that
+   * readers who see it cleared also see the result.
+   */
+  @Nullable private transient volatile Supplier<JSDocInfo> parser;
+
+  @Nullable private JSDocInfo info;
+
+  public LazyJSDocInfo(Supplier<JSDocInfo> parser) {
+    this.parser = checkNotNull(parser);
+  }
+
+  /** Returns the parsed comment, parsing it on the first call. Safe to call from any thread. */
+  @Nullable
+  public JSDocInfo get() {
+    if (parser != null) {
+      synchronized (this) {
+        Supplier<JSDocInfo> pending = parser;
+        if (pending != null) {
+          info = pending.get();
+          parser = null;
+        }
+      }
+    }
+    return info;
+  }
+
+  /** Whether the comment has been parsed, by {@link #get} or by serialization. */
+  public boolean isParsed() {
+    return parser == null;
+  }
+
+  @GwtIncompatible("ObjectOutputStream")
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    get();
+    out.defaultWriteObject();
+  }
+}
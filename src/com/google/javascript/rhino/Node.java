@@ -569,6 +569,17 @@ public class Node implements Serializable {
     }
   }
 
+  private static final Prop[] PROP_VALUES = Prop.values();
+
+  /** The lists holding just one boolean property, indexed by property ordinal. */
+  private static final PropListItem[] FLAG_ONLY_PROP_LISTS = new PropListItem[PROP_VALUES.length];
+
+  static {
+    for (Prop prop : PROP_VALUES) {
+      FLAG_ONLY_PROP_LISTS[prop.ordinal()] = new IntPropListItem((byte) prop.ordinal(), 1, null);
+    }
+  }
+
   private abstract static class PropListItem implements Serializable {
     final @Nullable PropListItem next;
     final byte propType;
@@ -609,7 +620,59 @@ public class Node implements Serializable {
 
     @Override
     public PropListItem chain(@Nullable PropListItem next) {
-      return new ObjectPropListItem(propType, objectValue, next);
+      return createProp(propType, objectValue, next);
+    }
+  }
+
+  /**
+   * A {@code SOURCE_FILE} property at the end of a property list.
+   *
+   * <p>These tails are shared by every node parsed from the same file (see {@link
+   * #clonePropsFrom}), so they also cache the lists that consist of a single boolean property in
+   * front of them. Flagging such a node then reuses the cached list rather than allocating one.
+   */
+  private static final class SourceFilePropListItem extends PropListItem {
+    private final Object objectValue;
+    // Indexed by property ordinal. Entries are immutable, so racing to fill a slot is harmless.
+    @Nullable private transient PropListItem[] flagListsAhead;
+
+    SourceFilePropListItem(Object objectValue) {
+      super((byte) Prop.SOURCE_FILE.ordinal(), null);
+      this.objectValue = objectValue;
+    }
+
+    PropListItem withFlagAhead(byte propType) {
+      PropListItem[] lists = flagListsAhead;
+      if (lists == null) {
+        lists = new PropListItem[PROP_VALUES.length];
+        flagListsAhead = lists;
+      }
+      PropListItem list = lists[propType];
+      if (list == null) {
+        list = new IntPropListItem(propType, 1, this);
+        lists[propType] = list;
+      }
+      return list;
+    }
+
+    @Override
+    public int getIntValue() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object getObjectValue() {
+      return objectValue;
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(objectValue);
+    }
+
+    @Override
+    public PropListItem chain(@Nullable PropListItem next) {
+      return createProp(propType, objectValue, next);
     }
   }
 
@@ -639,7 +702,7 @@ public class Node implements Serializable {
 
     @Override
     public PropListItem chain(@Nullable PropListItem next) {
-      return new IntPropListItem(propType, intValue, next);
+      return createProp(propType, intValue, next);
     }
   }
 
@@ -1237,11 +1300,25 @@ public class Node implements Serializable {
     return (TypeDeclarationNode) getProp(Prop.DECLARED_TYPE_EXPR);
   }
 
-  final PropListItem createProp(byte propType, Object value, @Nullable PropListItem next) {
+  private static PropListItem createProp(byte propType, Object value, @Nullable PropListItem next) {
+    if (next == null && propType == Prop.SOURCE_FILE.ordinal()) {
+      return new SourceFilePropListItem(value);
+    }
     return new ObjectPropListItem(propType, value, next);
   }
 
-  final PropListItem createProp(byte propType, int value, @Nullable PropListItem next) {
+  /**
+   * Boolean properties are by far the most common ones put on existing nodes. When the node has
+   * no other properties than its source file, a shared list is used instead of a new item.
+   */
+  private static PropListItem createProp(byte propType, int value, @Nullable PropListItem next) {
+    if (value == 1) {
+      if (next == null) {
+        return FLAG_ONLY_PROP_LISTS[propType];
+      } else if (next instanceof SourceFilePropListItem) {
+        return ((SourceFilePropListItem) next).withFlagAhead(propType);
+      }
+    }
     return new IntPropListItem(propType, value, next);
   }
 
@@ -1438,7 +1515,7 @@ public class Node implements Serializable {
     if (printAnnotations) {
       byte[] keys = getSortedPropTypes();
       for (int i = 0; i < keys.length; i++) {
-        Prop type = Prop.values()[keys[i]];
+        Prop type = PROP_VALUES[keys[i]];
         PropListItem x = lookupProperty(type);
         sb.append(" [");
         sb.append(propToString(type));
@@ -1498,6 +1575,10 @@ public class Node implements Serializable {
    * Linked list of properties. Since vast majority of nodes would have no more than 2 properties,
    * linked list saves memory and provides fast lookup. If this does not holds, propListHead can be
    * replaced by UintMap.
+   *
+   * <p>Items are immutable, so lists are freely shared between nodes. In particular a node whose
+   * only properties are its source file and one boolean property shares its list with every other
+   * such node of the same file; see {@link #createProp(byte, int, PropListItem)}.
    */
   @Nullable private transient PropListItem propListHead;
 
@@ -2637,7 +2718,11 @@ public class Node implements Serializable {
    */
   @Nullable
   public final JSDocInfo getJSDocInfo() {
-    return (JSDocInfo) getProp(Prop.JSDOC_INFO);
+    Object info = getProp(Prop.JSDOC_INFO);
+    if (info instanceof LazyJSDocInfo) {
+      return ((LazyJSDocInfo) info).get();
+    }
+    return (JSDocInfo) info;
   }
 
   /**
@@ -2648,6 +2733,21 @@ public class Node implements Serializable {
     return this;
   }
 
+  /**
+   * Attaches a JSDoc comment that is parsed when {@link #getJSDocInfo} is first called on this node
+   * or any clone of it.
+   */
+  public final Node setLazyJSDocInfo(LazyJSDocInfo info) {
+    putProp(Prop.JSDOC_INFO, info);
+    return this;
+  }
+
+  /** Whether this node has a JSDoc comment that {@link #getJSDocInfo} has not parsed yet. */
+  public final boolean hasUnparsedJSDocInfo() {
+    Object info = getProp(Prop.JSDOC_INFO);
+    return info instanceof LazyJSDocInfo && !((LazyJSDocInfo) info).isParsed();
+  }
+
   /** This node was last changed at {@code time} */
   public final void setChangeTime(int time) {
     putIntProp(Prop.CHANGE_TIME, time);
@@ -568,6 +568,7 @@ public class FunctionType extends PrototypeObjectType implements Serializable {
     if (replacedPrototype) {
       clearCachedValues();
     }
+    registry.typeRelationsChanged();
 
     return true;
   }
@@ -643,6 +644,7 @@ public class FunctionType extends PrototypeObjectType implements Serializable {
       registry.registerTypeImplementingInterface(this, type);
       typeOfThis.mergeSupertypeTemplateTypes(type);
     }
+    registry.typeRelationsChanged();
   }
 
   /** Returns interfaces directly extended by an interface */
@@ -662,6 +664,7 @@ public class FunctionType extends PrototypeObjectType implements Serializable {
     for (ObjectType extendedInterface : extendedInterfaces) {
       typeOfThis.mergeSupertypeTemplateTypes(extendedInterface);
     }
+    registry.typeRelationsChanged();
   }
 
   @Override
@@ -1229,6 +1232,7 @@ public class FunctionType extends PrototypeObjectType implements Serializable {
   public final void setImplicitMatch(boolean flag) {
     checkState(isInterface());
     isStructuralInterface = flag;
+    registry.typeRelationsChanged();
   }
 
   @Override
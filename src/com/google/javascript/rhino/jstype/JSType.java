@@ -49,7 +49,9 @@ import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.Outcome;
 import com.google.javascript.rhino.jstype.EqualityChecker.EqMethod;
+import com.google.javascript.rhino.jstype.TypeRelationCache.Relation;
 import java.io.Serializable;
+import java.util.function.BooleanSupplier;
 import javax.annotation.Nullable;
 
 /**
@@ -699,8 +701,15 @@ public abstract class JSType implements Serializable {
 
   @Override
   public final boolean equals(@Nullable Object other) {
-    return (other instanceof JSType)
-        && new EqualityChecker().setEqMethod(EqMethod.IDENTITY).check(this, (JSType) other);
+    if (!(other instanceof JSType)) {
+      return false;
+    } else if (areIdentical(this, (JSType) other)) {
+      return true;
+    }
+    return this.checkCaching(
+        Relation.EQUAL,
+        (JSType) other,
+        () -> new EqualityChecker().setEqMethod(EqMethod.IDENTITY).check(this, (JSType) other));
   }
 
   /**
@@ -711,9 +720,34 @@ public abstract class JSType implements Serializable {
    * types. See {@code EqMethod} for more info.
    */
   public final boolean differsFrom(JSType that) {
-    return !new EqualityChecker()
-        .setEqMethod(EqMethod.DATA_FLOW)
-        .check(this, that);
+    return !this.checkCaching(
+        Relation.EQUAL_FOR_DATA_FLOW,
+        that,
+        () -> new EqualityChecker().setEqMethod(EqMethod.DATA_FLOW).check(this, that));
+  }
+
+  /**
+   * Answers a question about {@code this} and {@code that} from the registry's {@link
+   * TypeRelationCache}, if it has one and the question is worth remembering, or by running {@code
+   * check}.
+   */
+  private boolean checkCaching(Relation relation, JSType that, BooleanSupplier check) {
+    TypeRelationCache cache = this.registry.getTypeRelationCache();
+    // Questions about scalars are answered faster than they could be looked up.
+    if (cache == null
+        || !(this.isObject() || this.isUnionType())
+        || !(that.isObject() || that.isUnionType())) {
+      return check.getAsBoolean();
+    }
+
+    Boolean known = cache.get(relation, this, that);
+    if (known != null) {
+      return known;
+    }
+    int generation = cache.getGeneration();
+    boolean answer = check.getAsBoolean();
+    cache.put(relation, this, that, answer, generation);
+    return answer;
   }
 
   /**
@@ -1412,12 +1446,16 @@ public abstract class JSType implements Serializable {
    * cases.
    */
   public final boolean isSubtypeWithoutStructuralTyping(JSType supertype) {
-    return new SubtypeChecker(this.registry)
-        .setSubtype(this)
-        .setSupertype(supertype)
-        .setUsingStructuralSubtyping(false)
-        .setSubtypingMode(SubtypingMode.NORMAL)
-        .check();
+    return this.checkCaching(
+        Relation.NOMINAL_SUBTYPE,
+        supertype,
+        () ->
+            new SubtypeChecker(this.registry)
+                .setSubtype(this)
+                .setSupertype(supertype)
+                .setUsingStructuralSubtyping(false)
+                .setSubtypingMode(SubtypingMode.NORMAL)
+                .check());
   }
 
   /** In files translated from Java, we typecheck null and undefined loosely. */
@@ -1466,22 +1504,23 @@ public abstract class JSType implements Serializable {
   }
 
   public final boolean isSubtypeOf(JSType supertype) {
-    return new SubtypeChecker(this.registry)
-        .setSubtype(this)
-        .setSupertype(supertype)
-        .setUsingStructuralSubtyping(true)
-        .setSubtypingMode(SubtypingMode.NORMAL)
-        .check();
+    return this.isSubtypeOf(supertype, SubtypingMode.NORMAL);
   }
 
 
   public final boolean isSubtypeOf(JSType supertype, SubtypingMode mode) {
-    return new SubtypeChecker(this.registry)
-        .setSubtype(this)
-        .setSupertype(supertype)
-        .setUsingStructuralSubtyping(true)
-        .setSubtypingMode(mode)
-        .check();
+    return this.checkCaching(
+        mode == SubtypingMode.NORMAL
+            ? Relation.SUBTYPE
+            : Relation.SUBTYPE_IGNORING_NULL_UNDEFINED,
+        supertype,
+        () ->
+            new SubtypeChecker(this.registry)
+                .setSubtype(this)
+                .setSupertype(supertype)
+                .setUsingStructuralSubtyping(true)
+                .setSubtypingMode(mode)
+                .check());
   }
 
   /**
@@ -1523,6 +1562,7 @@ public abstract class JSType implements Serializable {
       this.resolveResult = this;
       this.resolveResult = this.resolveInternal(reporter);
       checkState(this.isResolved());
+      registry.typeRelationsChanged();
     }
     return resolveResult;
   }
@@ -243,6 +243,16 @@ public class JSTypeRegistry implements Serializable {
 
   private final JSTypeResolver resolver;
 
+  // The most subtype and equality answers remembered at once, when they are remembered at all.
+  private static final int TYPE_RELATION_CACHE_SIZE = 1 << 16;
+
+  @Nullable private transient TypeRelationCache typeRelationCache;
+
+  private boolean cachePropertyLookups = false;
+
+  // Counts the changes to types that may affect relations between types or property lookups.
+  private int typeGraphGeneration = 0;
+
   public JSTypeRegistry(ErrorReporter reporter) {
     this(reporter, ImmutableSet.<String>of());
   }
@@ -328,6 +338,63 @@ public class JSTypeRegistry implements Serializable {
     return reporter;
   }
 
+  /**
+   * Sets whether the answers to subtype and equality questions between object and union types are
+   * remembered across checks. Any change to a type that could affect such an answer forgets all of
+   * them.
+   */
+  public void setCacheTypeRelations(boolean cacheTypeRelations) {
+    if (!cacheTypeRelations) {
+      typeRelationCache = null;
+    } else if (typeRelationCache == null) {
+      typeRelationCache = new TypeRelationCache(TYPE_RELATION_CACHE_SIZE);
+    }
+  }
+
+  @Nullable
+  TypeRelationCache getTypeRelationCache() {
+    return typeRelationCache;
+  }
+
+  /** Forgets remembered subtype and equality answers and property lookups, after a type changed. */
+  void typeRelationsChanged() {
+    typeGraphGeneration++;
+    if (typeRelationCache != null) {
+      typeRelationCache.invalidate();
+    }
+  }
+
+  /**
+   * Returns a number that changes whenever a type changes in a way that {@link
+   * #typeRelationsChanged} is told about.
+   */
+  int getTypeGraphGeneration() {
+    return typeGraphGeneration;
+  }
+
+  /**
+   * Sets whether each object type remembers where the properties it inherits are found, instead of
+   * walking its prototype chain on every lookup. Any change to a type forgets all of them.
+   */
+  public void setCachePropertyLookups(boolean cachePropertyLookups) {
+    this.cachePropertyLookups = cachePropertyLookups;
+    typeGraphGeneration++;
+  }
+
+  boolean isCachingPropertyLookups() {
+    return cachePropertyLookups;
+  }
+
+  /** Returns how many subtype and equality questions were answered from the cache. */
+  public long getTypeRelationCacheHitCount() {
+    return typeRelationCache == null ? 0 : typeRelationCache.getHitCount();
+  }
+
+  /** Returns how many cacheable subtype and equality questions had to be computed. */
+  public long getTypeRelationCacheMissCount() {
+    return typeRelationCache == null ? 0 : typeRelationCache.getMissCount();
+  }
+
   /**
    * Reset to run the TypeCheck pass.
    */
@@ -339,6 +406,7 @@ public class JSTypeRegistry implements Serializable {
       scopedNameTable.clear();
       initializeRegistry();
     }
+    typeRelationsChanged();
   }
 
   private void initializeBuiltInTypes() {
@@ -719,6 +719,7 @@ public abstract class ObjectType extends JSType implements Serializable {
    */
   public void clearCachedValues() {
     unknown = true;
+    registry.typeRelationsChanged();
   }
 
   /** Whether this is a built-in object. */
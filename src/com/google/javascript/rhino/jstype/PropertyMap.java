@@ -43,15 +43,17 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Sets;
 import com.google.javascript.rhino.jstype.Property.OwnedProperty;
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 
 /** Representation for a collection of properties on an object. */
@@ -67,9 +69,33 @@ final class PropertyMap implements Serializable {
   // just reference primary parents and secondary parents directly.
   private ObjectType parentSource = null;
 
-  // The map of our own properties.
+  // The map of our own properties. Lookups are by hash; iteration is through sortedProperties.
   private final Map<String, Property> properties;
 
+  /** Our own properties sorted by name, so that iterating them is deterministic. */
+  @Nullable private transient ImmutableSortedMap<String, Property> sortedProperties = null;
+
+  /**
+   * The results of {@link #findClosest} for names that are not our own properties, including the
+   * names that are not found at all, when the registry caches property lookups.
+   *
+   * <p>The results depend on every map up the prototype chain and on the chain itself, so each one
+   * is only valid while the registry's type graph generation is the one it was found in. Lookups
+   * may come from several threads at once.
+   */
+  @Nullable private transient volatile ConcurrentHashMap<String, ClosestLookup> closestCache = null;
+
+  /** A result of {@link #findClosest}, and the type graph generation it was found in. */
+  private static final class ClosestLookup {
+    private final int generation;
+    @Nullable private final OwnedProperty found;
+
+    ClosestLookup(int generation, @Nullable OwnedProperty found) {
+      this.generation = generation;
+      this.found = found;
+    }
+  }
+
   /**
    * The set of keys for this map and its ancestors.
    *
@@ -89,7 +115,7 @@ final class PropertyMap implements Serializable {
   private int cachedKeySetCounter = 0;
 
   PropertyMap() {
-    this(new TreeMap<>());
+    this(new HashMap<>());
   }
 
   private PropertyMap(Map<String, Property> underlyingMap) {
@@ -107,6 +133,7 @@ final class PropertyMap implements Serializable {
 
     this.parentSource = ownerType;
     this.incrementCachedKeySetCounter();
+    this.typeRelationsChanged();
   }
 
   /** Returns the direct parent of this property map. */
@@ -163,6 +190,35 @@ final class PropertyMap implements Serializable {
   }
 
   OwnedProperty findClosest(String name) {
+    Property ownProp = properties.get(name);
+    if (ownProp != null) {
+      return new OwnedProperty(parentSource, ownProp);
+    }
+    if (parentSource == null || !parentSource.registry.isCachingPropertyLookups()) {
+      return findClosestInAncestors(name);
+    }
+
+    int generation = parentSource.registry.getTypeGraphGeneration();
+    ConcurrentHashMap<String, ClosestLookup> cache = closestCache;
+    if (cache == null) {
+      // A racing thread may install its own map, which only loses what was cached in the other.
+      cache = new ConcurrentHashMap<>();
+      closestCache = cache;
+    }
+    ClosestLookup lookup = cache.get(name);
+    if (lookup != null && lookup.generation == generation) {
+      return lookup.found;
+    }
+
+    OwnedProperty found = findClosestInAncestors(name);
+    // Walking the chain may have created types, like a lazily created prototype.
+    if (parentSource.registry.getTypeGraphGeneration() == generation) {
+      cache.put(name, new ClosestLookup(generation, found));
+    }
+    return found;
+  }
+
+  private OwnedProperty findClosestInAncestors(String name) {
     // Check primary parents which always has precendence over secondary.
     for (PropertyMap map = this; map != null; map = map.getPrimaryParent()) {
       Property prop = map.properties.get(name);
@@ -201,7 +257,14 @@ final class PropertyMap implements Serializable {
   }
 
   Set<String> getOwnPropertyNames() {
-    return properties.keySet();
+    return getSortedProperties().keySet();
+  }
+
+  private ImmutableSortedMap<String, Property> getSortedProperties() {
+    if (sortedProperties == null) {
+      sortedProperties = ImmutableSortedMap.copyOf(properties);
+    }
+    return sortedProperties;
   }
 
   ImmutableSortedSet<String> keySet() {
@@ -261,8 +324,10 @@ final class PropertyMap implements Serializable {
     if (properties.remove(name) == null) {
       return false;
     }
+    this.sortedProperties = null;
 
     this.incrementCachedKeySetCounter();
+    this.typeRelationsChanged();
     return true;
   }
 
@@ -278,10 +343,13 @@ final class PropertyMap implements Serializable {
     }
 
     properties.put(name, newProp);
+    this.sortedProperties = null;
+    // Even a redeclared property may have a new type, which structural subtyping looks at.
+    this.typeRelationsChanged();
   }
 
   Iterable<Property> values() {
-    return properties.values();
+    return getSortedProperties().values();
   }
 
   @Override
@@ -292,6 +360,12 @@ final class PropertyMap implements Serializable {
     return Objects.hashCode(properties.keySet());
   }
 
+  private void typeRelationsChanged() {
+    if (parentSource != null) {
+      parentSource.registry.typeRelationsChanged();
+    }
+  }
+
   private void incrementCachedKeySetCounter() {
     this.cachedKeySetCounter++;
     this.cachedKeySet = null;
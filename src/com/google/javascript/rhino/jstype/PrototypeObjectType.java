@@ -398,6 +398,7 @@ public class PrototypeObjectType extends ObjectType {
     if (implicitPrototype != null) {
       maybeLoosenTypecheckingDueToForwardReferencedSupertype(implicitPrototype);
     }
+    registry.typeRelationsChanged();
   }
 
   @Override
@@ -430,6 +431,7 @@ public class PrototypeObjectType extends ObjectType {
   void setOwnerFunction(FunctionType type) {
     checkState(ownerFunction == null || type == null);
     ownerFunction = type;
+    registry.typeRelationsChanged();
   }
 
   @Override
@@ -107,6 +107,7 @@ public class ProxyObjectType extends ObjectType {
     } else {
       this.referencedObjType = null;
     }
+    registry.typeRelationsChanged();
   }
 
   @Override
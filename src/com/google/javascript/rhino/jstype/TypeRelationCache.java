@@ -0,0 +1,167 @@
+/*
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *   Google Inc.
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package com.google.javascript.rhino.jstype;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded memo of the answers to top-level subtype and equality questions, shared by every
+ * check against one {@link JSTypeRegistry}.
+ *
+ * <p>{@link SubtypeChecker} and {@link EqualityChecker} only cache within a single check, to break
+ * cycles, so the same question asked twice is computed twice. This table remembers the answers
+ * across checks.
+ *
+ * <p>Types are compared by identity, so looking up an answer never computes a type's hash code.
+ * Since types are mutable, every answer is tagged with the generation of the type graph it was
+ * computed in, and any change that could affect a relation (a property, a prototype, an interface
+ * list or a resolution) starts a new generation, which makes all earlier answers misses.
+ * Invalidating is therefore constant-time; stale answers are simply evicted as the table fills.
+ */
+final class TypeRelationCache {
+
+  /** The question an answer is for. */
+  enum Relation {
+    SUBTYPE,
+    SUBTYPE_IGNORING_NULL_UNDEFINED,
+    NOMINAL_SUBTYPE,
+    EQUAL,
+    EQUAL_FOR_DATA_FLOW;
+  }
+
+  private final int maxSize;
+  private final LinkedHashMap<Key, Answer> answers;
+
+  private int generation = 0;
+  private long hits = 0;
+  private long misses = 0;
+
+  TypeRelationCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.answers =
+        new LinkedHashMap<Key, Answer>() {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, Answer> eldest) {
+            return size() > TypeRelationCache.this.maxSize;
+          }
+        };
+  }
+
+  /** Forgets every answer computed so far. */
+  synchronized void invalidate() {
+    generation++;
+  }
+
+  /** Returns the current generation, to pass to {@link #put} along with a computed answer. */
+  synchronized int getGeneration() {
+    return generation;
+  }
+
+  /** Returns the answer known for the question, or null if there is none for this generation. */
+  @Nullable
+  synchronized Boolean get(Relation relation, JSType left, JSType right) {
+    Answer answer = answers.get(new Key(relation, left, right));
+    if (answer == null || answer.generation != generation) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return answer.value;
+  }
+
+  /**
+   * Records the answer to a question, computed starting in {@code generation}. Answers whose
+   * computation changed the type graph are dropped.
+   */
+  synchronized void put(
+      Relation relation, JSType left, JSType right, boolean value, int generation) {
+    if (generation == this.generation) {
+      answers.put(new Key(relation, left, right), new Answer(value, generation));
+    }
+  }
+
+  synchronized long getHitCount() {
+    return hits;
+  }
+
+  synchronized long getMissCount() {
+    return misses;
+  }
+
+  private static final class Answer {
+    final boolean value;
+    final int generation;
+
+    Answer(boolean value, int generation) {
+      this.value = value;
+      this.generation = generation;
+    }
+  }
+
+  private static final class Key {
+    final Relation relation;
+    final JSType left;
+    final JSType right;
+    final int hashCode;
+
+    Key(Relation relation, JSType left, JSType right) {
+      this.relation = relation;
+      this.left = left;
+      this.right = right;
+      // NOTE: order matters here, since subtyping is an asymmetric relationship.
+      this.hashCode =
+          31 * (31 * relation.ordinal() + System.identityHashCode(left))
+              + System.identityHashCode(right);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    @SuppressWarnings({"ReferenceEquality", "EqualsBrokenForNull", "EqualsUnsafeCast"})
+    public boolean equals(Object other) {
+      Key that = (Key) other;
+      return this.relation == that.relation && this.left == that.left && this.right == that.right;
+    }
+  }
+}
@@ -51,11 +51,15 @@ import static com.google.javascript.rhino.jstype.JSTypeNative.VOID_TYPE;
 import static com.google.javascript.rhino.jstype.TernaryValue.UNKNOWN;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.Outcome;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
 import javax.annotation.Nullable;
 
@@ -671,6 +675,14 @@ public class UnionType extends JSType {
     // one structural function, or just bails out and uses the top function type.
     private int functionTypePosition = -1;
 
+    // Comparing each new alternate with every existing one is quadratic, which shows on the large
+    // unions of class instances that property checks build. Once a union has this many
+    // alternates, its class instances are indexed, and a new class instance is only compared
+    // with those on its prototype chain or with it on theirs.
+    private static final int NOMINAL_INDEX_THRESHOLD = 16;
+
+    @Nullable private NominalIndex nominalIndex = null;
+
     private boolean hasBuilt = false;
 
     /** Creates a builder for a new union. */
@@ -765,6 +777,23 @@ public class UnionType extends JSType {
         return this;
       }
 
+      if (nominalIndex == null && alternates.size() >= NOMINAL_INDEX_THRESHOLD) {
+        nominalIndex = new NominalIndex();
+        for (JSType current : alternates) {
+          nominalIndex.add(current);
+        }
+      }
+      boolean skipIndexedAlternates =
+          nominalIndex != null
+              && NominalIndex.isIndexable(alternate)
+              && !nominalIndex.mayBeRelated(alternate);
+      if (skipIndexedAlternates && nominalIndex.size() == alternates.size()) {
+        // There is nothing the alternate could be a duplicate of.
+        nominalIndex.add(alternate);
+        alternates.add(alternate);
+        return this;
+      }
+
       // Look through the alternates we've got so far,
       // and check if any of them are duplicates of
       // one another.
@@ -774,6 +803,9 @@ public class UnionType extends JSType {
         if (!current.isResolved()) { // Defer de-duplicating unresolved alternates.
           continue;
         }
+        if (skipIndexedAlternates && nominalIndex.contains(current)) {
+          continue;
+        }
 
         // Unknown and NoResolved types may just be names that haven't
         // been resolved yet. So keep these in the union, and just use
@@ -858,6 +890,9 @@ public class UnionType extends JSType {
 
         if (removeCurrent) {
           alternates.remove(index);
+          if (nominalIndex != null) {
+            nominalIndex.remove(current);
+          }
 
           if (index == functionTypePosition) {
             functionTypePosition = -1;
@@ -875,6 +910,9 @@ public class UnionType extends JSType {
         functionTypePosition = alternates.size();
       }
 
+      if (nominalIndex != null) {
+        nominalIndex.add(alternate);
+      }
       alternates.add(alternate);
       return this;
     }
@@ -946,4 +984,80 @@ public class UnionType extends JSType {
       checkState(!this.hasBuilt, "Cannot reuse a `UnionType.Builder` that has already filled.");
     }
   }
+
+  /**
+   * The instances of classes among the alternates of a union under construction.
+   *
+   * <p>Without structural typing, one class instance is a subtype of another only if the other is
+   * on its implicit prototype chain. So a class instance that is neither on the chain of an indexed
+   * instance, nor has one on its own chain, cannot be a duplicate of any of them.
+   */
+  private static final class NominalIndex {
+    private final Set<JSType> members = Sets.newIdentityHashSet();
+    // The number of members on whose implicit prototype chain each type is.
+    private final Map<ObjectType, Integer> descendantCounts = new IdentityHashMap<>();
+
+    /** Whether the type is a resolved, non-generic instance of a class. */
+    static boolean isIndexable(JSType type) {
+      if (type.getTypeClass() != JSTypeClass.INSTANCE_OBJECT
+          || !type.isResolved()
+          || type.isUnknownType()
+          || type.isStructuralType()
+          || type.hasAnyTemplateTypes()) {
+        return false;
+      }
+      FunctionType ctor = type.toObjectType().getConstructor();
+      return ctor != null && ctor.isConstructor();
+    }
+
+    int size() {
+      return members.size();
+    }
+
+    boolean contains(JSType type) {
+      return members.contains(type);
+    }
+
+    /** Whether an indexable type may be a subtype or supertype of some member. */
+    boolean mayBeRelated(JSType type) {
+      if (descendantCounts.containsKey(type)) {
+        return true;
+      }
+      for (ObjectType ancestor = type.toObjectType();
+          ancestor != null;
+          ancestor = nextAncestor(ancestor)) {
+        if (members.contains(ancestor)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void add(JSType type) {
+      if (!isIndexable(type) || !members.add(type)) {
+        return;
+      }
+      for (ObjectType ancestor = nextAncestor(type.toObjectType());
+          ancestor != null;
+          ancestor = nextAncestor(ancestor)) {
+        descendantCounts.merge(ancestor, 1, Integer::sum);
+      }
+    }
+
+    void remove(JSType type) {
+      if (!members.remove(type)) {
+        return;
+      }
+      for (ObjectType ancestor = nextAncestor(type.toObjectType());
+          ancestor != null;
+          ancestor = nextAncestor(ancestor)) {
+        descendantCounts.computeIfPresent(ancestor, (k, count) -> count == 1 ? null : count - 1);
+      }
+    }
+
+    /** Steps along an implicit prototype chain the way ObjectType#isImplicitPrototypeOf does. */
+    private static ObjectType nextAncestor(ObjectType type) {
+      return ObjectType.deeplyUnwrap(type.getImplicitPrototype());
+    }
+  }
 }
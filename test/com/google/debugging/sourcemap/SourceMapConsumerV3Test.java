@@ -17,6 +17,7 @@
 package com.google.debugging.sourcemap;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.javascript.rhino.testing.Asserts.assertThrows;
 
 import com.google.common.collect.ImmutableList;
 import com.google.gson.Gson;
@@ -134,4 +135,54 @@ public final class SourceMapConsumerV3Test {
     assertThat(((JsonElement) exts.get("x_org_int")).getAsInt()).isEqualTo(2);
     assertThat((JsonArray) exts.get("x_org_array")).isEmpty();
   }
+
+  @Test
+  public void testLazyDecodingMatchesEagerDecoding() throws Exception {
+    String map =
+        GSON.toJson(
+            TestJsonBuilder.create()
+                .setVersion(3)
+                .setFile("testcode")
+                .setLineCount(4)
+                .setMappings("AAAAA,QAASA,UAAS,EAAG;;ACCA,CAAC;AADA,GAAEC")
+                .setSources("a.js", "b.js")
+                .setNames("foo", "bar")
+                .build());
+    consumer.parse(map);
+    SourceMapConsumerV3 lazy = new SourceMapConsumerV3();
+    lazy.setDecodeLinesLazily(true);
+    lazy.parse(map);
+
+    for (int line = 0; line <= 5; line++) {
+      for (int column = 1; column <= 20; column++) {
+        assertThat(lazy.getMappingForLine(line, column))
+            .isEqualTo(consumer.getMappingForLine(line, column));
+      }
+    }
+    for (String file : ImmutableList.of("a.js", "b.js", "c.js")) {
+      for (int line = 0; line <= 3; line++) {
+        assertThat(lazy.getReverseMapping(file, line, 1))
+            .containsExactlyElementsIn(consumer.getReverseMapping(file, line, 1))
+            .inOrder();
+      }
+    }
+  }
+
+  @Test
+  public void testLazyDecodingValidatesMappings() {
+    SourceMapConsumerV3 lazy = new SourceMapConsumerV3();
+    lazy.setDecodeLinesLazily(true);
+    String map =
+        GSON.toJson(
+            TestJsonBuilder.create()
+                .setVersion(3)
+                .setFile("testcode")
+                .setLineCount(1)
+                .setMappings("AA;")
+                .setSources("a.js")
+                .setNames()
+                .build());
+
+    assertThrows(SourceMapParseException.class, () -> lazy.parse(map));
+  }
 }
@@ -731,6 +731,36 @@ public final class SourceMapGeneratorV3Test extends SourceMapTestCase {
     return count(js);
   }
 
+  @Test
+  public void testStreamingMatchesAppendTo() throws IOException {
+    SourceMapGeneratorV3 buffered = new SourceMapGeneratorV3();
+    SourceMapGeneratorV3 streaming = new SourceMapGeneratorV3();
+    StringBuilder streamed = new StringBuilder();
+    for (SourceMapGeneratorV3 generator : ImmutableList.of(buffered, streaming)) {
+      generator.setWrapperPrefix("(function(){\n");
+      generator.setSourceRoot("/src/");
+    }
+    streaming.startStreaming(streamed, "out.js");
+    for (SourceMapGeneratorV3 generator : ImmutableList.of(buffered, streaming)) {
+      // A mapping enclosing two others, the second of which spans a line break, and a sibling.
+      generator.addMapping(
+          "a.js", null, new FilePosition(1, 1), new FilePosition(0, 0), new FilePosition(2, 5));
+      generator.addMapping(
+          "a.js", "x", new FilePosition(1, 5), new FilePosition(0, 4), new FilePosition(0, 8));
+      generator.addMapping(
+          "b.js", "y", new FilePosition(3, 1), new FilePosition(1, 2), new FilePosition(2, 1));
+      generator.addMapping(
+          "a.js", null, new FilePosition(4, 1), new FilePosition(3, 0), new FilePosition(3, 6));
+      generator.addSourcesContent("a.js", "var x;");
+    }
+    streaming.finishStreaming();
+    StringBuilder appended = new StringBuilder();
+    buffered.appendTo(appended, "out.js");
+
+    assertThat(parseJsonObject(streamed.toString()))
+        .isEqualTo(parseJsonObject(appended.toString()));
+  }
+
   private static JsonObject parseJsonObject(String json) {
     return new Gson().fromJson(json, JsonObject.class);
   }
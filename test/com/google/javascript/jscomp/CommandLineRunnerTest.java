@@ -27,6 +27,7 @@ import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
@@ -2351,6 +2352,53 @@ public final class CommandLineRunnerTest {
         + "\\n\\\"names\\\":[\\\"alert\\\"]\\n}\\n\"}]");
   }
 
+  @Test
+  public void testServerModeCompilesEachRequest() throws IOException {
+    String inputString =
+        "[{\"src\": \"alert('foo');\", \"path\":\"foo.js\"}]\n"
+            + "[{\"src\": \"alert('bar');\", \"path\":\"bar.js\"}]\n";
+    args.add("--server_mode");
+
+    CommandLineRunner.runServer(
+        args.toArray(new String[] {}),
+        new ByteArrayInputStream(inputString.getBytes(UTF_8)),
+        new PrintStream(outReader),
+        new PrintStream(errReader));
+
+    List<String> responses =
+        Splitter.on('\n')
+            .omitEmptyStrings()
+            .splitToList(new String(outReader.toByteArray(), UTF_8));
+    assertThat(responses).hasSize(2);
+    assertThat(responses.get(0))
+        .startsWith("[{\"src\":\"alert(\\\"foo\\\");\\n\",\"path\":\"compiled.js\"");
+    assertThat(responses.get(1))
+        .startsWith("[{\"src\":\"alert(\\\"bar\\\");\\n\",\"path\":\"compiled.js\"");
+  }
+
+  @Test
+  public void testServerModeSurvivesFailedRequest() throws IOException {
+    String inputString =
+        "[{\"src\": \"var x = ;\", \"path\":\"foo.js\"}]\n"
+            + "[{\"src\": \"alert('bar');\", \"path\":\"bar.js\"}]\n";
+    args.add("--server_mode");
+
+    CommandLineRunner.runServer(
+        args.toArray(new String[] {}),
+        new ByteArrayInputStream(inputString.getBytes(UTF_8)),
+        new PrintStream(outReader),
+        new PrintStream(errReader));
+
+    List<String> responses =
+        Splitter.on('\n')
+            .omitEmptyStrings()
+            .splitToList(new String(outReader.toByteArray(), UTF_8));
+    assertThat(responses).hasSize(2);
+    assertThat(responses.get(0)).isEqualTo("[]");
+    assertThat(responses.get(1)).startsWith("[{\"src\":\"alert(\\\"bar\\\");\\n\"");
+    assertThat(new String(errReader.toByteArray(), UTF_8)).contains("ERROR");
+  }
+
   @Test
   public void testJsonStreamSourceMap() {
     String inputSourceMap =
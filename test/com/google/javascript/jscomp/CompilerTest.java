@@ -422,6 +422,40 @@ public final class CompilerTest {
     assertThat(compiler.getSourceMap()).isNull();
   }
 
+  @Test
+  public void testParallelToSourceMatchesSerial() throws Exception {
+    List<SourceFile> inputs = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      inputs.add(
+          SourceFile.fromCode(
+              "input" + i + ".js",
+              "/** @license L" + (i % 3) + " */\n"
+                  + "var x" + i + " = 1;\n"
+                  + "function f" + i + "(a) {\n  return a + x" + i + ";\n}\n"
+                  + "alert(f" + i + "(2))"));
+    }
+
+    String[] serial = compileToSourceAndSourceMap(inputs, 1);
+    String[] parallel = compileToSourceAndSourceMap(inputs, 4);
+    assertThat(parallel[0]).isEqualTo(serial[0]);
+    assertThat(parallel[1]).isEqualTo(serial[1]);
+  }
+
+  private static String[] compileToSourceAndSourceMap(List<SourceFile> inputs, int numThreads)
+      throws IOException {
+    CompilerOptions options = new CompilerOptions();
+    options.sourceMapOutputPath = "fake/source_map_path.js.map";
+    options.printInputDelimiter = true;
+    options.setPrettyPrint(true);
+    options.setNumParallelThreads(numThreads);
+    Compiler compiler = new Compiler();
+    compiler.compile(EMPTY_EXTERNS, inputs, options);
+    String source = compiler.toSource();
+    StringWriter out = new StringWriter();
+    compiler.getSourceMap().appendTo(out, "source.js.map");
+    return new String[] {source, out.toString()};
+  }
+
   private static final ImmutableList<SourceFile> EMPTY_EXTERNS =
       ImmutableList.of(SourceFile.fromCode("externs", ""));
 
@@ -1254,6 +1288,180 @@ public final class CompilerTest {
     assertThat(source).isEqualTo("'use strict';console.log(2);");
   }
 
+  @Test
+  public void testRestoreStateAndRecompileEdits() throws Exception {
+    CompilerOptions options = new CompilerOptions();
+    CompilationLevel.SIMPLE_OPTIMIZATIONS.setOptionsForCompilationLevel(options);
+    options.setIncrementalRecompilation(true);
+    SourceFile a = SourceFile.fromCode("a.js", "function f(x) { return x + 1; }");
+    byte[] savedState =
+        checkAndSaveState(
+            options,
+            ImmutableList.of(
+                a, SourceFile.fromCode("b.js", "function g() { return f(1); } console.log(g());")));
+
+    ImmutableList<SourceFile> edited =
+        ImmutableList.of(
+            a,
+            SourceFile.fromCode(
+                "b.js", "function g() { var y = f(2); return y * 3; } console.log(g());"));
+    Compiler compiler = new Compiler(new TestErrorManager());
+    compiler.init(incrementalExterns(), edited, options);
+    try (ByteArrayInputStream in = new ByteArrayInputStream(savedState)) {
+      assertThat(compiler.restoreStateAndRecompileEdits(in)).isTrue();
+    }
+    compiler.stage2Passes();
+
+    Compiler fullCompiler = new Compiler(new TestErrorManager());
+    fullCompiler.compile(incrementalExterns(), edited, options);
+    assertThat(compiler.toSource()).isEqualTo(fullCompiler.toSource());
+  }
+
+  @Test
+  public void testRestoreStateAndRecompileEditsRejectsTopLevelEdits() throws Exception {
+    CompilerOptions options = new CompilerOptions();
+    CompilationLevel.SIMPLE_OPTIMIZATIONS.setOptionsForCompilationLevel(options);
+    options.setIncrementalRecompilation(true);
+    byte[] savedState =
+        checkAndSaveState(
+            options, ImmutableList.of(SourceFile.fromCode("a.js", "function f() { return 1; }")));
+
+    Compiler compiler = new Compiler(new TestErrorManager());
+    compiler.init(
+        incrementalExterns(),
+        ImmutableList.of(SourceFile.fromCode("a.js", "function f(x) { return 1; }")),
+        options);
+    try (ByteArrayInputStream in = new ByteArrayInputStream(savedState)) {
+      assertThat(compiler.restoreStateAndRecompileEdits(in)).isFalse();
+    }
+
+    // Nothing was restored, so the same compiler can compile from scratch.
+    compiler.parseForCompilation();
+    compiler.stage1Passes();
+    compiler.stage2Passes();
+    assertThat(compiler.hasErrors()).isFalse();
+  }
+
+  @Test
+  public void testRestoreStateAndRecompileEditsRechecksWholeProgramDiagnostics() throws Exception {
+    CompilerOptions options = new CompilerOptions();
+    CompilationLevel.SIMPLE_OPTIMIZATIONS.setOptionsForCompilationLevel(options);
+    options.setIncrementalRecompilation(true);
+    SourceFile a =
+        SourceFile.fromCode("a.js", "/** @const */ var C = 1; function f() { return C; }");
+    byte[] savedState =
+        checkAndSaveState(
+            options,
+            ImmutableList.of(a, SourceFile.fromCode("b.js", "function g() { return f(); }")));
+
+    Compiler compiler = new Compiler(new BlackHoleErrorManager());
+    compiler.init(
+        incrementalExterns(),
+        ImmutableList.of(a, SourceFile.fromCode("b.js", "function g() { C = 2; return f(); }")),
+        options);
+    try (ByteArrayInputStream in = new ByteArrayInputStream(savedState)) {
+      assertThat(compiler.restoreStateAndRecompileEdits(in)).isTrue();
+    }
+
+    // The constant is declared in a.js, so only a check over the whole program sees the edit
+    // reassign it.
+    assertThat(compiler.getWarnings()).hasSize(1);
+    assertThat(compiler.getWarnings().get(0).getType())
+        .isEqualTo(ConstCheck.CONST_REASSIGNED_VALUE_ERROR);
+  }
+
+  private static ImmutableList<SourceFile> incrementalExterns() {
+    return ImmutableList.of(
+        SourceFile.fromCode("externs.js", "var console = {}; console.log = function(x) {};"));
+  }
+
+  private static byte[] checkAndSaveState(CompilerOptions options, List<SourceFile> inputs)
+      throws IOException {
+    Compiler compiler = new Compiler(new TestErrorManager());
+    compiler.init(incrementalExterns(), inputs, options);
+    compiler.parseForCompilation();
+    compiler.stage1Passes();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    compiler.saveState(out);
+    return out.toByteArray();
+  }
+
+  @Test
+  public void testTypeInferenceIsIndependentOfParallelism() {
+    StringBuilder code = new StringBuilder();
+    // Enough functions that CFGs are built ahead of inference, and nested ones so the order in
+    // which they are consumed is not just the order of the script.
+    for (int i = 0; i < 200; i++) {
+      code.append(
+          lines(
+              "/** @param {number} x @return {string} */",
+              "function f" + i + "(x) {",
+              "  /** @return {number} */",
+              "  function g() { return x ? 'a' : 1; }",
+              "  var y = g();",
+              "  return y;",
+              "}"));
+    }
+
+    ImmutableList<String> serial = typeCheckWarnings(code.toString(), 1);
+    ImmutableList<String> parallel = typeCheckWarnings(code.toString(), 4);
+
+    assertThat(serial).isNotEmpty();
+    assertThat(parallel).containsExactlyElementsIn(serial).inOrder();
+  }
+
+  private static ImmutableList<String> typeCheckWarnings(String code, int numParallelThreads) {
+    CompilerOptions options = new CompilerOptions();
+    options.setCheckTypes(true);
+    options.setNumParallelThreads(numParallelThreads);
+    Compiler compiler = new Compiler();
+    Result result =
+        compiler.compile(
+            SourceFile.fromCode("externs.js", ""), SourceFile.fromCode("input.js", code), options);
+    ImmutableList.Builder<String> warnings = ImmutableList.builder();
+    for (JSError warning : result.warnings) {
+      warnings.add(warning.getLineNumber() + ": " + warning.getDescription());
+    }
+    return warnings.build();
+  }
+
+  @Test
+  public void testPeepholeOptimizationsAreIndependentOfParallelism() {
+    ImmutableList.Builder<SourceFile> inputs = ImmutableList.builder();
+    // Several scripts with several functions each, so both scripts and the scopes in them are
+    // optimized on the worker threads, by every peephole pass of the compilation level.
+    for (int i = 0; i < 8; i++) {
+      StringBuilder code = new StringBuilder();
+      for (int j = 0; j < 25; j++) {
+        String name = "f" + i + "_" + j;
+        code.append(
+            lines(
+                "function " + name + "(x) {",
+                "  if (true) { x = 1 + 2 + x; } else { x = 4; }",
+                "  var s = 'a' + 'b' + x;",
+                "  return function() { if (!!x) { return s.length + [1, 2].length; } };",
+                "}",
+                "console.log(" + name + "(" + j + "));"));
+      }
+      inputs.add(SourceFile.fromCode("input" + i + ".js", code.toString()));
+    }
+
+    String serial = simpleOptimizations(inputs.build(), 1);
+    String parallel = simpleOptimizations(inputs.build(), 4);
+
+    assertThat(serial).doesNotContain("1+2");
+    assertThat(parallel).isEqualTo(serial);
+  }
+
+  private static String simpleOptimizations(List<SourceFile> inputs, int numParallelThreads) {
+    CompilerOptions options = new CompilerOptions();
+    CompilationLevel.SIMPLE_OPTIMIZATIONS.setOptionsForCompilationLevel(options);
+    options.setNumParallelThreads(numParallelThreads);
+    Compiler compiler = new Compiler(new TestErrorManager());
+    compiler.compile(incrementalExterns(), inputs, options);
+    return compiler.toSource();
+  }
+
   @Test
   public void testStrictnessWithNonStrictOutputLanguage() {
     Compiler compiler = new Compiler(new TestErrorManager());
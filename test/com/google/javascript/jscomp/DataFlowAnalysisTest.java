@@ -652,6 +652,34 @@ public final class DataFlowAnalysisTest {
     verifyOutHas(n4, c, null);
   }
 
+  @Test
+  public void testQueuedNodesAreNotQueuedTwice() {
+    // a = 0; b = a; c = b;
+    Variable a = new Variable("a");
+    Variable b = new Variable("b");
+    Variable c = new Variable("c");
+    Instruction inst1 = newAssignNumberToVariableInstruction(a, 0);
+    Instruction inst2 = newAssignVariableToVariableInstruction(b, a);
+    Instruction inst3 = newAssignVariableToVariableInstruction(c, b);
+    ControlFlowGraph<Instruction> cfg = new ControlFlowGraph<>(inst1, true, true);
+    cfg.createNode(inst1);
+    cfg.createNode(inst2);
+    GraphNode<Instruction, Branch> n3 = cfg.createNode(inst3);
+    cfg.connect(inst1, ControlFlowGraph.Branch.UNCOND, inst2);
+    cfg.connect(inst2, ControlFlowGraph.Branch.UNCOND, inst3);
+
+    DummyConstPropagation constProp = new DummyConstPropagation(cfg);
+    constProp.analyze();
+
+    // Each node changes its successor, which is still queued from the start.
+    assertThat(constProp.getStepCount()).isEqualTo(3);
+    verifyOutHas(n3, c, 0);
+
+    // A second run starts from scratch.
+    constProp.analyze();
+    assertThat(constProp.getStepCount()).isEqualTo(3);
+  }
+
   @Test
   public void testLatticeArrayMinimizationWhenMidpointIsEven() {
     assertThat(JoinOp.BinaryJoinOp.computeMidPoint(12)).isEqualTo(6);
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.parsing.Config;
+import com.google.javascript.rhino.Node;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link DiskParsedAstCache}. */
+@RunWith(JUnit4.class)
+public final class DiskParsedAstCacheTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private File cacheDir;
+
+  @Before
+  public void setUp() throws IOException {
+    cacheDir = folder.newFolder("cache");
+  }
+
+  @Test
+  public void testMissThenHit() {
+    String code = "/** @const */ var a = function(x) { return x + 1; };";
+
+    Node first = parse(SourceFile.fromCode("a.js", code));
+    assertThat(cacheDir.list()).hasLength(1);
+
+    CountingCache cache = new CountingCache(new DiskParsedAstCache(cacheDir.toPath()));
+    SourceFile file = SourceFile.fromCode("a.js", code);
+    Node second = parse(file, cache);
+
+    assertThat(cache.hits).isEqualTo(1);
+    assertThat(second.isEquivalentTo(first)).isTrue();
+    // The cached tree is attributed to the file being compiled, not the one that was cached.
+    assertThat(second.getStaticSourceFile()).isSameInstanceAs(file);
+    assertThat(second.getFirstChild().getStaticSourceFile()).isSameInstanceAs(file);
+  }
+
+  @Test
+  public void testSameCodeInAnotherFileMisses() {
+    String code = "/** @type {number} */ var a = 1;";
+    parse(SourceFile.fromCode("a.js", code));
+
+    CountingCache cache = new CountingCache(new DiskParsedAstCache(cacheDir.toPath()));
+    Node second = parse(SourceFile.fromCode("b.js", code), cache);
+
+    assertThat(cache.hits).isEqualTo(0);
+    assertThat(cacheDir.list()).hasLength(2);
+    assertThat(second.getFirstChild().getJSDocInfo().getType().getSourceName()).isEqualTo("b.js");
+  }
+
+  @Test
+  public void testChangedCodeMisses() {
+    parse(SourceFile.fromCode("a.js", "var a;"));
+
+    CountingCache cache = new CountingCache(new DiskParsedAstCache(cacheDir.toPath()));
+    parse(SourceFile.fromCode("a.js", "var b;"), cache);
+
+    assertThat(cache.hits).isEqualTo(0);
+    assertThat(cacheDir.list()).hasLength(2);
+  }
+
+  @Test
+  public void testParseErrorsAreNotCached() {
+    parse(SourceFile.fromCode("a.js", "var f() = a;"));
+
+    assertThat(cacheDir.list()).isEmpty();
+  }
+
+  @Test
+  public void testCorruptEntryIsAMiss() throws IOException {
+    parse(SourceFile.fromCode("a.js", "var a;"));
+    File entry = cacheDir.listFiles()[0];
+    Files.write(entry.toPath(), new byte[] {1, 2, 3});
+
+    CountingCache cache = new CountingCache(new DiskParsedAstCache(cacheDir.toPath()));
+    Node root = parse(SourceFile.fromCode("a.js", "var a;"), cache);
+
+    assertThat(cache.hits).isEqualTo(0);
+    assertThat(root.getFirstChild().isVar()).isTrue();
+  }
+
+  private Node parse(SourceFile file) {
+    return parse(file, new DiskParsedAstCache(cacheDir.toPath()));
+  }
+
+  private static Node parse(SourceFile file, ParsedAstCache cache) {
+    CompilerOptions options = new CompilerOptions();
+    options.setParsedAstCache(cache);
+    Compiler compiler = new Compiler();
+    compiler.init(ImmutableList.of(), ImmutableList.of(file), options);
+    return new JsAst(file).getAstRoot(compiler);
+  }
+
+  /** Records how many lookups were answered by the delegate cache. */
+  private static final class CountingCache implements ParsedAstCache {
+    private final ParsedAstCache delegate;
+    int hits = 0;
+
+    CountingCache(ParsedAstCache delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public CachedAst get(SourceFile file, String code, Config config) {
+      CachedAst ast = delegate.get(file, code, config);
+      if (ast != null) {
+        hits++;
+      }
+      return ast;
+    }
+
+    @Override
+    public void put(SourceFile file, String code, Config config, CachedAst ast) {
+      delegate.put(file, code, config, ast);
+    }
+  }
+}
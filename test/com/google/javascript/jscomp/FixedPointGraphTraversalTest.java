@@ -19,10 +19,13 @@ package com.google.javascript.jscomp;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.javascript.jscomp.graph.DiGraph;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal.EdgeCallback;
 import com.google.javascript.jscomp.graph.LinkedDirectedGraph;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -224,6 +227,45 @@ public final class FixedPointGraphTraversalTest {
     assertThat(B.value).isEqualTo(6);
   }
 
+  @Test
+  public void testTraversalOrder() {
+    maxChange = 1;
+    ImmutableMap<Counter, String> names =
+        ImmutableMap.of(A, "A", B, "B", C, "C", D, "D", E, "E");
+    List<String> traversed = new ArrayList<>();
+    traversal =
+        FixedPointGraphTraversal.newTraversal(
+            (source, e, dest) -> {
+              traversed.add(names.get(source) + names.get(dest));
+              return callback.traverseEdge(source, e, dest);
+            });
+    traversal.computeFixedPoint(graph, A);
+
+    // Nodes are visited first-in first-out, and a node that is already queued is not queued again.
+    assertThat(traversed).containsExactly("AB", "AC", "AD", "BD", "CE", "DE", "ED").inOrder();
+  }
+
+  @Test
+  public void testLongChain() {
+    maxChange = 1;
+    Counter[] counters = new Counter[10000];
+    graph = LinkedDirectedGraph.create();
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = new Counter();
+      graph.createNode(counters[i]);
+      if (i > 0) {
+        graph.connect(counters[i - 1], "->", counters[i]);
+      }
+    }
+
+    traversal.computeFixedPoint(graph, counters[0]);
+
+    assertThat(counters[0].value).isEqualTo(0);
+    for (int i = 1; i < counters.length; i++) {
+      assertThat(counters[i].value).isEqualTo(1);
+    }
+  }
+
   @Test
   public void testReversedTraversal() {
     maxChange = 1;
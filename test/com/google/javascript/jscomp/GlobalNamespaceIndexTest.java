@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.javascript.rhino.testing.Asserts.assertThrows;
+
+import com.google.javascript.jscomp.CompilerOptions.DevMode;
+import com.google.javascript.jscomp.CompilerOptions.LanguageMode;
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link GlobalNamespaceIndex}. */
+@RunWith(JUnit4.class)
+public final class GlobalNamespaceIndexTest {
+
+  @Test
+  public void testNamespaceIsSharedWhileCodeIsUnchanged() {
+    Compiler compiler = compile("const a = {b: 0};", /* share= */ true);
+    GlobalNamespaceIndex index = compiler.getGlobalNamespaceIndex();
+
+    GlobalNamespace namespace = index.get(compiler.getExternsRoot(), compiler.getJsRoot());
+
+    assertThat(index.get(compiler.getExternsRoot(), compiler.getJsRoot()))
+        .isSameInstanceAs(namespace);
+    assertThat(index.get(null, compiler.getJsRoot())).isNotSameInstanceAs(namespace);
+  }
+
+  @Test
+  public void testNamespaceIsRebuiltAfterChange() {
+    Compiler compiler = compile("const a = {b: 0};", /* share= */ true);
+    GlobalNamespaceIndex index = compiler.getGlobalNamespaceIndex();
+
+    GlobalNamespace namespace = index.get(null, compiler.getJsRoot());
+    Node script = compiler.getJsRoot().getFirstChild();
+    script.addChildToBack(IR.exprResult(IR.assign(IR.getprop(IR.name("a"), "c"), IR.number(1))));
+    compiler.reportChangeToEnclosingScope(script.getLastChild());
+
+    GlobalNamespace rebuilt = index.get(null, compiler.getJsRoot());
+    assertThat(rebuilt).isNotSameInstanceAs(namespace);
+    assertThat(rebuilt.getSlot("a.c")).isNotNull();
+  }
+
+  @Test
+  public void testNamespaceIsNotSharedByDefault() {
+    Compiler compiler = compile("const a = {b: 0};", /* share= */ false);
+    GlobalNamespaceIndex index = compiler.getGlobalNamespaceIndex();
+
+    GlobalNamespace namespace = index.get(null, compiler.getJsRoot());
+
+    assertThat(index.get(null, compiler.getJsRoot())).isNotSameInstanceAs(namespace);
+  }
+
+  @Test
+  public void testOutOfDateNamespaceIsReportedInDevMode() {
+    Compiler compiler = compile("const a = {b: 0};", /* share= */ true);
+    compiler.getOptions().setDevMode(DevMode.EVERY_PASS);
+    GlobalNamespaceIndex index = compiler.getGlobalNamespaceIndex();
+
+    GlobalNamespace namespace = index.get(null, compiler.getJsRoot());
+    assertThat(namespace.getSlot("a.b")).isNotNull();
+    // Change the code without reporting it, so the shared namespace misses the new reference.
+    Node script = compiler.getJsRoot().getFirstChild();
+    script.addChildToBack(IR.exprResult(IR.assign(IR.getprop(IR.name("a"), "b"), IR.number(1))));
+
+    assertThrows(IllegalStateException.class, () -> index.get(null, compiler.getJsRoot()));
+  }
+
+  private static Compiler compile(String js, boolean share) {
+    Compiler compiler = new Compiler();
+    CompilerOptions options = new CompilerOptions();
+    options.setSkipNonTranspilationPasses(true);
+    options.setLanguageIn(LanguageMode.ECMASCRIPT_NEXT_IN);
+    options.setLanguageOut(LanguageMode.NO_TRANSPILE);
+    options.setShareGlobalNamespace(share);
+    compiler.compile(SourceFile.fromCode("ex.js", ""), SourceFile.fromCode("test.js", js), options);
+    assertThat(compiler.getErrors()).isEmpty();
+    return compiler;
+  }
+}
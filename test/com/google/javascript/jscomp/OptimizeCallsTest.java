@@ -18,9 +18,12 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
+import static com.google.javascript.rhino.testing.Asserts.assertThrows;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.truth.Correspondence;
+import com.google.javascript.jscomp.CompilerOptions.DevMode;
+import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
 import java.util.Map;
@@ -39,6 +42,9 @@ public final class OptimizeCallsTest extends CompilerTestCase {
   // Whether to consider externs during the next collection. Must be explicitly set.
   private Boolean considerExterns = null;
 
+  // Whether to collect the references from the shared index.
+  private boolean shareReferences = false;
+
   @Override
   @Before
   public void setUp() throws Exception {
@@ -48,6 +54,17 @@ public final class OptimizeCallsTest extends CompilerTestCase {
     enableGatherExternProperties();
   }
 
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    if (shareReferences) {
+      options.setShareOptimizeCallsReferences(true);
+      // Check the shared references against a full traversal.
+      options.setDevMode(DevMode.EVERY_PASS);
+    }
+    return options;
+  }
+
   @Override
   protected CompilerPass getProcessor(final Compiler compiler) {
     return OptimizeCalls.builder()
@@ -222,6 +239,41 @@ public final class OptimizeCallsTest extends CompilerTestCase {
     assertThat(subClassRefNodes).hasSize(2);
   }
 
+  @Test
+  public void testReferenceCollection_sharedIndexSeesReportedChanges() {
+    considerExterns = false;
+    shareReferences = true;
+
+    testSame(srcs("function foo() {} function bar() {} foo();"));
+    assertThat(ImmutableMap.copyOf(references.getNameReferences()).get("foo")).hasSize(2);
+
+    // Add a call to `foo` in `bar`, and collect the references again.
+    Compiler compiler = getLastCompiler();
+    Node barBody = compiler.getJsRoot().getFirstChild().getSecondChild().getLastChild();
+    barBody.addChildToBack(IR.exprResult(IR.call(IR.name("foo"))));
+    compiler.reportChangeToEnclosingScope(barBody.getLastChild());
+    getProcessor(compiler).process(compiler.getExternsRoot(), compiler.getJsRoot());
+
+    assertThat(ImmutableMap.copyOf(references.getNameReferences()).get("foo")).hasSize(3);
+  }
+
+  @Test
+  public void testReferenceCollection_sharedIndexMissingAChangeIsReported() {
+    considerExterns = false;
+    shareReferences = true;
+
+    testSame(srcs("function foo() {} function bar() {} foo();"));
+
+    // Add a call to `foo` in `bar` without reporting the change.
+    Compiler compiler = getLastCompiler();
+    Node barBody = compiler.getJsRoot().getFirstChild().getSecondChild().getLastChild();
+    barBody.addChildToBack(IR.exprResult(IR.call(IR.name("foo"))));
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> getProcessor(compiler).process(compiler.getExternsRoot(), compiler.getJsRoot()));
+  }
+
   private static final Correspondence<Map.Entry<String, Node>, String> KEY_EQUALITY =
       Correspondence.transforming(Map.Entry::getKey, "has key");
 }
@@ -16,6 +16,7 @@
 
 package com.google.javascript.jscomp;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -23,6 +24,22 @@ import org.junit.runners.JUnit4;
 @RunWith(JUnit4.class)
 public final class PeepholeCollectPropertyAssignmentsTest extends CompilerTestCase {
 
+  private int numParallelThreads;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    numParallelThreads = 1;
+  }
+
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    return options;
+  }
+
   @Override
   protected CompilerPass getProcessor(final Compiler compiler) {
     return new PeepholeOptimizationsPass(
@@ -53,6 +70,17 @@ public final class PeepholeCollectPropertyAssignmentsTest extends CompilerTestCa
             "console.log(foo.baz);"));
   }
 
+  @Test
+  public void testParallelScripts() {
+    // The assignments are only collected when the scripts themselves are visited.
+    for (int threads : new int[] {1, 4}) {
+      numParallelThreads = threads;
+      test(
+          srcs("var a = []; a[0] = 1;", "var b = {}; b.x = 2;", "var c = []; c[0] = 3;"),
+          expected("var a = [1];", "var b = {x: 2};", "var c = [3];"));
+    }
+  }
+
   @Test
   public void testArrayOptimization1() {
     test("var a = []; a[0] = 1; a[1] = 2; a[2] = 3;",
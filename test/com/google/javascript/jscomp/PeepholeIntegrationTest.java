@@ -27,6 +27,7 @@ public class PeepholeIntegrationTest extends CompilerTestCase {
 
   private boolean late;
   private int numRepetitions;
+  private int numParallelThreads;
 
   @Override
   @Before
@@ -36,6 +37,14 @@ public class PeepholeIntegrationTest extends CompilerTestCase {
     enableNormalize();
     late = false;
     numRepetitions = 2;
+    numParallelThreads = 1;
+  }
+
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    return options;
   }
 
   @Override
@@ -69,6 +78,22 @@ public class PeepholeIntegrationTest extends CompilerTestCase {
     testSame("x = !0");
   }
 
+  @Test
+  public void testParallelScopes() {
+    numParallelThreads = 4;
+    test(
+        srcs(
+            "function f(){if(x()){}} var a = !0;",
+            "function g(){switch(x){default:{break}}} function h(){ return 1 + 2; }",
+            "var b = function(){ if (true) { foo(); } else { bar(); } };",
+            "function i() { if (false) { j(); } }"),
+        expected(
+            "function f(){x()} var a = true;",
+            "function g(){} function h(){ return 3; }",
+            "var b = function(){ foo(); };",
+            "function i() {}"));
+  }
+
   /** Check that removing blocks with 1 child works */
   @Test
   public void testFoldOneChildBlocksIntegration() {
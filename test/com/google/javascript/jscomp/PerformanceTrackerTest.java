@@ -19,6 +19,9 @@ package com.google.javascript.jscomp;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import com.google.javascript.jscomp.CompilerOptions.TracerMode;
 import com.google.javascript.jscomp.PerformanceTracker.Stats;
 import com.google.javascript.rhino.IR;
@@ -105,6 +108,66 @@ public final class PerformanceTrackerTest {
     assertThat(st.changes).isEqualTo(0);
   }
 
+  @Test
+  public void testDataFlowSteps() {
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY);
+
+    tracker.recordDataFlowSteps(5);
+    tracker.recordPassStart("inlineVariables", false);
+    tracker.recordDataFlowSteps(10);
+    tracker.recordDataFlowSteps(20);
+    tracker.recordPassStop("inlineVariables", 0);
+    tracker.recordPassStart("inlineVariables", false);
+    tracker.recordDataFlowSteps(40);
+    tracker.recordPassStop("inlineVariables", 0);
+
+    assertThat(tracker.getStats().get("inlineVariables").dataFlowSteps).isEqualTo(70);
+  }
+
+  @Test
+  public void testTraceEvents() throws Exception {
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY);
+
+    long loopStart = System.nanoTime();
+    tracker.recordPassStart("inlineVariables", false);
+    tracker.getCodeChangeHandler().reportChange();
+    tracker.recordPassStop("inlineVariables", 0);
+    tracker.recordLoopIteration(1, loopStart, true, 42);
+    tracker.recordWorkerTask(7, "worker \"7\"", "parse a.js", loopStart, System.nanoTime());
+
+    StringBuilder out = new StringBuilder();
+    tracker.outputTraceEvents(out);
+    JsonArray events =
+        new Gson().fromJson(out.toString(), JsonObject.class).getAsJsonArray("traceEvents");
+
+    assertThat(events.size()).isEqualTo(5);
+    JsonObject compilerThread = events.get(0).getAsJsonObject();
+    assertThat(compilerThread.get("ph").getAsString()).isEqualTo("M");
+    assertThat(compilerThread.get("tid").getAsLong()).isEqualTo(0);
+    JsonObject workerThread = events.get(1).getAsJsonObject();
+    assertThat(workerThread.get("tid").getAsLong()).isEqualTo(7);
+    assertThat(workerThread.getAsJsonObject("args").get("name").getAsString())
+        .isEqualTo("worker \"7\"");
+
+    JsonObject pass = events.get(2).getAsJsonObject();
+    assertThat(pass.get("name").getAsString()).isEqualTo("inlineVariables");
+    assertThat(pass.get("cat").getAsString()).isEqualTo("loopPass");
+    assertThat(pass.get("ph").getAsString()).isEqualTo("X");
+    assertThat(pass.getAsJsonObject("args").get("changed").getAsBoolean()).isTrue();
+
+    JsonObject iteration = events.get(3).getAsJsonObject();
+    assertThat(iteration.get("cat").getAsString()).isEqualTo("loop");
+    assertThat(iteration.getAsJsonObject("args").get("astSize").getAsInt()).isEqualTo(42);
+    // The pass ran within the iteration.
+    assertThat(pass.get("ts").getAsLong()).isAtLeast(iteration.get("ts").getAsLong());
+
+    JsonObject task = events.get(4).getAsJsonObject();
+    assertThat(task.get("name").getAsString()).isEqualTo("parse a.js");
+    assertThat(task.get("tid").getAsLong()).isEqualTo(7);
+  }
+
   @Test
   public void testAstSummaryAndFormat() {
     // Given
@@ -175,7 +238,8 @@ public final class PerformanceTrackerTest {
                 "Extern sources: [0-9]+",
                 "",
                 "Summary:",
-                "pass,runtime,allocMem,runs,changingRuns,astReduction,reduction,gzReduction",
+                "pass,runtime,allocMem,runs,changingRuns,astReduction,reduction,gzReduction,"
+                    + "dataFlowSteps",
                 "",
                 "Log:",
                 "pass,runtime,allocMem,codeChanged,astReduction,reduction,gzReduction,astSize,size,gzSize",
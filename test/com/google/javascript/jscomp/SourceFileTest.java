@@ -19,7 +19,9 @@ package com.google.javascript.jscomp;
 import static com.google.common.truth.Truth.assertThat;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.io.CharStreams;
 import com.google.common.io.MoreFiles;
 import com.google.javascript.rhino.StaticSourceFile.SourceKind;
 import java.io.ByteArrayInputStream;
@@ -29,6 +31,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -111,6 +114,67 @@ public final class SourceFileTest {
     assertThat(sourceFile.getCode()).isEqualTo(newExpectedContent);
   }
 
+  @Test
+  public void testMappedFile() throws IOException {
+    String content = "var a = 1;\nvar b = '\u00e9';\n";
+    Path jsPath = folder.newFile("mapped.js").toPath();
+    MoreFiles.asCharSink(jsPath, UTF_8).write("\uFEFF" + content);
+    SourceFile sourceFile = SourceFile.fromMappedPath(jsPath, UTF_8, SourceKind.STRONG);
+
+    // Finding lines decodes the file but does not keep the text.
+    assertThat(sourceFile.getLineOffset(2)).isEqualTo(11);
+    assertThat(sourceFile.hasSourceInMemory()).isFalse();
+
+    assertThat(sourceFile.getCode()).isEqualTo(content);
+    assertThat(sourceFile.hasSourceInMemory()).isTrue();
+    sourceFile.clearCachedSource();
+    assertThat(sourceFile.hasSourceInMemory()).isFalse();
+    try (Reader reader = sourceFile.getCodeReader()) {
+      assertThat(CharStreams.toString(reader)).isEqualTo(content);
+    }
+  }
+
+  @Test
+  public void testMappedFileIsDroppedAfterParsing() throws IOException {
+    Path jsPath = folder.newFile("mapped.js").toPath();
+    MoreFiles.asCharSink(jsPath, UTF_8).write("var a = 1;");
+    SourceFile sourceFile = SourceFile.fromMappedPath(jsPath, UTF_8, SourceKind.STRONG);
+
+    Compiler compiler = new Compiler();
+    compiler.init(ImmutableList.of(), ImmutableList.of(sourceFile), new CompilerOptions());
+    compiler.parse();
+
+    assertThat(compiler.getErrors()).isEmpty();
+    assertThat(sourceFile.hasSourceInMemory()).isFalse();
+    assertThat(sourceFile.getCode()).isEqualTo("var a = 1;");
+  }
+
+  @Test
+  public void testMappedFileServesExcerptsWithoutKeepingCode() throws IOException {
+    Path jsPath = folder.newFile("mapped.js").toPath();
+    MoreFiles.asCharSink(jsPath, UTF_8)
+        .write("\uFEFFvar a = 1;\nvar b = 2;\nvar c = 3;\nvar d = 4;\nvar e = 5;\nvar f = 6;\n");
+    SourceFile sourceFile = SourceFile.fromMappedPath(jsPath, UTF_8, SourceKind.STRONG);
+
+    Compiler compiler = new Compiler();
+    compiler.init(ImmutableList.of(), ImmutableList.of(sourceFile), new CompilerOptions());
+    compiler.parse();
+    assertThat(sourceFile.hasSourceInMemory()).isFalse();
+
+    assertThat(sourceFile.getNumLines()).isEqualTo(7);
+    assertThat(sourceFile.getLine(1)).isEqualTo("var a = 1;");
+    assertThat(sourceFile.getLine(6)).isEqualTo("var f = 6;");
+    assertThat(sourceFile.getLine(7)).isNull();
+    assertThat(sourceFile.getLines(2, 12).getSourceExcerpt()).isEqualTo("var b = 2;\nvar c = 3;");
+    Region region = sourceFile.getRegion(4);
+    assertThat(region.getBeginningLineNumber()).isEqualTo(2);
+    assertThat(region.getEndingLineNumber()).isEqualTo(7);
+    assertThat(region.getSourceExcerpt())
+        .isEqualTo("var b = 2;\nvar c = 3;\nvar d = 4;\nvar e = 5;\nvar f = 6;\n");
+    assertThat(sourceFile.getColumnOfOffset(14)).isEqualTo(3);
+    assertThat(sourceFile.hasSourceInMemory()).isFalse();
+  }
+
   @Test
   public void testCachingZipFile() throws IOException {
     // Setup environment.
@@ -26,10 +26,14 @@ import com.google.common.collect.ImmutableList;
 import com.google.javascript.jscomp.ErrorManager;
 import com.google.javascript.jscomp.PrintStreamErrorManager;
 import com.google.javascript.jscomp.SourceFile;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
@@ -40,6 +44,8 @@ public final class DepsGeneratorTest {
   private static final Joiner LINE_JOINER = Joiner.on("\n");
   private ErrorManager errorManager;
 
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
   @Before
   public void setUp() throws Exception {
     errorManager = new PrintStreamErrorManager(System.err);
@@ -592,6 +598,76 @@ public final class DepsGeneratorTest {
         "Could not find file \"./missing.js\".");
   }
 
+  @Test
+  public void testDependencyInfoCache() throws Exception {
+    File cacheDir = folder.newFolder("cache");
+    String expected = computeCachingSourcesDeps(new DiskDependencyInfoCache(cacheDir.toPath()), 1);
+    assertNoWarnings();
+    // The ES6 module is not cached, since its module name depends on the module roots.
+    assertThat(cacheDir.list()).hasLength(2);
+
+    CountingCache cache = new CountingCache(new DiskDependencyInfoCache(cacheDir.toPath()));
+    assertThat(computeCachingSourcesDeps(cache, 1)).isEqualTo(expected);
+    assertThat(cache.hits).isEqualTo(2);
+    assertNoWarnings();
+  }
+
+  @Test
+  public void testParallelParsingMatchesSerial() throws Exception {
+    String serial = computeCachingSourcesDeps(null, 1);
+    assertThat(computeCachingSourcesDeps(null, 4)).isEqualTo(serial);
+    assertNoWarnings();
+  }
+
+  private String computeCachingSourcesDeps(
+      @Nullable DependencyInfoCache cache, int numParallelThreads) throws Exception {
+    ImmutableList<SourceFile> srcs =
+        ImmutableList.of(
+            SourceFile.fromCode("/base/javascript/foo/a.js", "goog.provide('a');"),
+            SourceFile.fromCode(
+                "/base/javascript/foo/b.js", "goog.module('b');\nconst a = goog.require('a');"),
+            SourceFile.fromCode("/base/javascript/foo/c.js", "export const c = 1;"));
+    DepsGenerator depsGenerator =
+        new DepsGenerator(
+            ImmutableList.of(),
+            srcs,
+            DepsGenerator.InclusionStrategy.ALWAYS,
+            "/base/javascript/closure",
+            errorManager,
+            new ModuleLoader(
+                null,
+                ImmutableList.of("/base/"),
+                ImmutableList.of(),
+                BrowserModuleResolver.FACTORY,
+                ModuleLoader.PathResolver.ABSOLUTE));
+    depsGenerator.setDependencyInfoCache(cache);
+    depsGenerator.setNumParallelThreads(numParallelThreads);
+    return depsGenerator.computeDependencyCalls();
+  }
+
+  private static final class CountingCache implements DependencyInfoCache {
+    private final DependencyInfoCache delegate;
+    int hits = 0;
+
+    CountingCache(DependencyInfoCache delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public DependencyInfo get(String key, String code) {
+      DependencyInfo info = delegate.get(key, code);
+      if (info != null) {
+        hits++;
+      }
+      return info;
+    }
+
+    @Override
+    public void put(String key, String code, DependencyInfo info) {
+      delegate.put(key, code, info);
+    }
+  }
+
   private void assertNoWarnings() {
     assertThat(errorManager.getWarnings()).isEmpty();
     assertThat(errorManager.getErrors()).isEmpty();
@@ -63,6 +63,7 @@ public final class DisambiguateProperties2Test extends CompilerTestCase {
           "goog.reflect.objectProperty = function(prop, obj) { return ''; };");
 
   private ImmutableMap<String, CheckLevel> propertiesToErrorFor = ImmutableMap.of();
+  private int numThreads = 1;
 
   public DisambiguateProperties2Test() {
     super("");
@@ -77,7 +78,7 @@ public final class DisambiguateProperties2Test extends CompilerTestCase {
 
   @Override
   protected CompilerPass getProcessor(final Compiler compiler) {
-    return new DisambiguateProperties2(compiler, propertiesToErrorFor);
+    return new DisambiguateProperties2(compiler, propertiesToErrorFor, numThreads);
   }
 
   @Override
@@ -128,6 +129,49 @@ public final class DisambiguateProperties2Test extends CompilerTestCase {
                 "}")));
   }
 
+  @Test
+  public void parallelReferenceFinding_matchesSerialNames() {
+    this.numThreads = 4;
+
+    test(
+        srcs(
+            lines(
+                "/** @interface */", //
+                "class IFoo {",
+                "  x() { }",
+                "}"),
+            lines(
+                "/**", //
+                " * @interface",
+                " * @extends {IFoo}",
+                " */",
+                "class IFoo2 {",
+                "  x() { }",
+                "}"),
+            lines(
+                "class Other {", //
+                "  x() { }",
+                "}")),
+        expected(
+            lines(
+                "/** @interface */", //
+                "class IFoo {",
+                "  JSC$2_x() { }",
+                "}"),
+            lines(
+                "/**", //
+                " * @interface",
+                " * @extends {IFoo}",
+                " */",
+                "class IFoo2 {",
+                "  JSC$2_x() { }",
+                "}"),
+            lines(
+                "class Other {", //
+                "  JSC$3_x() { }",
+                "}")));
+  }
+
   @Test
   public void propertiesAreConflated_byExtends_fromClass() {
     test(
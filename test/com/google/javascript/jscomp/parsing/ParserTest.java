@@ -33,6 +33,7 @@ import com.google.javascript.jscomp.parsing.ParserRunner.ParseResult;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet.Feature;
 import com.google.javascript.jscomp.parsing.parser.trees.Comment;
+import com.google.javascript.jscomp.parsing.parser.util.LineOffsets;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.JSTypeExpression;
@@ -1232,6 +1233,50 @@ public final class ParserTest extends BaseJSTypeTestCase {
     assertThat(export.getFirstChild().getJSDocInfo().hasParameter("x")).isTrue();
   }
 
+  @Test
+  public void testLazyJSDocIsParsedOnFirstRead() {
+    // Keeps the description of the file overview.
+    isIdeMode = true;
+    String source =
+        lines(
+            "/** @fileoverview Lazy. */",
+            "/** @param {string} x */ function f(x) {}",
+            "/** @const */ var a = /** @type {number} */ (1);",
+            "function g(/** string */ y) {}");
+    Config lazyConfig = createConfig().toBuilder().setParseJsDocLazily(true).build();
+    StaticSourceFile file = new SimpleSourceFile("input", SourceKind.STRONG);
+
+    Node lazy =
+        ParserRunner.parse(file, source, lazyConfig, new TestErrorReporter()).ast;
+    Node f = lazy.getFirstChild();
+    Node a = f.getNext();
+    assertThat(f.hasUnparsedJSDocInfo()).isTrue();
+    assertThat(a.hasUnparsedJSDocInfo()).isTrue();
+
+    assertThat(f.getJSDocInfo().hasParameter("x")).isTrue();
+    assertThat(f.getJSDocInfo().hasParameter("x")).isTrue();
+    assertThat(f.hasUnparsedJSDocInfo()).isFalse();
+    assertThat(a.hasUnparsedJSDocInfo()).isTrue();
+
+    Node eager = ParserRunner.parse(file, source, createConfig(), new TestErrorReporter()).ast;
+    assertThat(lazy.isEquivalentTo(eager, false, true, true, false)).isTrue();
+    assertThat(lazy.getJSDocInfo().getFileOverview()).isEqualTo("Lazy.");
+  }
+
+  @Test
+  public void testScannerFindsLineOffsets() {
+    String source =
+        "var a = 1;\r\n/* x\n y */ var b = `\n`;\u2028var c = 'd\\\n';\r// e\n\n";
+    ParseResult result = doParse(source, STRING_CONTINUATIONS_WARNING);
+
+    LineOffsets expected = LineOffsets.of(source);
+    assertThat(result.lineOffsets).isNotNull();
+    assertThat(result.lineOffsets.getLineCount()).isEqualTo(expected.getLineCount());
+    for (int line = 1; line <= expected.getLineCount(); line++) {
+      assertThat(result.lineOffsets.getLineOffset(line)).isEqualTo(expected.getLineOffset(line));
+    }
+  }
+
   @Test
   public void testInlineJSDocAttachmentToVar() {
     Node letNode = parse("let /** string */ x = 'a';").getFirstChild();
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.parsing.parser.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link LineOffsets}. */
+@RunWith(JUnit4.class)
+public final class LineOffsetsTest {
+
+  @Test
+  public void testOf() {
+    LineOffsets offsets = LineOffsets.of("a\nbc\r\n\nd");
+    assertThat(offsets.getLineCount()).isEqualTo(4);
+    assertThat(offsets.getLineOffset(1)).isEqualTo(0);
+    assertThat(offsets.getLineOffset(2)).isEqualTo(2);
+    assertThat(offsets.getLineOffset(3)).isEqualTo(6);
+    assertThat(offsets.getLineOffset(4)).isEqualTo(7);
+    try {
+      offsets.getLineOffset(5);
+      fail("There is no fifth line.");
+    } catch (IllegalArgumentException expected) {}
+  }
+
+  @Test
+  public void testTrailingNewlineStartsAnEmptyLine() {
+    assertThat(LineOffsets.of("").getLineCount()).isEqualTo(1);
+    assertThat(LineOffsets.of("a\n").getLineCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGetLineOfOffset() {
+    LineOffsets offsets = LineOffsets.of("ab\ncd\n");
+    assertThat(offsets.getLineOfOffset(0)).isEqualTo(1);
+    assertThat(offsets.getLineOfOffset(2)).isEqualTo(1);
+    assertThat(offsets.getLineOfOffset(3)).isEqualTo(2);
+    assertThat(offsets.getLineOfOffset(6)).isEqualTo(3);
+    assertThat(offsets.getLineOfOffset(100)).isEqualTo(3);
+  }
+
+  @Test
+  public void testBuilderIgnoresRepeatedOffsets() {
+    LineOffsets.Builder builder = new LineOffsets.Builder();
+    for (int i = 1; i <= 100; i++) {
+      builder.addLineStart(i * 2);
+      // A scanner that rewinds reports the same line starts again.
+      builder.addLineStart(i * 2);
+      builder.addLineStart(i);
+    }
+    LineOffsets offsets = builder.build();
+    assertThat(offsets.getLineCount()).isEqualTo(101);
+    assertThat(offsets.getLineOffset(101)).isEqualTo(200);
+  }
+}
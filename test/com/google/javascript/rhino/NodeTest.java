@@ -44,6 +44,7 @@ import static com.google.javascript.rhino.testing.NodeSubject.assertNode;
 import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.colors.ColorRegistry;
 import com.google.javascript.jscomp.colors.NativeColorId;
+import com.google.javascript.rhino.StaticSourceFile.SourceKind;
 import com.google.javascript.rhino.jstype.JSTypeNative;
 import com.google.javascript.rhino.jstype.JSTypeRegistry;
 import com.google.javascript.rhino.testing.TestErrorReporter;
@@ -525,6 +526,34 @@ public class NodeTest {
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
   }
 
+  @Test
+  public void testBooleanPropListsAreShared() {
+    Node template = new Node(Token.SCRIPT);
+    template.setStaticSourceFile(new SimpleSourceFile("a.js", SourceKind.STRONG));
+    Node n = getVarRef("a").clonePropsFrom(template);
+    Node m = getVarRef("b").clonePropsFrom(template);
+    Node unsourced = getVarRef("c");
+
+    n.putBooleanProp(Node.IS_CONSTANT_NAME, true);
+    m.putBooleanProp(Node.IS_CONSTANT_NAME, true);
+    unsourced.putBooleanProp(Node.IS_CONSTANT_NAME, true);
+
+    assertThat(n.getPropListHeadForTesting()).isSameInstanceAs(m.getPropListHeadForTesting());
+    assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
+    assertThat(n.getStaticSourceFile()).isSameInstanceAs(template.getStaticSourceFile());
+    assertThat(unsourced.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
+
+    m.putBooleanProp(Node.IS_CONSTANT_NAME, false);
+    assertThat(m.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
+    assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
+    assertThat(m.getPropListHeadForTesting())
+        .isSameInstanceAs(template.getPropListHeadForTesting());
+
+    unsourced.putIntProp(Node.FREE_CALL, 1);
+    assertThat(unsourced.getBooleanProp(Node.FREE_CALL)).isTrue();
+    assertThat(unsourced.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
+  }
+
   // Verify that annotations on cloned nodes are properly handled.
   @Test
   public void testCloneAnnontations2() {
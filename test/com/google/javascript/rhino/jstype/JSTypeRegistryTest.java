@@ -336,6 +336,49 @@ public class JSTypeRegistryTest {
     assertThat(type).isInstanceOf(NamedType.class);
   }
 
+  @Test
+  public void testTypeRelationCache_remembersAnswers() {
+    registry.setCacheTypeRelations(true);
+    JSType number = registry.getNativeType(NUMBER_TYPE);
+    JSType recordWithX = new RecordTypeBuilder(registry).addProperty("x", number, null).build();
+    ObjectType empty = registry.createAnonymousObjectType(null);
+
+    assertThat(empty.isSubtypeOf(recordWithX)).isFalse();
+    long misses = registry.getTypeRelationCacheMissCount();
+    assertThat(empty.isSubtypeOf(recordWithX)).isFalse();
+
+    assertThat(registry.getTypeRelationCacheHitCount()).isEqualTo(1);
+    assertThat(registry.getTypeRelationCacheMissCount()).isEqualTo(misses);
+  }
+
+  @Test
+  public void testTypeRelationCache_forgetsAnswersWhenAPropertyIsDefined() {
+    registry.setCacheTypeRelations(true);
+    JSType number = registry.getNativeType(NUMBER_TYPE);
+    JSType recordWithX = new RecordTypeBuilder(registry).addProperty("x", number, null).build();
+    ObjectType empty = registry.createAnonymousObjectType(null);
+    assertThat(empty.isSubtypeOf(recordWithX)).isFalse();
+
+    empty.defineDeclaredProperty("x", number, null);
+
+    assertThat(empty.isSubtypeOf(recordWithX)).isTrue();
+  }
+
+  @Test
+  public void testTypeRelationCache_offByDefault() {
+    ObjectType empty = registry.createAnonymousObjectType(null);
+    JSType recordWithX =
+        new RecordTypeBuilder(registry)
+            .addProperty("x", registry.getNativeType(NUMBER_TYPE), null)
+            .build();
+
+    assertThat(empty.isSubtypeOf(recordWithX)).isFalse();
+    assertThat(empty.isSubtypeOf(recordWithX)).isFalse();
+
+    assertThat(registry.getTypeRelationCacheHitCount()).isEqualTo(0);
+    assertThat(registry.getTypeRelationCacheMissCount()).isEqualTo(0);
+  }
+
   /** Returns a scope that overrides a few methods from {@link AbstractStaticScope} */
   private StaticTypedScope createStaticTypedScope(
       Node root,
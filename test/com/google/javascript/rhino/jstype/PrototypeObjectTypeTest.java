@@ -40,6 +40,7 @@ package com.google.javascript.rhino.jstype;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.google.javascript.rhino.jstype.Property.OwnedProperty;
 import com.google.javascript.rhino.testing.BaseJSTypeTestCase;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -66,4 +67,31 @@ public class PrototypeObjectTypeTest extends BaseJSTypeTestCase {
                 "  foo: number",
                 "}"));
   }
+
+  @Test
+  public void testOwnPropertyNamesAreSorted() {
+    ObjectType type = registry.createAnonymousObjectType(null);
+    type.defineDeclaredProperty("b", NUMBER_TYPE, null);
+    type.defineDeclaredProperty("c", NUMBER_TYPE, null);
+    type.defineDeclaredProperty("a", NUMBER_TYPE, null);
+
+    assertThat(type.getOwnPropertyNames()).containsExactly("a", "b", "c").inOrder();
+  }
+
+  @Test
+  public void testCachedPropertyLookups_seePropertiesDefinedLater() {
+    registry.setCachePropertyLookups(true);
+    FunctionType ctor;
+    try (JSTypeResolver.Closer closer = registry.getResolver().openForDefinition()) {
+      ctor = FunctionType.builder(registry).forConstructor().withName("Foo").build();
+    }
+    ObjectType instance = ctor.getInstanceType();
+    assertThat(instance.findClosestDefinition("bar")).isNull();
+
+    ctor.getPrototype().defineDeclaredProperty("bar", NUMBER_TYPE, null);
+
+    OwnedProperty bar = instance.findClosestDefinition("bar");
+    assertThat(bar.getOwner()).isSameInstanceAs(ctor.getPrototype());
+    assertThat(instance.findClosestDefinition("bar")).isSameInstanceAs(bar);
+  }
 }
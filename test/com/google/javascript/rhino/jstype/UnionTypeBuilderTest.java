@@ -42,9 +42,12 @@ import static com.google.common.truth.Truth.assertThat;
 import static com.google.javascript.rhino.testing.Asserts.assertThrows;
 import static com.google.javascript.rhino.testing.TypeSubject.assertType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.javascript.rhino.testing.BaseJSTypeTestCase;
 import com.google.javascript.rhino.testing.MapBasedScope;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -288,6 +291,54 @@ public class UnionTypeBuilderTest extends BaseJSTypeTestCase {
     assertThrows(Exception.class, () -> builder.addAlternate(NUMBER_TYPE));
   }
 
+  @Test
+  public void testLargeUnionOfClassInstances() {
+    // Enough classes for the builder to index them. UnionTypeBenchmark measures larger unions.
+    List<ObjectType> instances = createSubclassInstances(100);
+
+    UnionType.Builder builder = UnionType.builderForPropertyChecking(registry);
+    builder.addAlternates(instances);
+    builder.addAlternates(instances);
+    builder.addAlternate(sub);
+    builder.addAlternate(STRING_TYPE);
+
+    ImmutableList<JSType> alternates = builder.build().toMaybeUnionType().getAlternates();
+    assertThat(alternates).hasSize(102);
+    assertThat(alternates.subList(0, 100)).containsExactlyElementsIn(instances).inOrder();
+    assertType(alternates.get(100)).isEqualTo(sub);
+  }
+
+  @Test
+  public void testLargeUnionOfClassInstances_superclassReplacesSubclasses() {
+    List<ObjectType> instances = createSubclassInstances(100);
+
+    UnionType.Builder builder = UnionType.builderForPropertyChecking(registry);
+    builder.addAlternates(instances);
+    builder.addAlternate(NUMBER_TYPE);
+    builder.addAlternate(base);
+    builder.addAlternates(instances);
+    builder.addAlternate(sub);
+
+    assertThat(builder.build().toString()).isEqualTo("(Base|number)");
+  }
+
+  /** Creates the instances of {@code count} subclasses of Base. */
+  private List<ObjectType> createSubclassInstances(int count) {
+    List<ObjectType> instances = new ArrayList<>();
+    try (JSTypeResolver.Closer closer = this.registry.getResolver().openForDefinition()) {
+      for (int i = 0; i < count; i++) {
+        instances.add(
+            FunctionType.builder(registry)
+                .forConstructor()
+                .withName("Class" + i)
+                .withPrototypeBasedOn(base)
+                .build()
+                .getInstanceType());
+      }
+    }
+    return instances;
+  }
+
   private void addRecordType(UnionType.Builder builder, boolean inferred) {
     RecordTypeBuilder recBuilder = new RecordTypeBuilder(registry);
     recBuilder.setSynthesized(inferred);